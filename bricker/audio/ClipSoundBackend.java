@@ -0,0 +1,19 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+/**
+ * The ClipSoundBackend class plays sounds on the audio device through the library's clips.
+ */
+public class ClipSoundBackend implements SoundBackend {
+
+    /**
+     * Starts playing a sound on one of its clips.
+     *
+     * @param sound The sound to play.
+     */
+    @Override
+    public void play(Sound sound) {
+        sound.play();
+    }
+}
@@ -0,0 +1,31 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+/**
+ * The SilentSoundBackend class never touches an audio device, for headless runs. It only counts the
+ * sounds it is asked to play.
+ */
+public class SilentSoundBackend implements SoundBackend {
+
+    private long plays;
+
+    /**
+     * Counts a sound without playing it.
+     *
+     * @param sound The sound (ignored).
+     */
+    @Override
+    public void play(Sound sound) {
+        plays++;
+    }
+
+    /**
+     * Returns the number of sounds the backend was asked to play.
+     *
+     * @return The number of plays.
+     */
+    public long getPlays() {
+        return plays;
+    }
+}
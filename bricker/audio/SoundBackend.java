@@ -0,0 +1,17 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+/**
+ * The SoundBackend interface is the output of the SoundMixer: it starts the playback of the sounds the
+ * mixer lets through.
+ */
+public interface SoundBackend {
+
+    /**
+     * Starts playing a sound.
+     *
+     * @param sound The sound to play.
+     */
+    void play(Sound sound);
+}
@@ -0,0 +1,192 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * The SoundMixer class sits between the game objects and the audio output. A bounded number of voices
+ * play at once, each held for the typical length of a game sound; a play of a sound already started
+ * within the coalescing window joins that voice instead of starting another, and a play finding every
+ * voice busy is dropped. Plays that get a voice are handed to the backend, on a playback thread when the
+ * mixer is asynchronous, so the frame thread never waits on the audio device. Requesting a play does not
+ * allocate. The mixer's clock is the frames' real time, advanced by update.
+ */
+public class SoundMixer {
+
+    /**
+     * The default number of voices playing at once.
+     */
+    public static final int DEFAULT_MAX_VOICES = 4;
+
+    /**
+     * The default time within which plays of the same sound coalesce, in seconds.
+     */
+    public static final float DEFAULT_COALESCE_SECONDS = 0.05f;
+
+    /**
+     * The default time a voice is held for a play, in seconds: about the length of the bounce sound.
+     */
+    public static final float DEFAULT_VOICE_SECONDS = 0.2f;
+
+    private static final String PLAYBACK_THREAD_NAME = "bricker-sound";
+
+    private final SoundBackend backend;
+    private final float coalesceSeconds;
+    private final float voiceSeconds;
+    private final Sound[] voiceSounds;
+    private final float[] voiceStarts;
+    private final BlockingQueue<Sound> playbackQueue;
+    private int activeVoices;
+    private float time;
+    private long requests;
+    private long coalesced;
+    private long dropped;
+    private long played;
+
+    /**
+     * Constructs a new SoundMixer with the default limits.
+     *
+     * @param backend      The backend playing the sounds that get a voice.
+     * @param asynchronous True to play sounds on a playback thread, false to play them on the caller's.
+     */
+    public SoundMixer(SoundBackend backend, boolean asynchronous) {
+        this(backend, asynchronous, DEFAULT_MAX_VOICES, DEFAULT_COALESCE_SECONDS, DEFAULT_VOICE_SECONDS);
+    }
+
+    /**
+     * Constructs a new SoundMixer.
+     *
+     * @param backend         The backend playing the sounds that get a voice.
+     * @param asynchronous    True to play sounds on a playback thread, false to play them on the caller's.
+     * @param maxVoices       The number of voices playing at once.
+     * @param coalesceSeconds The time within which plays of the same sound coalesce, in seconds.
+     * @param voiceSeconds    The time a voice is held for a play, in seconds.
+     */
+    public SoundMixer(SoundBackend backend, boolean asynchronous, int maxVoices, float coalesceSeconds,
+                      float voiceSeconds) {
+        this.backend = backend;
+        this.coalesceSeconds = coalesceSeconds;
+        this.voiceSeconds = voiceSeconds;
+        this.voiceSounds = new Sound[maxVoices];
+        this.voiceStarts = new float[maxVoices];
+        if (asynchronous) {
+            // A play never waits for room: if the playback thread is behind by every voice, the play is
+            // dropped
+            playbackQueue = new ArrayBlockingQueue<>(maxVoices);
+            Thread playbackThread = new Thread(this::playQueued, PLAYBACK_THREAD_NAME);
+            playbackThread.setDaemon(true);
+            playbackThread.start();
+        } else {
+            playbackQueue = null;
+        }
+    }
+
+    /**
+     * Requests a play of a sound, which starts, coalesces with a recent play of the same sound or is
+     * dropped if every voice is busy.
+     *
+     * @param sound The sound to play.
+     */
+    public void play(Sound sound) {
+        requests++;
+        for (int i = 0; i < activeVoices; i++) {
+            if (voiceSounds[i] == sound && time - voiceStarts[i] < coalesceSeconds) {
+                coalesced++;
+                return;
+            }
+        }
+        if (activeVoices == voiceSounds.length
+                || (playbackQueue != null && !playbackQueue.offer(sound))) {
+            dropped++;
+            return;
+        }
+        voiceSounds[activeVoices] = sound;
+        voiceStarts[activeVoices] = time;
+        activeVoices++;
+        played++;
+        if (playbackQueue == null) {
+            backend.play(sound);
+        }
+    }
+
+    /**
+     * Advances the mixer's clock by a frame and frees the voices whose plays are over.
+     *
+     * @param deltaTime The real time since the previous frame, in seconds.
+     */
+    public void update(float deltaTime) {
+        time += deltaTime;
+        int kept = 0;
+        for (int i = 0; i < activeVoices; i++) {
+            if (time - voiceStarts[i] < voiceSeconds) {
+                voiceSounds[kept] = voiceSounds[i];
+                voiceStarts[kept] = voiceStarts[i];
+                kept++;
+            }
+        }
+        for (int i = kept; i < activeVoices; i++) {
+            voiceSounds[i] = null;
+        }
+        activeVoices = kept;
+    }
+
+    /**
+     * Plays the queued sounds as they arrive, on the playback thread, until the program exits.
+     */
+    private void playQueued() {
+        try {
+            while (true) {
+                backend.play(playbackQueue.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of voices playing.
+     *
+     * @return The number of active voices.
+     */
+    public int getActiveVoices() {
+        return activeVoices;
+    }
+
+    /**
+     * Returns the number of plays requested.
+     *
+     * @return The number of requests.
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Returns the number of plays that joined a recent play of the same sound.
+     *
+     * @return The number of coalesced plays.
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Returns the number of plays dropped because every voice was busy.
+     *
+     * @return The number of dropped plays.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Returns the number of plays handed to the backend.
+     *
+     * @return The number of played sounds.
+     */
+    public long getPlayed() {
+        return played;
+    }
+}
@@ -0,0 +1,108 @@
+package bricker.batch;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.gameobjects.AssetCache;
+import bricker.headless.HeadlessEngine;
+import bricker.headless.HeadlessWindowController;
+import bricker.headless.ScriptedInputListener;
+import bricker.main.BrickerGameManager;
+import bricker.metrics.FrameStats;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * The BatchGame class plays a single headless game to its end, for the BatchRunner. The game gets its
+ * own manager, seed and wall, and plays until it is won, lost or runs out of frames, with the paddle
+ * driven by random key presses derived from the seed or by an autopilot. Nothing is shared with other
+ * games except the asset cache, so games can run on separate threads.
+ */
+public class BatchGame implements Callable<GameResult> {
+
+    private static final int MIN_HOLD_FRAMES = 5;
+    private static final int MAX_HOLD_FRAMES = 60;
+    private static final int[] KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT};
+
+    private final long seed;
+    private final int rows;
+    private final int bricksPerRow;
+    private final int maxFrames;
+    private final AssetCache assetCache;
+    private final float autopilotSkill;
+    private final StrategyWeights strategyWeights;
+
+    /**
+     * Constructs a new BatchGame.
+     *
+     * @param seed            The seed of the game and its input.
+     * @param rows            The number of brick rows.
+     * @param bricksPerRow    The number of bricks per row.
+     * @param maxFrames       The number of frames after which an unfinished game is stopped.
+     * @param assetCache      The asset cache shared by all games.
+     * @param autopilotSkill  The skill of the autopilot playing the game, from 0 to 1, or
+     *                        BrickerGameManager.NO_AUTOPILOT to play it by random key presses.
+     * @param strategyWeights How often each collision strategy is picked for the bricks.
+     */
+    public BatchGame(long seed, int rows, int bricksPerRow, int maxFrames, AssetCache assetCache,
+                     float autopilotSkill, StrategyWeights strategyWeights) {
+        this.seed = seed;
+        this.rows = rows;
+        this.bricksPerRow = bricksPerRow;
+        this.maxFrames = maxFrames;
+        this.assetCache = assetCache;
+        this.autopilotSkill = autopilotSkill;
+        this.strategyWeights = strategyWeights;
+    }
+
+    /**
+     * Plays the game.
+     *
+     * @return The result of the game.
+     */
+    @Override
+    public GameResult call() {
+        Vector2 windowDimensions = new Vector2(BrickerGameManager.WINDOW_WIDTH,
+                BrickerGameManager.WINDOW_HEIGHT);
+        BrickerGameManager gameManager = new BrickerGameManager(BrickerGameManager.WINDOW_TITLE,
+                windowDimensions, rows, bricksPerRow, seed);
+        gameManager.setAssetCache(assetCache);
+        gameManager.setAutopilot(autopilotSkill);
+        gameManager.setStrategyWeights(strategyWeights);
+        // The autopilot ignores the keys
+        ScriptedInputListener input = autopilotSkill < 0 ? randomInput() : new ScriptedInputListener();
+        HeadlessEngine engine = new HeadlessEngine(gameManager,
+                new HeadlessWindowController(windowDimensions, false), input,
+                HeadlessEngine.DEFAULT_DELTA_TIME);
+        engine.initialize();
+        engine.run(maxFrames);
+
+        FrameStats frameStats = gameManager.getFrameStats();
+        long tagContacts = 0;
+        for (long count : frameStats.getCollisionsPerTag().values()) {
+            tagContacts += count;
+        }
+        // Every contact is recorded once for each of its two objects
+        return new GameResult(seed, gameManager.getBricksLeft() == 0, engine.getFrame(), tagContacts / 2,
+                frameStats.getPeakLiveObjects(), engine.getFramesPerSecond());
+    }
+
+    /**
+     * Builds an input script that holds a random arrow key for a random time, over and over.
+     */
+    private ScriptedInputListener randomInput() {
+        ScriptedInputListener script = new ScriptedInputListener();
+        Random inputRandom = new Random(~seed);
+        int frame = 0;
+        while (frame < maxFrames) {
+            int key = KEYS[inputRandom.nextInt(KEYS.length)];
+            int releaseFrame = frame + MIN_HOLD_FRAMES
+                    + inputRandom.nextInt(MAX_HOLD_FRAMES - MIN_HOLD_FRAMES);
+            script.press(frame, key);
+            script.release(releaseFrame, key);
+            frame = releaseFrame;
+        }
+        return script;
+    }
+}
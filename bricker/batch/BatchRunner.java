@@ -0,0 +1,185 @@
+package bricker.batch;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.gameobjects.AssetCache;
+import bricker.headless.HeadlessImageReader;
+import bricker.headless.HeadlessSoundReader;
+import bricker.headless.HeadlessWindowController;
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The BatchRunner class plays many independent headless games at once, one per task on a fixed pool
+ * of threads, and aggregates their results into a single report: win rate, frames to clear,
+ * collisions, peak object counts and simulation rate. All games share one asset cache. Without a
+ * thread count, the batch is repeated for 1, 2, 4, ... threads up to the core count to report how
+ * the simulation rate scales.
+ */
+public class BatchRunner {
+
+    private static final int DEFAULT_GAMES = 64;
+    private static final int DEFAULT_FRAMES = 20_000;
+    private static final long DEFAULT_BASE_SEED = 1;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final AssetCache assetCache;
+    private float autopilotSkill = BrickerGameManager.NO_AUTOPILOT;
+    private StrategyWeights strategyWeights = StrategyWeights.defaults();
+
+    /**
+     * Constructs a new BatchRunner with an empty shared asset cache.
+     */
+    public BatchRunner() {
+        HeadlessWindowController windowController = new HeadlessWindowController(
+                new Vector2(BrickerGameManager.WINDOW_WIDTH, BrickerGameManager.WINDOW_HEIGHT), false);
+        this.assetCache = new AssetCache(new HeadlessImageReader(windowController.messages()),
+                new HeadlessSoundReader(windowController.messages()));
+    }
+
+    /**
+     * Plays a batch of games, with consecutive seeds starting at the base seed.
+     *
+     * @param games        The number of games.
+     * @param baseSeed     The seed of the first game.
+     * @param rows         The number of brick rows of every game.
+     * @param bricksPerRow The number of bricks per row of every game.
+     * @param maxFrames    The number of frames after which an unfinished game is stopped.
+     * @param threads      The number of threads playing games.
+     * @return The results, in seed order.
+     * @throws InterruptedException If interrupted while waiting for the games.
+     * @throws ExecutionException   If a game failed.
+     */
+    public List<GameResult> run(int games, long baseSeed, int rows, int bricksPerRow, int maxFrames,
+                                int threads) throws InterruptedException, ExecutionException {
+        List<BatchGame> tasks = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            tasks.add(new BatchGame(baseSeed + i, rows, bricksPerRow, maxFrames, assetCache, autopilotSkill,
+                    strategyWeights));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<GameResult> results = new ArrayList<>(games);
+            for (Future<GameResult> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Sets the skill of the autopilot playing the games, in place of random key presses.
+     *
+     * @param autopilotSkill The skill, from 0 to 1, or BrickerGameManager.NO_AUTOPILOT for key presses.
+     */
+    public void setAutopilot(float autopilotSkill) {
+        this.autopilotSkill = autopilotSkill;
+    }
+
+    /**
+     * Sets how often each collision strategy is picked for the bricks of the games.
+     *
+     * @param strategyWeights The strategy weights, shared by all games.
+     */
+    public void setStrategyWeights(StrategyWeights strategyWeights) {
+        this.strategyWeights = strategyWeights;
+    }
+
+    /**
+     * Returns the shared asset cache of the games.
+     *
+     * @return The asset cache.
+     */
+    public AssetCache getAssetCache() {
+        return assetCache;
+    }
+
+    /**
+     * Prints the aggregate report of a batch.
+     */
+    private static void printReport(List<GameResult> results) {
+        int wins = 0;
+        long framesToClear = 0;
+        long collisionContacts = 0;
+        int peakLiveObjects = 0;
+        double framesPerSecond = 0;
+        for (GameResult result : results) {
+            if (result.isWon()) {
+                wins++;
+                framesToClear += result.getFrames();
+            }
+            collisionContacts += result.getCollisionContacts();
+            peakLiveObjects = Math.max(peakLiveObjects, result.getPeakLiveObjects());
+            framesPerSecond += result.getFramesPerSecond();
+        }
+        System.out.printf("Games: %d, won: %d (%.1f%%), mean frames to clear: %s%n", results.size(), wins,
+                100.0 * wins / results.size(), wins == 0 ? "-" : String.valueOf(framesToClear / wins));
+        System.out.printf("Collision contacts per game: %d, peak live objects: %d, "
+                        + "mean frames per second per game: %.0f%n",
+                collisionContacts / results.size(), peakLiveObjects, framesPerSecond / results.size());
+    }
+
+    /**
+     * Runs a batch of games and prints the aggregate report and the scaling of the simulation rate.
+     *
+     * @param args Command line arguments: [games [rows bricksPerRow [frames [threads [autopilotSkill]]]]].
+     * @throws InterruptedException If interrupted while waiting for the games.
+     * @throws ExecutionException   If a game failed.
+     * @throws IOException          If the strategy weights cannot be read.
+     */
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        int games = args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int rows = BrickerGameManager.DEFAULT_ROWS_OF_BRICKS;
+        int bricksPerRow = BrickerGameManager.DEFAULT_BRICKS_PER_ROW;
+        if (args.length >= 3) {
+            rows = Integer.parseInt(args[1]);
+            bricksPerRow = Integer.parseInt(args[2]);
+        }
+        int frames = args.length >= 4 ? Integer.parseInt(args[3]) : DEFAULT_FRAMES;
+        List<Integer> threadCounts = new ArrayList<>();
+        if (args.length >= 5) {
+            threadCounts.add(Integer.parseInt(args[4]));
+        } else {
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads < cores; threads *= 2) {
+                threadCounts.add(threads);
+            }
+            threadCounts.add(cores);
+        }
+
+        BatchRunner runner = new BatchRunner();
+        runner.setStrategyWeights(StrategyWeights.loadDefault());
+        if (args.length >= 6) {
+            runner.setAutopilot(Float.parseFloat(args[5]));
+        }
+        List<GameResult> results = null;
+        double baseRate = 0;
+        for (int threads : threadCounts) {
+            long start = System.nanoTime();
+            results = runner.run(games, DEFAULT_BASE_SEED, rows, bricksPerRow, frames, threads);
+            double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+            long totalFrames = 0;
+            for (GameResult result : results) {
+                totalFrames += result.getFrames();
+            }
+            double rate = totalFrames / seconds;
+            if (baseRate == 0) {
+                baseRate = rate;
+            }
+            System.out.printf("%2d threads: %d games in %.2f s, %.0f frames per second, %.2fx%n", threads,
+                    games, seconds, rate, rate / baseRate);
+        }
+        printReport(results);
+        System.out.printf("Shared asset cache: %d hits, %d misses%n", runner.assetCache.getHits(),
+                runner.assetCache.getMisses());
+    }
+}
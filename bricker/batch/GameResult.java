@@ -0,0 +1,76 @@
+package bricker.batch;
+
+/**
+ * The GameResult class holds the outcome and the counters of a single game run by the BatchRunner.
+ */
+public class GameResult {
+
+    private final long seed;
+    private final boolean won;
+    private final int frames;
+    private final long collisionContacts;
+    private final int peakLiveObjects;
+    private final double framesPerSecond;
+
+    /**
+     * Constructs a new GameResult.
+     *
+     * @param seed              The seed of the game.
+     * @param won               Whether every brick was cleared.
+     * @param frames            The number of frames the game ran for.
+     * @param collisionContacts The number of collision contacts between pairs of objects.
+     * @param peakLiveObjects   The largest number of objects that were live at once.
+     * @param framesPerSecond   The simulated frames per wall-clock second of the game.
+     */
+    public GameResult(long seed, boolean won, int frames, long collisionContacts, int peakLiveObjects,
+                      double framesPerSecond) {
+        this.seed = seed;
+        this.won = won;
+        this.frames = frames;
+        this.collisionContacts = collisionContacts;
+        this.peakLiveObjects = peakLiveObjects;
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /**
+     * @return The seed of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return True if every brick was cleared, false if the game was lost or ran out of frames.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * @return The number of frames the game ran for; the frames to clear the wall if it was won.
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * @return The number of collision contacts between pairs of objects.
+     */
+    public long getCollisionContacts() {
+        return collisionContacts;
+    }
+
+    /**
+     * @return The largest number of objects that were live at once.
+     */
+    public int getPeakLiveObjects() {
+        return peakLiveObjects;
+    }
+
+    /**
+     * @return The simulated frames per wall-clock second of the game.
+     */
+    public double getFramesPerSecond() {
+        return framesPerSecond;
+    }
+}
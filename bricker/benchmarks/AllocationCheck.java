@@ -0,0 +1,155 @@
+package bricker.benchmarks;
+
+import bricker.headless.HeadlessEngine;
+import bricker.headless.HeadlessWindowController;
+import bricker.headless.ScriptedInputListener;
+import bricker.main.BrickerGameManager;
+import bricker.metrics.AllocationMeter;
+import bricker.metrics.FrameStats;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The AllocationCheck class plays a scripted headless game and checks that the game's own per-frame
+ * code allocates nothing once the game reached a steady state. The allocation meter splits every frame's
+ * bytes at the manager's update boundary, as the frame statistics split its time, and the check fails,
+ * with a non-zero exit status, if the game's side of any steady frame allocated a single byte. A frame is
+ * steady unless objects are spawned or removed in it, effects are applied or a game ends, since those
+ * allocate on purpose. The engine's update, with the callbacks it dispatches, is reported but not
+ * checked, as the engine allocates in every frame. Compiled code may have temporary objects optimized
+ * away by escape analysis, so the check only runs in the interpreter (-Xint), where a zero proves that
+ * the code itself allocates nothing and no warm-up is needed.
+ */
+public class AllocationCheck {
+
+    private static final String INTERPRETER_OPTION = "-Xint";
+    private static final int DEFAULT_FRAMES = 20_000;
+    private static final int DEFAULT_WARMUP_FRAMES = 1_000; // Only lets the first game settle
+    private static final int HOLD_FRAMES = 90; // Long enough for the paddle to reach a wall
+    private static final int ROWS = 7;
+    private static final int BRICKS_PER_ROW = 8;
+    private static final long SEED = 11;
+
+    private final int frames;
+    private final int warmupFrames;
+    private final float autopilotSkill;
+    private long steadyFrames;
+    private long allocatingFrames;
+    private long maxSteadyBytes;
+    private long steadyEngineBytes;
+    private long churnFrames;
+    private long churnBytes;
+
+    /**
+     * Constructs a new AllocationCheck.
+     *
+     * @param frames         The number of frames to check.
+     * @param warmupFrames   The number of frames played first, so the first game settled.
+     * @param autopilotSkill The skill of the autopilot playing the game, or BrickerGameManager.NO_AUTOPILOT
+     *                       to sweep the paddle by the arrow keys.
+     */
+    public AllocationCheck(int frames, int warmupFrames, float autopilotSkill) {
+        this.frames = frames;
+        this.warmupFrames = warmupFrames;
+        this.autopilotSkill = autopilotSkill;
+    }
+
+    /**
+     * Plays the game and meters every checked frame.
+     *
+     * @return True if the game's own code allocated nothing in any steady frame, false otherwise.
+     */
+    public boolean run() {
+        Vector2 windowDimensions = new Vector2(BrickerGameManager.WINDOW_WIDTH,
+                BrickerGameManager.WINDOW_HEIGHT);
+        BrickerGameManager gameManager = new BrickerGameManager(BrickerGameManager.WINDOW_TITLE,
+                windowDimensions, ROWS, BRICKS_PER_ROW, SEED);
+        gameManager.setAutopilot(autopilotSkill);
+        HeadlessWindowController windowController = new HeadlessWindowController(windowDimensions, true);
+        HeadlessEngine engine = new HeadlessEngine(gameManager, windowController,
+                paddleSweeps(warmupFrames + frames), HeadlessEngine.DEFAULT_DELTA_TIME);
+        engine.initialize();
+        engine.run(warmupFrames);
+
+        FrameStats frameStats = gameManager.getFrameStats();
+        AllocationMeter.start();
+        for (int frame = 0; frame < frames; frame++) {
+            long effects = frameStats.getEffectsApplied();
+            int games = windowController.getGamesFinished();
+            int liveObjects = liveObjects(frameStats);
+            long gameBytes = AllocationMeter.getGameBytes();
+            long engineBytes = AllocationMeter.getEngineBytes();
+            engine.step();
+            gameBytes = AllocationMeter.getGameBytes() - gameBytes;
+            engineBytes = AllocationMeter.getEngineBytes() - engineBytes;
+            if (frameStats.getEffectsApplied() == effects && windowController.getGamesFinished() == games
+                    && liveObjects(frameStats) == liveObjects) {
+                steadyFrames++;
+                steadyEngineBytes += engineBytes;
+                if (gameBytes > 0) {
+                    allocatingFrames++;
+                    maxSteadyBytes = Math.max(maxSteadyBytes, gameBytes);
+                }
+            } else {
+                churnFrames++;
+                churnBytes += gameBytes;
+            }
+        }
+        AllocationMeter.stop();
+        return allocatingFrames == 0;
+    }
+
+    /**
+     * Builds an input script that sweeps the paddle from wall to wall.
+     */
+    private static ScriptedInputListener paddleSweeps(int frames) {
+        ScriptedInputListener script = new ScriptedInputListener();
+        for (int frame = 0; frame < frames; frame += 2 * HOLD_FRAMES) {
+            script.press(frame, KeyEvent.VK_LEFT).release(frame + HOLD_FRAMES, KeyEvent.VK_LEFT);
+            script.press(frame + HOLD_FRAMES, KeyEvent.VK_RIGHT)
+                    .release(frame + 2 * HOLD_FRAMES, KeyEvent.VK_RIGHT);
+        }
+        return script;
+    }
+
+    /**
+     * Returns the number of objects in every layer.
+     */
+    private static int liveObjects(FrameStats frameStats) {
+        int total = 0;
+        for (int count : frameStats.getLiveObjectsPerLayer().values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Runs the check and prints its results. The check refuses to run outside the interpreter.
+     *
+     * @param args Command line arguments: [frames [warmupFrames [autopilotSkill]]].
+     */
+    public static void main(String[] args) {
+        if (!ManagementFactory.getRuntimeMXBean().getInputArguments().contains(INTERPRETER_OPTION)) {
+            System.err.println("Escape analysis may hide allocations, run the check with "
+                    + INTERPRETER_OPTION);
+            System.exit(2);
+        }
+        int frames = args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        int warmupFrames = args.length >= 2 ? Integer.parseInt(args[1]) : DEFAULT_WARMUP_FRAMES;
+        float autopilotSkill = args.length >= 3 ? Float.parseFloat(args[2]) : BrickerGameManager.NO_AUTOPILOT;
+        AllocationCheck check = new AllocationCheck(frames, warmupFrames, autopilotSkill);
+        boolean passed = check.run();
+        System.out.printf("Steady frames: %d of %d, %d allocating (max %d bytes)%n",
+                check.steadyFrames, frames, check.allocatingFrames, check.maxSteadyBytes);
+        System.out.printf("Engine update in steady frames: %.1f bytes per frame%n",
+                check.steadyFrames == 0 ? 0.0 : (double) check.steadyEngineBytes / check.steadyFrames);
+        System.out.printf("Spawn, removal and game end frames: %d, %.1f bytes per frame%n", check.churnFrames,
+                check.churnFrames == 0 ? 0.0 : (double) check.churnBytes / check.churnFrames);
+        System.out.println(passed ? "PASSED" : "FAILED");
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package bricker.benchmarks;
+
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+
+/**
+ * The BenchmarkGameManager class is a BrickerGameManager that lets benchmarks apply the effects queued
+ * by collisions, so single collisions can be measured without simulating a whole frame.
+ */
+class BenchmarkGameManager extends BrickerGameManager {
+
+    /**
+     * Constructs a new BenchmarkGameManager with the default window dimensions.
+     *
+     * @param numOfBricksRows   The number of rows of bricks.
+     * @param numOfBricksPerRow The number of bricks per row.
+     */
+    BenchmarkGameManager(int numOfBricksRows, int numOfBricksPerRow) {
+        super(WINDOW_TITLE, new Vector2(WINDOW_WIDTH, WINDOW_HEIGHT), numOfBricksRows, numOfBricksPerRow);
+    }
+
+    /**
+     * Applies the effects queued by collisions, as the end of a frame would.
+     */
+    void applyQueuedEffects() {
+        applyCollisionEffects();
+    }
+}
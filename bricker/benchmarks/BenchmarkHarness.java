@@ -0,0 +1,125 @@
+package bricker.benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The BenchmarkHarness class measures the throughput and allocation rate of a single operation.
+ * Each benchmark is warmed up, then run in batches for a fixed wall-clock time, while the bytes
+ * allocated by the benchmark thread are read from the JVM's per-thread allocation counter.
+ */
+public class BenchmarkHarness {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MB = 1024 * 1024;
+    private static final int BATCH_SIZE = 64;
+
+    private final long warmupNanos;
+    private final long measureNanos;
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    /**
+     * Constructs a new BenchmarkHarness.
+     *
+     * @param warmupMillis  The wall-clock time spent warming up each benchmark, in milliseconds.
+     * @param measureMillis The wall-clock time spent measuring each benchmark, in milliseconds.
+     */
+    public BenchmarkHarness(long warmupMillis, long measureMillis) {
+        this.warmupNanos = warmupMillis * NANOS_PER_MILLI;
+        this.measureNanos = measureMillis * NANOS_PER_MILLI;
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Warms up and measures the given operation.
+     *
+     * @param name      The name of the benchmark, used in the report.
+     * @param operation The operation to measure.
+     * @return The measured result.
+     */
+    public Result measure(String name, Runnable operation) {
+        runFor(operation, warmupNanos);
+
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long operations = runFor(operation, measureNanos);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        return new Result(name, operations, elapsed, allocated);
+    }
+
+    /**
+     * Runs the operation in batches until the given time has passed.
+     *
+     * @return The number of operations run.
+     */
+    private static long runFor(Runnable operation, long nanos) {
+        long operations = 0;
+        long deadline = System.nanoTime() + nanos;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                operation.run();
+            }
+            operations += BATCH_SIZE;
+        }
+        return operations;
+    }
+
+    /**
+     * The result of a single benchmark.
+     */
+    public static class Result {
+        private final String name;
+        private final long operations;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+
+        private Result(String name, long operations, long elapsedNanos, long allocatedBytes) {
+            this.name = name;
+            this.operations = operations;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        /**
+         * Returns the throughput of the benchmark.
+         *
+         * @return The number of operations per second.
+         */
+        public double opsPerSecond() {
+            return operations * NANOS_PER_SECOND / elapsedNanos;
+        }
+
+        /**
+         * Returns the normalized allocation of the benchmark, like the gc profiler's gc.alloc.rate.norm.
+         *
+         * @return The number of bytes allocated per operation.
+         */
+        public double bytesPerOp() {
+            return (double) allocatedBytes / operations;
+        }
+
+        /**
+         * Returns the allocation rate of the benchmark, like the gc profiler's gc.alloc.rate.
+         *
+         * @return The number of megabytes allocated per second.
+         */
+        public double allocationRateMBPerSecond() {
+            return allocatedBytes / BYTES_PER_MB * NANOS_PER_SECOND / elapsedNanos;
+        }
+
+        /**
+         * Formats the result as a single report line.
+         *
+         * @return The report line.
+         */
+        @Override
+        public String toString() {
+            return String.format("%-40s %14.1f ops/s %12.1f B/op %10.1f MB/s",
+                    name, opsPerSecond(), bytesPerOp(), allocationRateMBPerSecond());
+        }
+    }
+}
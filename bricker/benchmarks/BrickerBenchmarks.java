@@ -0,0 +1,232 @@
+package bricker.benchmarks;
+
+import bricker.control.AutopilotPaddleController;
+import bricker.control.KeyboardPaddleController;
+import bricker.control.PaddleController;
+import bricker.gameobjects.*;
+import bricker.headless.HeadlessEngine;
+import bricker.headless.HeadlessWindowController;
+import bricker.headless.ScriptedInputListener;
+import bricker.snapshot.GameSnapshot;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The BrickerBenchmarks class benchmarks the hot paths of the game under load: brick collisions and
+ * their strategies, whole frame updates, rendering, building large brick walls, building every
+ * object type and steering a paddle.
+ * Every benchmark runs on a headless game and reports throughput and allocation.
+ */
+public class BrickerBenchmarks {
+
+    private static final long WARMUP_MILLIS = 1000;
+    private static final long MEASURE_MILLIS = 2000;
+    private static final int SMALL_GRID = 10;
+    private static final int LARGE_GRID = 100;
+    private static final int SNAPSHOT_GRID = 64; // The largest square wall that is not streamed
+    private static final int OPS_BETWEEN_RESETS = 1024;
+    private static final int STEERED_PUCKS = 16;
+    private static final float PUCK_SPEED = 200;
+    private static final long STEER_SEED = 1;
+    private static final float STEER_SKILL = 1;
+    private static final String[] FACTORY_TAGS = {Background.TAG, Ball.TAG, Brick.TAG, Heart.TAG,
+            Paddle.TAG, Puck.TAG, SecondPaddle.TAG, Wall.TAG, HeartUI.TAG, TextUI.TAG};
+
+    /**
+     * Keeps benchmark results reachable so the JIT cannot eliminate the measured work.
+     */
+    private static volatile Object sink;
+
+    private BenchmarkGameManager gameManager;
+    private HeadlessEngine engine;
+    private GameObjectsFactory factory;
+    private Ball ball;
+    private Graphics2D screen;
+    private int opsSinceReset;
+
+    /**
+     * Builds a fresh headless game with the given wall.
+     */
+    private void setUp(int rows, int bricksPerRow) {
+        setUp(rows, bricksPerRow, false);
+    }
+
+    /**
+     * Builds a fresh headless game with the given wall, optionally compositing it for rendering.
+     */
+    private void setUp(int rows, int bricksPerRow, boolean staticLayerCaching) {
+        gameManager = new BenchmarkGameManager(rows, bricksPerRow);
+        HeadlessWindowController windowController =
+                new HeadlessWindowController(gameManager.getWindowDimensions(), true);
+        ScriptedInputListener inputListener = new ScriptedInputListener();
+        engine = new HeadlessEngine(gameManager, windowController, inputListener,
+                HeadlessEngine.DEFAULT_DELTA_TIME);
+        gameManager.setStaticLayerCaching(staticLayerCaching);
+        engine.initialize();
+        factory = new GameObjectsFactory(gameManager, gameManager.getAssetCache(), inputListener);
+        ball = (Ball) factory.buildObject(Ball.TAG);
+        opsSinceReset = 0;
+    }
+
+    /**
+     * Hits a freshly placed brick with a ball: Brick.onCollisionEnter, the basic strategy, the
+     * brick's random strategy and the effects they queue. The game is rebuilt periodically so spawned
+     * objects do not pile up.
+     */
+    private void brickCollision() {
+        if (++opsSinceReset == OPS_BETWEEN_RESETS) {
+            engine.initialize();
+            opsSinceReset = 0;
+        }
+        Brick brick = (Brick) factory.buildObject(Brick.TAG);
+        gameManager.addStaticObject(brick);
+        brick.onCollisionEnter(ball, null);
+        gameManager.applyQueuedEffects();
+        sink = brick;
+    }
+
+    /**
+     * Builds a ball and pucks spread over the upper half of the window, falling at random angles.
+     */
+    private List<GameObject> steeredObjects() {
+        Random random = new Random(STEER_SEED);
+        List<GameObject> steeredObjects = new ArrayList<>();
+        steeredObjects.add(ball);
+        for (int i = 0; i < STEERED_PUCKS; i++) {
+            steeredObjects.add(factory.buildObject(Puck.TAG));
+        }
+        float width = gameManager.getWindowDimensions().x();
+        float height = gameManager.getWindowDimensions().y();
+        for (GameObject steeredObject : steeredObjects) {
+            steeredObject.setCenter(new Vector2(random.nextFloat() * width, random.nextFloat() * height / 2));
+            double angle = random.nextDouble() * Math.PI;
+            steeredObject.setVelocity(new Vector2((float) Math.cos(angle), (float) Math.sin(angle))
+                    .mult(PUCK_SPEED));
+        }
+        return steeredObjects;
+    }
+
+    /**
+     * Runs every benchmark whose name contains the given filter.
+     *
+     * @param filter The name filter, or an empty string to run everything.
+     * @return The results, in run order.
+     */
+    public List<BenchmarkHarness.Result> runAll(String filter) {
+        BenchmarkHarness harness = new BenchmarkHarness(WARMUP_MILLIS, MEASURE_MILLIS);
+        List<BenchmarkHarness.Result> results = new ArrayList<>();
+
+        String name = "brick.onCollisionEnter";
+        if (name.contains(filter)) {
+            setUp(SMALL_GRID, SMALL_GRID);
+            results.add(report(harness.measure(name, this::brickCollision)));
+        }
+
+        // A frame includes removeOutOfBoundsObjects, whose full scan grows with the wall
+        for (int grid : new int[]{SMALL_GRID, LARGE_GRID}) {
+            name = String.format("manager.update[%dx%d]", grid, grid);
+            if (name.contains(filter)) {
+                setUp(grid, grid);
+                results.add(report(harness.measure(name, engine::step)));
+            }
+        }
+
+        // Renders into an off-screen image; the wall costs one draw per brick unless it is composited
+        for (int grid : new int[]{SMALL_GRID, LARGE_GRID}) {
+            for (boolean cached : new boolean[]{false, true}) {
+                name = String.format("manager.render[%dx%d,%s]", grid, grid, cached ? "cached" : "uncached");
+                if (name.contains(filter)) {
+                    setUp(grid, grid, cached);
+                    // Objects added during initialization only join their layers on the next update
+                    engine.step();
+                    BufferedImage image = new BufferedImage((int) gameManager.getWindowDimensions().x(),
+                            (int) gameManager.getWindowDimensions().y(), BufferedImage.TYPE_INT_ARGB);
+                    screen = image.createGraphics();
+                    results.add(report(harness.measure(name, () -> gameManager.render(screen))));
+                    System.out.printf("  %d draw calls per frame%n",
+                            gameManager.getFrameStats().getDrawCallsPerFrame());
+                    screen.dispose();
+                }
+            }
+        }
+
+        // Initialization is dominated by bricksCreator for large walls
+        for (int grid : new int[]{SMALL_GRID, LARGE_GRID}) {
+            name = String.format("manager.initializeGame[%dx%d]", grid, grid);
+            if (name.contains(filter)) {
+                setUp(grid, grid);
+                results.add(report(harness.measure(name, engine::initialize)));
+            }
+        }
+
+        // Restoring resets the existing objects in place, which is what a warm restart costs
+        for (int grid : new int[]{SMALL_GRID, SNAPSHOT_GRID}) {
+            name = String.format("manager.restoreSnapshot[%dx%d]", grid, grid);
+            if (name.contains(filter)) {
+                setUp(grid, grid);
+                GameSnapshot snapshot = gameManager.captureSnapshot();
+                results.add(report(harness.measure(name, () -> gameManager.restoreSnapshot(snapshot))));
+            }
+        }
+
+        // Every brick of a wall, including every cell of a streamed one, picks its strategy type
+        name = "factory.pickStrategyType";
+        if (name.contains(filter)) {
+            setUp(SMALL_GRID, SMALL_GRID);
+            results.add(report(harness.measure(name, () -> sink = factory.pickStrategyType())));
+        }
+
+        // The autopilot scans every moving object, so it steers among a ball and a crowd of pucks
+        for (boolean autopilot : new boolean[]{false, true}) {
+            name = String.format("controller.steer[%s]", autopilot ? "autopilot" : "keyboard");
+            if (name.contains(filter)) {
+                setUp(SMALL_GRID, SMALL_GRID);
+                Paddle paddle = (Paddle) factory.buildObject(Paddle.TAG);
+                paddle.setCenter(gameManager.getWindowDimensions().mult(0.5f));
+                PaddleController controller = autopilot
+                        ? new AutopilotPaddleController(steeredObjects(), gameManager.getWindowDimensions(),
+                        STEER_SKILL, new Random(STEER_SEED))
+                        : new KeyboardPaddleController(new ScriptedInputListener());
+                results.add(report(harness.measure(name, () ->
+                        sink = controller.steer(paddle, HeadlessEngine.DEFAULT_DELTA_TIME))));
+            }
+        }
+
+        for (String tag : FACTORY_TAGS) {
+            name = "factory.buildObject[" + tag + "]";
+            if (name.contains(filter)) {
+                setUp(SMALL_GRID, SMALL_GRID);
+                results.add(report(harness.measure(name, () -> {
+                    GameObject gameObject = factory.buildObject(tag);
+                    sink = gameObject;
+                })));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Prints a result as soon as it is available.
+     */
+    private static BenchmarkHarness.Result report(BenchmarkHarness.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args Command line arguments: [nameFilter].
+     */
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        new BrickerBenchmarks().runAll(filter);
+    }
+}
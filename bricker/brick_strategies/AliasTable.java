@@ -0,0 +1,97 @@
+package bricker.brick_strategies;
+
+import java.util.Random;
+
+/**
+ * The AliasTable class samples indices with fixed integer weights in constant time, by Walker's alias
+ * method. The table has one column per index, each as tall as the total weight; a column is filled with
+ * its own index up to a threshold and with one other index, its alias, above it. A sample draws a single
+ * random number, which picks both the column and the height within it, so every index is drawn with
+ * exactly its weight over the total, however many indices there are.
+ */
+public class AliasTable {
+
+    private final int total;
+    private final int[] thresholds;
+    private final int[] aliases;
+
+    /**
+     * Builds the alias table of the given weights, by Vose's construction in integers.
+     *
+     * @param weights The weight of each index. Weights may be 0, but not all of them.
+     * @throws IllegalArgumentException If a weight is negative, all are 0, or the table would be too large
+     *                                  to sample with a single random int.
+     */
+    public AliasTable(int[] weights) {
+        int columns = weights.length;
+        long sum = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum == 0 || sum * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Total weight out of range: " + sum);
+        }
+        this.total = (int) sum;
+        this.thresholds = new int[columns];
+        this.aliases = new int[columns];
+
+        // Every weight is scaled by the number of columns, so a full column holds the total weight
+        long[] scaled = new long[columns];
+        int[] small = new int[columns];
+        int[] large = new int[columns];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < columns; i++) {
+            scaled[i] = (long) weights[i] * columns;
+            if (scaled[i] < total) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        // Each short column is topped up by a tall one, which shrinks by as much
+        while (smallCount > 0 && largeCount > 0) {
+            int shortColumn = small[--smallCount];
+            int tallColumn = large[--largeCount];
+            thresholds[shortColumn] = (int) scaled[shortColumn];
+            aliases[shortColumn] = tallColumn;
+            scaled[tallColumn] -= total - scaled[shortColumn];
+            if (scaled[tallColumn] < total) {
+                small[smallCount++] = tallColumn;
+            } else {
+                large[largeCount++] = tallColumn;
+            }
+        }
+        // The columns left hold the total weight each on average and none is short, so they are exactly
+        // full: the integer arithmetic leaves no rounding behind
+        while (largeCount > 0) {
+            int column = large[--largeCount];
+            thresholds[column] = total;
+            aliases[column] = column;
+        }
+    }
+
+    /**
+     * Draws an index with its weight over the total, from a single random number.
+     *
+     * @param rand The random generator to draw from.
+     * @return The drawn index.
+     */
+    public int sample(Random rand) {
+        int draw = rand.nextInt(thresholds.length * total);
+        int column = draw / total;
+        return draw % total < thresholds[column] ? column : aliases[column];
+    }
+
+    /**
+     * Returns the number of indices of the table.
+     *
+     * @return The number of indices.
+     */
+    public int size() {
+        return thresholds.length;
+    }
+}
@@ -1,20 +1,19 @@
 package bricker.brick_strategies;
 
+import bricker.effects.EffectType;
+import bricker.gameobjects.Brick;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 
 /**
  * The BasicCollisionStrategy class defines a basic collision handling mechanism for bricks
  * in the Bricker game. It implements the CollisionStrategy interface to remove bricks from
- * the game when they collide with another object, decrementing the game's brick counter.
+ * the game when they collide with another object, decrementing the game's brick counter at the end
+ * of the frame.
+ * It holds no per-brick state, so a single instance is shared by all the bricks of a game.
  */
 public class BasicCollisionStrategy implements CollisionStrategy {
 
-    /**
-     * Flag indicating whether a collision resulted in the removal of the brick.
-     */
-    private Boolean collision;
-
     /**
      * Instance of BrickerGameManager to interact with the game environment and manage game state.
      */
@@ -27,7 +26,6 @@ public class BasicCollisionStrategy implements CollisionStrategy {
      */
     public BasicCollisionStrategy(BrickerGameManager brickerGameManager) {
         this.brickerGameManager = brickerGameManager;
-        collision = false;
     }
 
 
@@ -40,20 +38,21 @@ public class BasicCollisionStrategy implements CollisionStrategy {
      */
     @Override
     public void onCollision(GameObject thisObj, GameObject otherObj) {
-        // Attempt to remove the brick from the game
-        if (brickerGameManager.removeStaticObject(thisObj)) {
-            // If removal is successful, decrement the brick counter and mark the collision as true
-            brickerGameManager.decrementBricksCounter();
-            collision = true;
-        }
+        breakBrick((Brick) thisObj);
     }
 
     /**
-     * Returns true if the collision resulted in breaking the brick, else false.
+     * Hits the brick, queuing its removal and the brick counter decrement if the hit broke it.
      *
-     * @return Boolean indicating whether the collision broke the brick.
+     * @param brick The brick to hit.
+     * @return True if this call broke the brick, false if it still stands or was already broken.
      */
-    public Boolean getCollision() {
-        return collision;
+    public boolean breakBrick(Brick brick) {
+        // A brick hit by several objects in the same frame only breaks once
+        if (brick.takeHit()) {
+            brickerGameManager.queueEffect(EffectType.BREAK_BRICK, brick);
+            return true;
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package bricker.brick_strategies;
 
+import bricker.effects.EffectType;
 import bricker.gameobjects.Brick;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
@@ -33,12 +34,13 @@ public class CameraCollisionStrategy implements CollisionStrategy {
         Brick brick = (Brick) thisObj;
 
         // Check if the brick has reached its maximum collision limit
-        if (brick.getCollisionStrategiesCounter().value() == Brick.MAX_COLLISIONS) {
+        if (brick.getCollisionStrategiesCount() == Brick.MAX_COLLISIONS) {
             return;
         }
 
-        // Set the collision camera and increment the collision strategies counter
-        brickerGameManager.activateCollisionCamera(otherObj);
-        brick.incrementCollisionStrategiesCounter();
+        // Queue the collision camera; an effect the spawn cap drops leaves the brick's counter alone
+        if (brickerGameManager.queueEffect(EffectType.ACTIVATE_CAMERA, otherObj)) {
+            brick.incrementCollisionStrategiesCounter();
+        }
     }
 }
\ No newline at end of file
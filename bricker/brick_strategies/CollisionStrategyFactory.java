@@ -2,46 +2,193 @@ package bricker.brick_strategies;
 
 import bricker.main.BrickerGameManager;
 
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Random;
 
 /**
- * The CollisionStrategyFactory class generates collision strategies based on a random selection.
+ * The CollisionStrategyFactory class generates collision strategies based on a random selection, and is
+ * the registry of the game's strategies. Strategies hold no per-brick state, so the factory holds a
+ * single registered instance of each strategy type and shares it between all the bricks of the game.
+ * The exception is the double strategy, whose random choices are resolved per brick when it is picked
+ * (see DoubleCollisionStrategy.compile). How often each type is picked is set by the game's
+ * StrategyWeights, so a strategy is added by registering it and giving it a weight.
  */
 public class CollisionStrategyFactory {
 
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
 
-    // Constants representing different cases for strategy selection
-    private static final int PUCK_STRATEGY = 0;
-    private static final int PADDLE_STRATEGY = 1;
-    private static final int CAMERA_STRATEGY = 2;
-    private static final int HEART_STRATEGY = 3;
-    private static final int DOUBLE_STRATEGY = 4;
-    private static final int RANDOM_RANGE = 10;
+    // Random number generator for strategy selection, shared with the whole game
+    private final Random rand;
+    private final StrategyWeights strategyWeights;
 
-    // Random number generator for strategy selection
-    private final Random rand = new Random();
+    // The shared strategy instance of each type
+    private final Map<StrategyType, CollisionStrategy> strategies;
+    private final BasicCollisionStrategy basicCollisionStrategy;
 
     /**
-     * Generates a collision strategy based on a random selection.
+     * Constructs a new CollisionStrategyFactory, creating the shared strategy of each type.
      *
      * @param brickerGameManager The BrickerGameManager instance to interact with the game environment.
-     * @return A CollisionStrategy instance based on the random selection.
-     */
-    public CollisionStrategy getCollisionStrategy(BrickerGameManager brickerGameManager) {
-        int random = rand.nextInt(RANDOM_RANGE);
-        switch (random) {
-            case PUCK_STRATEGY:
-                return new PuckCollisionStrategy(brickerGameManager);
-            case PADDLE_STRATEGY:
-                return new PaddleCollisionStrategy(brickerGameManager);
-            case CAMERA_STRATEGY:
-                return new CameraCollisionStrategy(brickerGameManager);
-            case HEART_STRATEGY:
-                return new HeartCollisionStrategy(brickerGameManager);
-            case DOUBLE_STRATEGY:
-                return new DoubleCollisionStrategy(brickerGameManager);
-            default: // BASIC_STRATEGY with a probability of 50%
-                return new BasicCollisionStrategy(brickerGameManager);
-        }
-    }
-}
\ No newline at end of file
+     * @param rand               The random generator of the game.
+     * @param strategyWeights    How often each strategy type is picked.
+     */
+    public CollisionStrategyFactory(BrickerGameManager brickerGameManager, Random rand,
+                                    StrategyWeights strategyWeights) {
+        this.rand = rand;
+        this.strategyWeights = strategyWeights;
+        this.basicCollisionStrategy = new BasicCollisionStrategy(brickerGameManager);
+        this.strategies = new EnumMap<>(StrategyType.class);
+        register(StrategyType.BASIC, basicCollisionStrategy);
+        register(StrategyType.PUCK, new PuckCollisionStrategy(brickerGameManager));
+        register(StrategyType.PADDLE, new PaddleCollisionStrategy(brickerGameManager));
+        register(StrategyType.CAMERA, new CameraCollisionStrategy(brickerGameManager));
+        register(StrategyType.HEART, new HeartCollisionStrategy(brickerGameManager));
+    }
+
+    /**
+     * Registers the shared strategy of a type, replacing the one registered before, e.g. to add a new
+     * strategy type or to change what an existing one does. Bricks built before keep the strategy they
+     * were built with.
+     *
+     * @param type     The type of the strategy, other than DOUBLE.
+     * @param strategy The strategy shared by every brick of that type.
+     * @throws IllegalArgumentException If the type is DOUBLE, which is resolved per brick.
+     */
+    public void register(StrategyType type, CollisionStrategy strategy) {
+        if (type == StrategyType.DOUBLE) {
+            throw new IllegalArgumentException("Double strategies are resolved per brick");
+        }
+        strategies.put(type, strategy);
+    }
+
+    /**
+     * Returns how often each strategy type is picked.
+     *
+     * @return The strategy weights.
+     */
+    public StrategyWeights getStrategyWeights() {
+        return strategyWeights;
+    }
+
+    /**
+     * Returns the shared strategy of the given type.
+     *
+     * @param type The type of the strategy, other than DOUBLE.
+     * @return The shared CollisionStrategy instance of that type.
+     */
+    public CollisionStrategy getStrategy(StrategyType type) {
+        return strategies.get(type);
+    }
+
+    /**
+     * Returns the shared basic strategy, which every brick applies before its own strategy.
+     *
+     * @return The shared BasicCollisionStrategy instance.
+     */
+    public BasicCollisionStrategy getBasicStrategy() {
+        return basicCollisionStrategy;
+    }
+
+    /**
+     * Returns a collision strategy of the given type for a new brick.
+     *
+     * @param type The type of the strategy.
+     * @return The shared CollisionStrategy instance of that type, or a newly resolved double strategy.
+     */
+    public CollisionStrategy getCollisionStrategy(StrategyType type) {
+        if (type == StrategyType.DOUBLE) {
+            return DoubleCollisionStrategy.compile(this, rand);
+        }
+        return getStrategy(type);
+    }
+
+    /**
+     * Returns a collision strategy based on a random selection.
+     *
+     * @return The shared CollisionStrategy instance of the randomly selected type, or a newly
+     * resolved double strategy.
+     */
+    public CollisionStrategy getCollisionStrategy() {
+        return getCollisionStrategy(pickStrategyType());
+    }
+
+    /**
+     * Returns the type of a strategy built by this factory.
+     *
+     * @param strategy The strategy.
+     * @return The type of the strategy.
+     * @throws IllegalArgumentException If the strategy was not built by this factory.
+     */
+    public StrategyType typeOf(CollisionStrategy strategy) {
+        if (strategy instanceof DoubleCollisionStrategy) {
+            return StrategyType.DOUBLE;
+        }
+        for (Map.Entry<StrategyType, CollisionStrategy> entry : strategies.entrySet()) {
+            if (entry.getValue() == strategy) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalArgumentException("Not a strategy of this game: " + strategy);
+    }
+
+    /**
+     * Writes a strategy to a snapshot: its type, followed for a double strategy by the length and the
+     * types of its plan.
+     *
+     * @param strategy The strategy, built by this factory.
+     * @param buffer   The buffer to write to.
+     */
+    public void writeStrategy(CollisionStrategy strategy, ByteBuffer buffer) {
+        StrategyType type = typeOf(strategy);
+        buffer.put((byte) type.ordinal());
+        if (type == StrategyType.DOUBLE) {
+            DoubleCollisionStrategy doubleStrategy = (DoubleCollisionStrategy) strategy;
+            buffer.put((byte) doubleStrategy.getEffectCount());
+            for (int i = 0; i < doubleStrategy.getEffectCount(); i++) {
+                buffer.put((byte) typeOf(doubleStrategy.getEffect(i)).ordinal());
+            }
+        }
+    }
+
+    /**
+     * Reads a strategy written by writeStrategy, without drawing random numbers. Every type but a
+     * double strategy is resolved to this factory's shared instance.
+     *
+     * @param buffer The buffer to read from.
+     * @return The strategy.
+     */
+    public CollisionStrategy readStrategy(ByteBuffer buffer) {
+        StrategyType type = STRATEGY_TYPES[buffer.get()];
+        if (type != StrategyType.DOUBLE) {
+            return getStrategy(type);
+        }
+        CollisionStrategy[] plan = new CollisionStrategy[buffer.get()];
+        for (int i = 0; i < plan.length; i++) {
+            plan[i] = getStrategy(STRATEGY_TYPES[buffer.get()]);
+        }
+        return new DoubleCollisionStrategy(plan);
+    }
+
+    /**
+     * Skips a strategy written by writeStrategy.
+     *
+     * @param buffer The buffer to read from.
+     */
+    public static void skipStrategy(ByteBuffer buffer) {
+        if (STRATEGY_TYPES[buffer.get()] == StrategyType.DOUBLE) {
+            int effectCount = buffer.get();
+            buffer.position(buffer.position() + effectCount);
+        }
+    }
+
+    /**
+     * Picks the type of a brick's collision strategy at random, by the strategy weights.
+     *
+     * @return The randomly selected strategy type.
+     */
+    public StrategyType pickStrategyType() {
+        return strategyWeights.pickBrickType(rand);
+    }
+}
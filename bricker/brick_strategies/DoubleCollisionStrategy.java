@@ -1,35 +1,78 @@
 package bricker.brick_strategies;
 
 import bricker.gameobjects.Brick;
-import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 
+import java.util.Arrays;
 import java.util.Random;
 
 /**
  * The DoubleCollisionStrategy class implements the CollisionStrategy interface
  * to define the collision behavior when a brick encounters another object twice
- * in the Bricker game.
+ * in the Bricker game. Its random choices, including nested double strategies, are resolved once
+ * when the brick is built into a flat plan of at most Brick.MAX_COLLISIONS shared strategies,
+ * so a hit only runs through the plan, without recursion, allocation or random draws.
  */
 public class DoubleCollisionStrategy implements CollisionStrategy {
 
     private static final int BEHAVIOR_CAP = 2;
-    private static final int PUCK_STRATEGY = 0;
-    private static final int PADDLE_STRATEGY = 1;
-    private static final int CAMERA_STRATEGY = 2;
-    private static final int HEART_STRATEGY = 3;
-    private static final int RANDOM_RANGE = 5;
 
-    private final BrickerGameManager brickerGameManager;
-    private final Random rand = new Random();
+    private final CollisionStrategy[] effects;
 
     /**
-     * Constructs a new DoubleCollisionStrategy.
+     * Constructs a new DoubleCollisionStrategy applying a resolved plan.
      *
-     * @param brickerGameManager The BrickerGameManager instance to interact with the game environment.
+     * @param effects The shared strategies to apply on a hit, in order.
      */
-    public DoubleCollisionStrategy(BrickerGameManager brickerGameManager) {
-        this.brickerGameManager = brickerGameManager;
+    public DoubleCollisionStrategy(CollisionStrategy[] effects) {
+        this.effects = effects;
+    }
+
+    /**
+     * Resolves the random choices of a double strategy into its plan. Each choice is one of the
+     * special strategies, or a nested double strategy adding two more choices, picked by the factory's
+     * strategy weights. Choices stop once the plan holds Brick.MAX_COLLISIONS strategies, the most a
+     * brick can apply.
+     *
+     * @param collisionStrategyFactory The factory holding the shared strategies to apply.
+     * @param rand                     The random generator of the game.
+     * @return A double strategy applying the resolved plan.
+     */
+    public static DoubleCollisionStrategy compile(CollisionStrategyFactory collisionStrategyFactory,
+                                                  Random rand) {
+        CollisionStrategy[] plan = new CollisionStrategy[Brick.MAX_COLLISIONS];
+        int size = 0;
+        int pendingChoices = BEHAVIOR_CAP;
+        while (pendingChoices > 0 && size < plan.length) {
+            pendingChoices--;
+            StrategyType choice = collisionStrategyFactory.getStrategyWeights().pickDoubleChoice(rand);
+            if (choice == StrategyType.DOUBLE) {
+                // Nested double strategy
+                pendingChoices += BEHAVIOR_CAP;
+            } else {
+                plan[size++] = collisionStrategyFactory.getStrategy(choice);
+            }
+        }
+        return new DoubleCollisionStrategy(Arrays.copyOf(plan, size));
+    }
+
+    /**
+     * Returns the number of strategies in the plan.
+     *
+     * @return The number of strategies applied on a hit.
+     */
+    public int getEffectCount() {
+        return effects.length;
+    }
+
+    /**
+     * Returns a strategy of the plan.
+     *
+     * @param index The position of the strategy in the plan.
+     * @return The shared strategy applied at that position.
+     */
+    public CollisionStrategy getEffect(int index) {
+        return effects[index];
     }
 
     /**
@@ -40,31 +83,9 @@ public class DoubleCollisionStrategy implements CollisionStrategy {
      */
     @Override
     public void onCollision(GameObject thisObj, GameObject otherObj) {
-        Brick brick = (Brick) thisObj;
-        // Check if the maximum collisions limit is reached
-        if (brick.getCollisionStrategiesCounter().value() == Brick.MAX_COLLISIONS) {
-            return;
-        }
-        // Execute collision strategies twice
-        for (int i = 0; i < BEHAVIOR_CAP; i++) {
-            // Generate a random number to choose a collision strategy
-            int random = rand.nextInt(RANDOM_RANGE);
-            switch (random) {
-                case PUCK_STRATEGY:
-                    new PuckCollisionStrategy(brickerGameManager).onCollision(thisObj, otherObj);
-                    break;
-                case PADDLE_STRATEGY:
-                    new PaddleCollisionStrategy(brickerGameManager).onCollision(thisObj, otherObj);
-                    break;
-                case CAMERA_STRATEGY:
-                    new CameraCollisionStrategy(brickerGameManager).onCollision(thisObj, otherObj);
-                    break;
-                case HEART_STRATEGY:
-                    new HeartCollisionStrategy(brickerGameManager).onCollision(thisObj, otherObj);
-                    break;
-                default:
-                    new DoubleCollisionStrategy(brickerGameManager).onCollision(thisObj, otherObj);
-            }
+        for (CollisionStrategy effect : effects) {
+            // Each strategy checks and counts the brick's collision limit itself
+            effect.onCollision(thisObj, otherObj);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package bricker.brick_strategies;
 
+import bricker.effects.EffectType;
 import bricker.gameobjects.Brick;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
@@ -32,12 +33,13 @@ public class HeartCollisionStrategy implements CollisionStrategy {
         Brick brick = (Brick) thisObj;
 
         // Check if the brick has reached its maximum collision limit
-        if (brick.getCollisionStrategiesCounter().value() == Brick.MAX_COLLISIONS) {
+        if (brick.getCollisionStrategiesCount() == Brick.MAX_COLLISIONS) {
             return;
         }
 
-        // Create a heart and increment the collision strategies counter
-        brickerGameManager.heartCreator(thisObj);
-        brick.incrementCollisionStrategiesCounter();
+        // Queue a heart; an effect the spawn cap drops leaves the brick's counter alone
+        if (brickerGameManager.queueEffect(EffectType.SPAWN_HEART, thisObj)) {
+            brick.incrementCollisionStrategiesCounter();
+        }
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package bricker.brick_strategies;
 
+import bricker.effects.EffectType;
 import bricker.gameobjects.Brick;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
@@ -31,11 +32,12 @@ public class PaddleCollisionStrategy implements CollisionStrategy {
     public void onCollision(GameObject thisObj, GameObject otherObj) {
         Brick brick = (Brick) thisObj;
         // Check if the brick has reached its maximum collision limit
-        if (brick.getCollisionStrategiesCounter().value() == Brick.MAX_COLLISIONS) {
+        if (brick.getCollisionStrategiesCount() == Brick.MAX_COLLISIONS) {
             return;
         }
-        // Create a second paddle and increment the collision strategies counter
-        brickerGameManager.secondPaddleCreator();
-        brick.incrementCollisionStrategiesCounter();
+        // Queue a second paddle; an effect the spawn cap drops leaves the brick's counter alone
+        if (brickerGameManager.queueEffect(EffectType.SPAWN_SECOND_PADDLE, thisObj)) {
+            brick.incrementCollisionStrategiesCounter();
+        }
     }
 }
\ No newline at end of file
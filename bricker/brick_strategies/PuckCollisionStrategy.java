@@ -1,5 +1,6 @@
 package bricker.brick_strategies;
 
+import bricker.effects.EffectType;
 import bricker.gameobjects.Brick;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
@@ -34,11 +35,12 @@ public class PuckCollisionStrategy implements CollisionStrategy {
     public void onCollision(GameObject thisObj, GameObject otherObj) {
         Brick brick = (Brick) thisObj;
         // Check if the brick has reached its maximum collision limit
-        if (brick.getCollisionStrategiesCounter().value() == Brick.MAX_COLLISIONS) {
+        if (brick.getCollisionStrategiesCount() == Brick.MAX_COLLISIONS) {
             return;
         }
-        // Create new pucks and increment the collision strategies counter
-        brickerGameManager.puckBallsCreator(thisObj);
-        brick.incrementCollisionStrategiesCounter();
+        // Queue new pucks; an effect the spawn cap drops leaves the brick's counter alone
+        if (brickerGameManager.queueEffect(EffectType.SPAWN_PUCKS, thisObj)) {
+            brick.incrementCollisionStrategiesCounter();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package bricker.brick_strategies;
+
+/**
+ * The StrategyType enum lists the collision strategies a brick can have.
+ * Each type is backed by a single shared strategy instance per game (see CollisionStrategyFactory),
+ * except DOUBLE, which is resolved per brick.
+ */
+public enum StrategyType {
+    /** Removes the brick from the game. */
+    BASIC,
+    /** Spawns pucks at the brick. */
+    PUCK,
+    /** Adds a second paddle to the game. */
+    PADDLE,
+    /** Makes the camera follow the ball. */
+    CAMERA,
+    /** Drops a heart from the brick. */
+    HEART,
+    /** Applies two random special strategies. */
+    DOUBLE
+}
@@ -0,0 +1,189 @@
+package bricker.brick_strategies;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The StrategyWeights class holds how often each collision strategy is picked: for a new brick, and for
+ * each choice of a double strategy, where a DOUBLE choice nests two more choices. Weights are relative
+ * integers, and both picks are sampled in constant time from alias tables, so adding strategies or
+ * skewing the mix costs nothing per brick. Weights are loaded from a properties file with one line per
+ * strategy and pick, e.g. "brick.PUCK=1" or "double.HEART=1"; a strategy missing from the file is never
+ * picked, and a file without double weights keeps the default ones. An instance is immutable, so games
+ * can share it.
+ */
+public class StrategyWeights {
+
+    /**
+     * The path of the weights file loaded by default.
+     */
+    public static final String DEFAULT_PATH = "assets/strategies.properties";
+
+    private static final long FINGERPRINT_PRIME = 31;
+    private static final String BRICK_PREFIX = "brick.";
+    private static final String DOUBLE_PREFIX = "double.";
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
+    // Basic bricks half of the time and each special strategy a tenth, by ordinal
+    private static final int[] DEFAULT_BRICK_WEIGHTS = {5, 1, 1, 1, 1, 1};
+    // Every special strategy and a nested double alike, but not the basic one, which every brick applies
+    private static final int[] DEFAULT_DOUBLE_WEIGHTS = {0, 1, 1, 1, 1, 1};
+
+    private final int[] brickWeights;
+    private final int[] doubleWeights;
+    private final AliasTable brickTable;
+    private final AliasTable doubleTable;
+
+    /**
+     * Constructs new StrategyWeights.
+     *
+     * @param brickWeights  The weight of each strategy type for a new brick, by ordinal.
+     * @param doubleWeights The weight of each strategy type for a choice of a double strategy, by ordinal.
+     * @throws IllegalArgumentException If there is not one weight per strategy type, a weight is negative,
+     *                                  no brick strategy has a weight, or a double strategy could pick
+     *                                  BASIC or could not pick a special strategy other than DOUBLE.
+     */
+    public StrategyWeights(int[] brickWeights, int[] doubleWeights) {
+        if (brickWeights.length != STRATEGY_TYPES.length || doubleWeights.length != STRATEGY_TYPES.length) {
+            throw new IllegalArgumentException("Expected one weight per strategy type");
+        }
+        if (doubleWeights[StrategyType.BASIC.ordinal()] != 0) {
+            throw new IllegalArgumentException("A double strategy cannot pick the basic strategy");
+        }
+        boolean special = false;
+        for (StrategyType type : STRATEGY_TYPES) {
+            special |= type != StrategyType.DOUBLE && doubleWeights[type.ordinal()] > 0;
+        }
+        // Otherwise a double strategy, e.g. one laid out by a level, would nest forever without picking
+        if (!special) {
+            throw new IllegalArgumentException("A double strategy has no special strategy to pick");
+        }
+        this.brickWeights = brickWeights.clone();
+        this.doubleWeights = doubleWeights.clone();
+        this.brickTable = new AliasTable(this.brickWeights);
+        this.doubleTable = new AliasTable(this.doubleWeights);
+    }
+
+    /**
+     * Returns the built-in weights: basic bricks half of the time and each special strategy a tenth, and
+     * for a double strategy every special strategy and a nested double alike.
+     *
+     * @return The default weights.
+     */
+    public static StrategyWeights defaults() {
+        return new StrategyWeights(DEFAULT_BRICK_WEIGHTS, DEFAULT_DOUBLE_WEIGHTS);
+    }
+
+    /**
+     * Loads weights from a properties file.
+     *
+     * @param path The path of the file.
+     * @return The loaded weights.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If a key does not name a pick and a strategy type, a weight is not
+     *                                  an integer, or the weights are not valid.
+     */
+    public static StrategyWeights load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            properties.load(reader);
+        }
+        int[] brickWeights = new int[STRATEGY_TYPES.length];
+        int[] doubleWeights = new int[STRATEGY_TYPES.length];
+        boolean doubleWeighted = false;
+        for (String key : properties.stringPropertyNames()) {
+            int[] weights;
+            String typeName;
+            if (key.startsWith(BRICK_PREFIX)) {
+                weights = brickWeights;
+                typeName = key.substring(BRICK_PREFIX.length());
+            } else if (key.startsWith(DOUBLE_PREFIX)) {
+                weights = doubleWeights;
+                doubleWeighted = true;
+                typeName = key.substring(DOUBLE_PREFIX.length());
+            } else {
+                throw new IllegalArgumentException("Unknown key in " + path + ": " + key);
+            }
+            try {
+                StrategyType type = StrategyType.valueOf(typeName.trim().toUpperCase(Locale.ROOT));
+                weights[type.ordinal()] = Integer.parseInt(properties.getProperty(key).trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid weight in " + path + ": " + key, e);
+            }
+        }
+        return new StrategyWeights(brickWeights, doubleWeighted ? doubleWeights : DEFAULT_DOUBLE_WEIGHTS);
+    }
+
+    /**
+     * Loads the weights file at the default path, or returns the built-in weights if there is none.
+     *
+     * @return The weights.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    public static StrategyWeights loadDefault() throws IOException {
+        Path path = Paths.get(DEFAULT_PATH);
+        return Files.exists(path) ? load(path) : defaults();
+    }
+
+    /**
+     * Picks the type of a new brick's strategy.
+     *
+     * @param rand The random generator of the game.
+     * @return The picked strategy type.
+     */
+    public StrategyType pickBrickType(Random rand) {
+        return STRATEGY_TYPES[brickTable.sample(rand)];
+    }
+
+    /**
+     * Picks a choice of a double strategy: a special strategy, or DOUBLE for two more choices.
+     *
+     * @param rand The random generator of the game.
+     * @return The picked strategy type.
+     */
+    public StrategyType pickDoubleChoice(Random rand) {
+        return STRATEGY_TYPES[doubleTable.sample(rand)];
+    }
+
+    /**
+     * Returns a fingerprint of the weights, e.g. to tell whether a recorded game was played with them.
+     * Equal weights always have the same fingerprint, in any run.
+     *
+     * @return The fingerprint.
+     */
+    public long fingerprint() {
+        long fingerprint = STRATEGY_TYPES.length;
+        for (int weight : brickWeights) {
+            fingerprint = FINGERPRINT_PRIME * fingerprint + weight;
+        }
+        for (int weight : doubleWeights) {
+            fingerprint = FINGERPRINT_PRIME * fingerprint + weight;
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Returns the weight of a strategy type for a new brick.
+     *
+     * @param type The strategy type.
+     * @return The weight.
+     */
+    public int getBrickWeight(StrategyType type) {
+        return brickWeights[type.ordinal()];
+    }
+
+    /**
+     * Returns the weight of a strategy type for a choice of a double strategy.
+     *
+     * @param type The strategy type.
+     * @return The weight.
+     */
+    public int getDoubleWeight(StrategyType type) {
+        return doubleWeights[type.ordinal()];
+    }
+}
@@ -0,0 +1,184 @@
+package bricker.collisions;
+
+import danogl.GameObject;
+
+/**
+ * The BrickGrid class is a uniform grid index over the brick wall. Bricks sit on a regular lattice,
+ * so each cell of the grid holds at most one brick, and adding, removing or looking up a brick
+ * takes constant time.
+ */
+public class BrickGrid {
+
+    private final float originX;
+    private final float originY;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final int rows;
+    private final int columns;
+    private final GameObject[] cells;
+    private int size;
+
+    /**
+     * Constructs a new, empty BrickGrid.
+     *
+     * @param originX    The x coordinate of the left edge of the first column.
+     * @param originY    The y coordinate of the top edge of the first row.
+     * @param cellWidth  The horizontal distance between two neighbouring bricks.
+     * @param cellHeight The vertical distance between two neighbouring bricks.
+     * @param rows       The number of rows in the grid.
+     * @param columns    The number of columns in the grid.
+     */
+    public BrickGrid(float originX, float originY, float cellWidth, float cellHeight, int rows, int columns) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = new GameObject[rows * columns];
+    }
+
+    /**
+     * Adds a brick to the cell containing its center.
+     *
+     * @param brick The brick to add.
+     * @return True if the brick was added, false if it lies outside the grid or its cell is taken.
+     */
+    public boolean add(GameObject brick) {
+        int cell = cellOf(brick);
+        if (cell < 0 || cells[cell] != null) {
+            return false;
+        }
+        cells[cell] = brick;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a brick from the grid.
+     *
+     * @param brick The brick to remove.
+     * @return True if the brick was in the grid, false otherwise.
+     */
+    public boolean remove(GameObject brick) {
+        int cell = cellOf(brick);
+        if (cell < 0 || cells[cell] != brick) {
+            return false;
+        }
+        cells[cell] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the brick at the given cell.
+     *
+     * @param row    The row of the cell.
+     * @param column The column of the cell.
+     * @return The brick in that cell, or null if the cell is empty.
+     */
+    public GameObject get(int row, int column) {
+        return cells[row * columns + column];
+    }
+
+    /**
+     * Returns the brick at the given cell index.
+     *
+     * @param cell The index of the cell, i.e. row * columns + column.
+     * @return The brick in that cell, or null if the cell is empty.
+     */
+    public GameObject get(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Returns the column containing the given x coordinate, clamped to the grid.
+     *
+     * @param x The x coordinate.
+     * @return The index of the column.
+     */
+    public int columnAt(float x) {
+        return clamp((int) Math.floor((x - originX) / cellWidth), columns);
+    }
+
+    /**
+     * Returns the row containing the given y coordinate, clamped to the grid.
+     *
+     * @param y The y coordinate.
+     * @return The index of the row.
+     */
+    public int rowAt(float y) {
+        return clamp((int) Math.floor((y - originY) / cellHeight), rows);
+    }
+
+    /**
+     * Returns whether the given vertical range overlaps the rows of the grid at all.
+     *
+     * @param minY The top of the range.
+     * @param maxY The bottom of the range.
+     * @return True if the range overlaps the grid, false otherwise.
+     */
+    public boolean overlapsRows(float minY, float maxY) {
+        return maxY >= originY && minY < originY + rows * cellHeight;
+    }
+
+    /**
+     * Returns the x coordinate of the left edge of a column.
+     *
+     * @param column The index of the column.
+     * @return The left edge of the column.
+     */
+    public float columnLeft(int column) {
+        return originX + column * cellWidth;
+    }
+
+    /**
+     * Returns the y coordinate of the top edge of a row.
+     *
+     * @param row The index of the row.
+     * @return The top edge of the row.
+     */
+    public float rowTop(int row) {
+        return originY + row * cellHeight;
+    }
+
+    /**
+     * Returns the index of the cell containing the center of a brick, i.e. row * columns + column.
+     *
+     * @param brick The brick.
+     * @return The cell index, or -1 if the center lies outside the grid.
+     */
+    public int indexOf(GameObject brick) {
+        return cellOf(brick);
+    }
+
+    /**
+     * Returns the number of bricks in the grid.
+     *
+     * @return The number of bricks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the cell containing the center of the given object.
+     *
+     * @return The cell index, or -1 if the center lies outside the grid.
+     */
+    private int cellOf(GameObject gameObject) {
+        int column = (int) Math.floor((gameObject.getCenter().x() - originX) / cellWidth);
+        int row = (int) Math.floor((gameObject.getCenter().y() - originY) / cellHeight);
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    /**
+     * Clamps an index to the range [0, count).
+     */
+    private static int clamp(int index, int count) {
+        return Math.max(0, Math.min(count - 1, index));
+    }
+}
@@ -0,0 +1,286 @@
+package bricker.collisions;
+
+import bricker.gameobjects.Brick;
+import bricker.levels.BrickStore;
+import bricker.metrics.FrameStats;
+import bricker.rendering.StaticLayerCache;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.gui.MessageHandler;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The BrickGridCollection class is a GameObjectCollection that indexes the static brick layer in a
+ * BrickGrid. Once a grid is set, the generic check of every moving object against every brick is
+ * turned off, and each moving object is only checked against the bricks in the cells touched by its
+ * swept bounds over the last frame. If the wall is kept in a brick store, the store is queried first
+ * and only the bricks whose own bounds overlap the swept bounds are checked. The collection also keeps
+ * the live object count of each layer and its peak, and reports every collision to the game's frame
+ * statistics. If a static layer cache is set, static objects are composited into it as they are added
+ * and cleared from it as they are removed.
+ */
+public class BrickGridCollection extends GameObjectCollection {
+
+    private static final int QUERY_CAPACITY = 16;
+    private static final int[] COUNTED_LAYERS = {Layer.BACKGROUND, Layer.STATIC_OBJECTS, Layer.DEFAULT,
+            Layer.FOREGROUND, Layer.UI};
+
+    private final List<GameObject> unindexedBricks;
+    private final int[] liveObjects;
+    private int totalLiveObjects;
+    private int peakLiveObjects;
+    private FrameStats frameStats;
+    private BrickGrid brickGrid;
+    private BrickStore brickStore;
+    private int[] queryResult;
+    private StaticLayerCache staticLayerCache;
+    private float lastDeltaTime;
+
+    /**
+     * Constructs a new, empty BrickGridCollection.
+     *
+     * @param messages The message handler used for reporting errors.
+     */
+    public BrickGridCollection(MessageHandler messages) {
+        super(messages);
+        this.unindexedBricks = new ArrayList<>();
+        this.liveObjects = new int[COUNTED_LAYERS.length];
+        this.queryResult = new int[QUERY_CAPACITY];
+    }
+
+    /**
+     * Sets the statistics that collisions are reported to.
+     *
+     * @param frameStats The frame statistics of the game.
+     */
+    public void setFrameStats(FrameStats frameStats) {
+        this.frameStats = frameStats;
+    }
+
+    /**
+     * Returns the number of objects in the given layer.
+     *
+     * @param layerId The layer.
+     * @return The number of live objects, or 0 for a layer that is not counted.
+     */
+    public int getLiveObjects(int layerId) {
+        int index = layerIndex(layerId);
+        return index < 0 ? 0 : liveObjects[index];
+    }
+
+    /**
+     * Returns the largest number of objects that were live at once in all counted layers.
+     *
+     * @return The peak live object count.
+     */
+    public int getPeakLiveObjects() {
+        return peakLiveObjects;
+    }
+
+    /**
+     * Sets the grid indexing the static brick layer. Must be set before bricks are added.
+     *
+     * @param brickGrid The brick grid.
+     */
+    public void setBrickGrid(BrickGrid brickGrid) {
+        this.brickGrid = brickGrid;
+        layers().shouldLayersCollide(Layer.DEFAULT, Layer.STATIC_OBJECTS, false);
+    }
+
+    /**
+     * Sets the store holding the state of every brick of a streamed wall, which is queried before the
+     * materialized bricks are checked.
+     *
+     * @param brickStore The brick store, or null to check every brick in the touched cells.
+     */
+    public void setBrickStore(BrickStore brickStore) {
+        this.brickStore = brickStore;
+    }
+
+    /**
+     * Sets the cache that static objects are composited into. Must be set before bricks are added.
+     *
+     * @param staticLayerCache The static layer cache, or null to let static objects draw themselves.
+     */
+    public void setStaticLayerCache(StaticLayerCache staticLayerCache) {
+        this.staticLayerCache = staticLayerCache;
+    }
+
+    /**
+     * Adds a game object to the given layer, indexing it if it is a brick.
+     *
+     * @param gameObject The object to add.
+     * @param layerId    The layer to add it to.
+     */
+    @Override
+    public void addGameObject(GameObject gameObject, int layerId) {
+        super.addGameObject(gameObject, layerId);
+        int index = layerIndex(layerId);
+        if (index >= 0) {
+            liveObjects[index]++;
+            if (++totalLiveObjects > peakLiveObjects) {
+                peakLiveObjects = totalLiveObjects;
+            }
+        }
+        if (layerId == Layer.STATIC_OBJECTS && brickGrid != null && !brickGrid.add(gameObject)) {
+            // Off-lattice bricks are still checked, just without the grid
+            unindexedBricks.add(gameObject);
+        }
+        if (layerId == Layer.STATIC_OBJECTS && staticLayerCache != null) {
+            staticLayerCache.add(gameObject);
+        }
+    }
+
+    /**
+     * Removes a game object from the given layer, removing it from the index if it is a brick.
+     *
+     * @param gameObject The object to remove.
+     * @param layerId    The layer to remove it from.
+     * @return True if the object was removed, false otherwise.
+     */
+    @Override
+    public boolean removeGameObject(GameObject gameObject, int layerId) {
+        boolean removed = super.removeGameObject(gameObject, layerId);
+        int index = layerIndex(layerId);
+        if (removed && index >= 0) {
+            liveObjects[index]--;
+            totalLiveObjects--;
+        }
+        if (removed && layerId == Layer.STATIC_OBJECTS && brickGrid != null
+                && !brickGrid.remove(gameObject)) {
+            unindexedBricks.remove(gameObject);
+        }
+        if (removed && layerId == Layer.STATIC_OBJECTS && staticLayerCache != null) {
+            staticLayerCache.remove(gameObject);
+        }
+        return removed;
+    }
+
+    /**
+     * Applies pending changes and records the frame's delta time for the swept bounds.
+     *
+     * @param deltaTime The time that has passed since the last update.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        lastDeltaTime = deltaTime;
+    }
+
+    /**
+     * Applies pending additions and removals now rather than on the next update, without touching the
+     * recorded delta time. An object removed and added again before the changes are applied would stay
+     * removed, so a game reusing its objects, e.g. restoring a snapshot, applies them first.
+     */
+    public void flushChanges() {
+        super.update(lastDeltaTime);
+    }
+
+    /**
+     * Handles the collisions of all layers, then of moving objects against nearby bricks.
+     */
+    @Override
+    public void handleCollisions() {
+        super.handleCollisions();
+        if (brickGrid == null) {
+            return;
+        }
+        for (GameObject movingObject : objectsInLayer(Layer.DEFAULT)) {
+            handleBrickCollisions(movingObject);
+        }
+    }
+
+    /**
+     * Handles a single pair of objects, reporting it to the frame statistics if they collide. Pairs
+     * of types the collision matrix rules out are skipped before any other check.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @return True if the objects collide, false otherwise.
+     */
+    @Override
+    protected boolean handlePair(GameObject first, GameObject second) {
+        if (!CollisionMatrix.canCollide(first, second)) {
+            return false;
+        }
+        boolean colliding = super.handlePair(first, second);
+        if (colliding && frameStats != null) {
+            frameStats.recordCollision(first);
+            frameStats.recordCollision(second);
+        }
+        return colliding;
+    }
+
+    /**
+     * Checks a moving object against the bricks in the cells its swept bounds touch, unless its type
+     * never collides with bricks.
+     */
+    private void handleBrickCollisions(GameObject movingObject) {
+        int type = CollisionMatrix.typeOf(movingObject);
+        if (type >= 0 && !CollisionMatrix.canCollide(type, Brick.TYPE_ID)) {
+            return;
+        }
+        Vector2 topLeft = movingObject.getTopLeftCorner();
+        Vector2 dimensions = movingObject.getDimensions();
+        Vector2 velocity = movingObject.getVelocity();
+        // The object moved by velocity * deltaTime this frame, so cover both its old and new bounds
+        float previousX = topLeft.x() - velocity.x() * lastDeltaTime;
+        float previousY = topLeft.y() - velocity.y() * lastDeltaTime;
+        float minX = Math.min(topLeft.x(), previousX);
+        float minY = Math.min(topLeft.y(), previousY);
+        float maxX = Math.max(topLeft.x(), previousX) + dimensions.x();
+        float maxY = Math.max(topLeft.y(), previousY) + dimensions.y();
+
+        if (brickStore != null) {
+            handleStoredBrickCollisions(movingObject, minX, minY, maxX, maxY);
+        } else if (brickGrid.overlapsRows(minY, maxY)) {
+            int lastRow = brickGrid.rowAt(maxY);
+            int lastColumn = brickGrid.columnAt(maxX);
+            for (int row = brickGrid.rowAt(minY); row <= lastRow; row++) {
+                for (int column = brickGrid.columnAt(minX); column <= lastColumn; column++) {
+                    GameObject brick = brickGrid.get(row, column);
+                    if (brick != null) {
+                        handlePair(movingObject, brick);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < unindexedBricks.size(); i++) {
+            handlePair(movingObject, unindexedBricks.get(i));
+        }
+    }
+
+    /**
+     * Checks a moving object against the materialized bricks the brick store finds in its swept bounds.
+     */
+    private void handleStoredBrickCollisions(GameObject movingObject, float minX, float minY,
+                                             float maxX, float maxY) {
+        int found = brickStore.query(minX, minY, maxX, maxY, queryResult);
+        if (found > queryResult.length) {
+            queryResult = new int[Integer.highestOneBit(found) * 2];
+            found = brickStore.query(minX, minY, maxX, maxY, queryResult);
+        }
+        for (int i = 0; i < found; i++) {
+            GameObject brick = brickGrid.get(queryResult[i]);
+            if (brick != null) {
+                handlePair(movingObject, brick);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of a counted layer, or -1 if the layer is not counted.
+     */
+    private static int layerIndex(int layerId) {
+        for (int i = 0; i < COUNTED_LAYERS.length; i++) {
+            if (COUNTED_LAYERS[i] == layerId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,99 @@
+package bricker.collisions;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import bricker.gameobjects.Heart;
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.Puck;
+import bricker.gameobjects.SecondPaddle;
+import bricker.gameobjects.TypedGameObject;
+import bricker.gameobjects.Wall;
+import danogl.GameObject;
+
+/**
+ * The CollisionMatrix class decides which pairs of game object types are considered for collision at
+ * all. Each type has a mask of the collision groups it may collide with, and the masks are symmetric.
+ * The broad phase consults the matrix before the objects' own shouldCollideWith checks and the overlap
+ * test, so pairs that can never interact, e.g. a heart and a brick or a puck and a heart, cost two
+ * array reads. Balls and pucks bounce off each other, the paddles, the bricks and the walls, and only
+ * the main paddle collects hearts. Objects that are not typed are always considered.
+ */
+public class CollisionMatrix {
+
+    /**
+     * The number of type IDs, which range from 0 to TYPE_COUNT - 1: a mask holds one bit per type.
+     */
+    public static final int TYPE_COUNT = 32;
+
+    private static final int[] MASKS = new int[TYPE_COUNT];
+
+    static {
+        int[] bouncing = {Ball.TYPE_ID, Puck.TYPE_ID};
+        int[] obstacles = {Ball.TYPE_ID, Puck.TYPE_ID, Paddle.TYPE_ID, SecondPaddle.TYPE_ID, Brick.TYPE_ID,
+                Wall.TYPE_ID};
+        for (int movingType : bouncing) {
+            for (int obstacleType : obstacles) {
+                allow(movingType, obstacleType);
+            }
+        }
+        allow(Heart.TYPE_ID, Paddle.TYPE_ID);
+    }
+
+    /**
+     * The matrix only has static members.
+     */
+    private CollisionMatrix() {
+    }
+
+    /**
+     * Lets two types collide with each other.
+     */
+    private static void allow(int firstType, int secondType) {
+        MASKS[firstType] |= 1 << secondType;
+        MASKS[secondType] |= 1 << firstType;
+    }
+
+    /**
+     * Returns the type ID of a game object.
+     *
+     * @param gameObject The game object.
+     * @return The object's type ID, or -1 if it is not typed.
+     */
+    public static int typeOf(GameObject gameObject) {
+        return gameObject instanceof TypedGameObject ? ((TypedGameObject) gameObject).getTypeId() : -1;
+    }
+
+    /**
+     * Returns the mask of the collision groups a type may collide with.
+     *
+     * @param typeId The type ID.
+     * @return The collision mask.
+     */
+    public static int maskOf(int typeId) {
+        return MASKS[typeId];
+    }
+
+    /**
+     * Checks whether a type may collide with another.
+     *
+     * @param firstType  The type ID of the first object.
+     * @param secondType The type ID of the second object.
+     * @return True if the types may collide, false otherwise.
+     */
+    public static boolean canCollide(int firstType, int secondType) {
+        return (MASKS[firstType] & 1 << secondType) != 0;
+    }
+
+    /**
+     * Checks whether two game objects may collide, according to their types.
+     *
+     * @param first  The first object.
+     * @param second The second object.
+     * @return True if the objects may collide or either of them is not typed, false otherwise.
+     */
+    public static boolean canCollide(GameObject first, GameObject second) {
+        int firstType = typeOf(first);
+        int secondType = typeOf(second);
+        return firstType < 0 || secondType < 0 || canCollide(firstType, secondType);
+    }
+}
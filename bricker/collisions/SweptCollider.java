@@ -0,0 +1,254 @@
+package bricker.collisions;
+
+import bricker.metrics.FrameStats;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.Arrays;
+
+/**
+ * The SweptCollider class moves fast objects, i.e. balls and pucks, by sweeping their bounds along
+ * their path instead of teleporting them by a whole step. Every wall and every brick in the cells the
+ * path crosses is tested with a swept axis-aligned bounding box test, and the object stops at the
+ * earliest contact, a small gap short of the obstacle. The contact is dispatched to both objects, which
+ * lets the ball reflect its velocity, and the object travels the rest of the step in its new direction,
+ * up to a few contacts per step. An object cannot tunnel through a brick or a wall however long the step
+ * is. Objects already overlapping an obstacle are left to the engine's discrete check.
+ */
+public class SweptCollider {
+
+    private static final int MAX_CONTACTS_PER_STEP = 4;
+    private static final float SEPARATION = 0.01f; // Gap left at a contact, so it does not overlap
+    private static final int INITIAL_WALLS = 4;
+
+    private final FrameStats frameStats;
+    private final SweptCollision collision;
+    private GameObject[] walls;
+    private int wallCount;
+    private BrickGrid brickGrid;
+    private GameObject nearestObstacle;
+    private Vector2 nearestNormal;
+    private float nearestTime;
+    private boolean nearestTunnels;
+    private long contacts;
+    private long tunnelingContacts;
+
+    /**
+     * Constructs a new SweptCollider with no obstacles.
+     *
+     * @param frameStats The statistics that contacts are reported to, or null.
+     */
+    public SweptCollider(FrameStats frameStats) {
+        this.frameStats = frameStats;
+        this.collision = new SweptCollision();
+        this.walls = new GameObject[INITIAL_WALLS];
+    }
+
+    /**
+     * Removes every obstacle, e.g. when the game is reset.
+     */
+    public void clear() {
+        Arrays.fill(walls, 0, wallCount, null);
+        wallCount = 0;
+        brickGrid = null;
+    }
+
+    /**
+     * Adds a wall that moving objects cannot pass through.
+     *
+     * @param wall The wall.
+     */
+    public void addWall(GameObject wall) {
+        if (wallCount == walls.length) {
+            walls = Arrays.copyOf(walls, wallCount * 2);
+        }
+        walls[wallCount++] = wall;
+    }
+
+    /**
+     * Sets the grid indexing the bricks that moving objects cannot pass through.
+     *
+     * @param brickGrid The grid indexing the brick wall.
+     */
+    public void setBrickGrid(BrickGrid brickGrid) {
+        this.brickGrid = brickGrid;
+    }
+
+    /**
+     * Moves an object by its velocity over a step, stopping and dispatching a contact at every obstacle
+     * its path hits.
+     *
+     * @param movingObject The object to move.
+     * @param deltaTime    The duration of the step, in seconds.
+     */
+    public void move(GameObject movingObject, float deltaTime) {
+        Vector2 topLeft = movingObject.getTopLeftCorner();
+        Vector2 dimensions = movingObject.getDimensions();
+        float x = topLeft.x();
+        float y = topLeft.y();
+        float width = dimensions.x();
+        float height = dimensions.y();
+        float remaining = deltaTime;
+        GameObject lastObstacle = null;
+        for (int contact = 0; contact < MAX_CONTACTS_PER_STEP && remaining > 0; contact++) {
+            Vector2 velocity = movingObject.getVelocity();
+            float dx = velocity.x() * remaining;
+            float dy = velocity.y() * remaining;
+            if (dx == 0 && dy == 0) {
+                break;
+            }
+            findNearestObstacle(movingObject, lastObstacle, x, y, width, height, dx, dy);
+            if (nearestObstacle == null) {
+                break;
+            }
+            x += dx * nearestTime + nearestNormal.x() * SEPARATION;
+            y += dy * nearestTime + nearestNormal.y() * SEPARATION;
+            movingObject.transform().setTopLeftCorner(x, y);
+            remaining *= 1 - nearestTime;
+            lastObstacle = nearestObstacle;
+            dispatch(movingObject, velocity, x, y, width, height);
+        }
+        Vector2 velocity = movingObject.getVelocity();
+        movingObject.transform().setTopLeftCorner(x + velocity.x() * remaining, y + velocity.y() * remaining);
+    }
+
+    /**
+     * @return The number of contacts found by sweeping so far.
+     */
+    public long getContacts() {
+        return contacts;
+    }
+
+    /**
+     * @return The number of contacts whose obstacle the object would have passed entirely in one step,
+     * which a check of the end position alone would have missed.
+     */
+    public long getTunnelingContacts() {
+        return tunnelingContacts;
+    }
+
+    /**
+     * Finds the obstacle the given motion touches first, among the walls and the bricks in the cells
+     * the motion crosses.
+     */
+    private void findNearestObstacle(GameObject movingObject, GameObject excluded, float x, float y,
+                                     float width, float height, float dx, float dy) {
+        nearestObstacle = null;
+        nearestTime = 1;
+        for (int i = 0; i < wallCount; i++) {
+            test(movingObject, walls[i], excluded, x, y, width, height, dx, dy);
+        }
+        if (brickGrid == null) {
+            return;
+        }
+        float minX = Math.min(x, x + dx);
+        float minY = Math.min(y, y + dy);
+        float maxX = Math.max(x, x + dx) + width;
+        float maxY = Math.max(y, y + dy) + height;
+        if (!brickGrid.overlapsRows(minY, maxY)) {
+            return;
+        }
+        int lastRow = brickGrid.rowAt(maxY);
+        int firstColumn = brickGrid.columnAt(minX);
+        int lastColumn = brickGrid.columnAt(maxX);
+        for (int row = brickGrid.rowAt(minY); row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                GameObject brick = brickGrid.get(row, column);
+                if (brick != null) {
+                    test(movingObject, brick, excluded, x, y, width, height, dx, dy);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sweeps the moving bounds against an obstacle, and keeps the obstacle if it is touched earlier than
+     * the nearest one so far. Along each axis, the motion enters the obstacle's span at one fraction of
+     * the step and leaves it at another; the bounds touch when they have entered along both axes and
+     * left along neither.
+     */
+    private void test(GameObject movingObject, GameObject obstacle, GameObject excluded, float x, float y,
+                      float width, float height, float dx, float dy) {
+        if (obstacle == excluded || !CollisionMatrix.canCollide(movingObject, obstacle)
+                || !movingObject.shouldCollideWith(obstacle)
+                || !obstacle.shouldCollideWith(movingObject)) {
+            return;
+        }
+        Vector2 topLeft = obstacle.getTopLeftCorner();
+        Vector2 dimensions = obstacle.getDimensions();
+        float left = topLeft.x();
+        float top = topLeft.y();
+        float right = left + dimensions.x();
+        float bottom = top + dimensions.y();
+        if (right <= left || bottom <= top) {
+            // Like the engine, nothing collides with an object without area, e.g. a brick of a too wide wall
+            return;
+        }
+
+        float entryX;
+        float exitX;
+        if (dx > 0) {
+            entryX = (left - (x + width)) / dx;
+            exitX = (right - x) / dx;
+        } else if (dx < 0) {
+            entryX = (right - x) / dx;
+            exitX = (left - (x + width)) / dx;
+        } else if (x + width > left && x < right) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return;
+        }
+        float entryY;
+        float exitY;
+        if (dy > 0) {
+            entryY = (top - (y + height)) / dy;
+            exitY = (bottom - y) / dy;
+        } else if (dy < 0) {
+            entryY = (bottom - y) / dy;
+            exitY = (top - (y + height)) / dy;
+        } else if (y + height > top && y < bottom) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        // Objects that already overlap at the start of the motion are left to the discrete check
+        if (entry < 0 || entry >= nearestTime || entry >= exit) {
+            return;
+        }
+        nearestObstacle = obstacle;
+        nearestTime = entry;
+        nearestTunnels = exit < 1;
+        if (entryX > entryY) {
+            nearestNormal = dx > 0 ? Vector2.LEFT : Vector2.RIGHT;
+        } else {
+            nearestNormal = dy > 0 ? Vector2.UP : Vector2.DOWN;
+        }
+    }
+
+    /**
+     * Dispatches the nearest contact to the moving object and its obstacle, and reports it.
+     */
+    private void dispatch(GameObject movingObject, Vector2 velocity, float x, float y, float width,
+                          float height) {
+        GameObject obstacle = nearestObstacle;
+        // The contact point is the middle of the moving object's face touching the obstacle
+        float pointX = x + width * (1 - nearestNormal.x()) / 2;
+        float pointY = y + height * (1 - nearestNormal.y()) / 2;
+        collision.set(nearestNormal, velocity, pointX, pointY);
+        movingObject.onCollisionEnter(obstacle, collision);
+        obstacle.onCollisionEnter(movingObject, collision);
+        contacts++;
+        if (nearestTunnels) {
+            tunnelingContacts++;
+        }
+        if (frameStats != null) {
+            frameStats.recordCollision(movingObject);
+            frameStats.recordCollision(obstacle);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package bricker.collisions;
+
+import danogl.collisions.Collision;
+import danogl.util.MutableVector2;
+import danogl.util.Vector2;
+
+/**
+ * The SweptCollision class describes a contact found by sweeping a moving object along its path, at
+ * the moment it touches an obstacle. Nothing overlaps at that moment, so the penetration area is always
+ * empty. A single instance and its vectors are reused for every contact, so it is only valid while it
+ * is dispatched.
+ */
+class SweptCollision implements Collision {
+
+    private final MutableVector2 relativeVelocity;
+    private final MutableVector2 collisionPoint;
+    private Vector2 normal;
+
+    /**
+     * Constructs a new SweptCollision.
+     */
+    SweptCollision() {
+        this.relativeVelocity = new MutableVector2();
+        this.collisionPoint = new MutableVector2();
+    }
+
+    /**
+     * Describes a new contact. The velocity is copied, as the moving object's velocity changes in place
+     * when it bounces.
+     *
+     * @param normal           The normal of the obstacle's face that was hit.
+     * @param relativeVelocity The velocity of the moving object relative to the obstacle.
+     * @param pointX           The x coordinate of the contact point.
+     * @param pointY           The y coordinate of the contact point.
+     */
+    void set(Vector2 normal, Vector2 relativeVelocity, float pointX, float pointY) {
+        this.normal = normal;
+        this.relativeVelocity.setXY(relativeVelocity);
+        this.collisionPoint.setXY(pointX, pointY);
+    }
+
+    /**
+     * @return The normal of the obstacle's face that was hit.
+     */
+    @Override
+    public Vector2 getNormal() {
+        return normal;
+    }
+
+    /**
+     * @return The point where the moving object touched the obstacle.
+     */
+    @Override
+    public Vector2 getCollisionPoint() {
+        return collisionPoint;
+    }
+
+    /**
+     * @return An empty area, as the objects only touch.
+     */
+    @Override
+    public Vector2 getPenetrationArea() {
+        return Vector2.ZERO;
+    }
+
+    /**
+     * @return The velocity of the moving object relative to the obstacle.
+     */
+    @Override
+    public Vector2 getRelativeVelocity() {
+        return relativeVelocity;
+    }
+
+    /**
+     * Does nothing, as a swept contact only lasts for the moment it is dispatched.
+     */
+    @Override
+    public void onFrameStart() {
+    }
+}
@@ -0,0 +1,184 @@
+package bricker.control;
+
+import bricker.collisions.CollisionMatrix;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.Puck;
+import bricker.main.BrickerGameManager;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The AutopilotPaddleController class plays a paddle unattended, e.g. for soak and batch runs. Every frame
+ * it finds the ball or puck that will reach the paddle's line first, from above or from below, predicts
+ * where it will cross the line, folding its straight path back and forth between the side walls, and
+ * steers the paddle there, unless playing a puck first would leave the ball out of reach. The prediction
+ * is closed-form, so a frame costs one pass over the moving objects and does not allocate. Bounces off
+ * bricks on the way are not foreseen, and are picked up by the next frame's prediction.
+ * The skill sets how well the autopilot plays: at 1 it aims at the predicted crossing straight away, and
+ * lower skills react later to each new approach and aim further off, by an error drawn from the
+ * controller's own generator so the game's random sequence is left untouched.
+ */
+public class AutopilotPaddleController implements PaddleController {
+
+    /**
+     * The aim error of the least skilled autopilot, in paddle widths either way.
+     */
+    private static final float MAX_AIM_ERROR = 1f;
+
+    /**
+     * The reaction time of the least skilled autopilot to a new approach, in seconds.
+     */
+    private static final float MAX_REACTION_SECONDS = 0.25f;
+
+    /**
+     * How close to its goal the paddle's center must be to stop, in paddle widths. Without it the paddle
+     * would jitter around the goal, overshooting it by a step every frame.
+     */
+    private static final float AIM_TOLERANCE = 0.1f;
+
+    private static final float HALF = 0.5f;
+
+    private final List<GameObject> movingObjects;
+    private final float windowWidth;
+    private final float skill;
+    private final Random random;
+    private GameObject target;
+    private float aimError;
+    private float reactionLeft;
+
+    /**
+     * Constructs a new AutopilotPaddleController.
+     *
+     * @param movingObjects    The game's moving objects, among which the balls and pucks are tracked.
+     * @param windowDimensions The dimensions of the game window.
+     * @param skill            The skill, from 0 for the weakest player to 1 for a perfect one.
+     * @param random           The generator of the reaction times and aim errors.
+     */
+    public AutopilotPaddleController(List<GameObject> movingObjects, Vector2 windowDimensions, float skill,
+                                     Random random) {
+        this.movingObjects = movingObjects;
+        this.windowWidth = windowDimensions.x();
+        this.skill = Math.max(0, Math.min(1, skill));
+        this.random = random;
+    }
+
+    /**
+     * Steers the paddle toward where the first ball or puck to arrive will cross its line, or toward the
+     * middle of the window while none is on its way.
+     *
+     * @param paddle    The paddle being steered.
+     * @param deltaTime The time elapsed since the last frame, in seconds.
+     * @return LEFT or RIGHT toward the goal, or 0 once the paddle is over it or while reacting.
+     */
+    @Override
+    public int steer(Paddle paddle, float deltaTime) {
+        Vector2 paddleTopLeft = paddle.getTopLeftCorner();
+        Vector2 paddleDimensions = paddle.getDimensions();
+        float paddleTop = paddleTopLeft.y();
+        float paddleBottom = paddleTop + paddleDimensions.y();
+
+        // The first ball and the first puck to arrive, and where they cross the paddle's line
+        GameObject ball = null;
+        float ballTime = Float.POSITIVE_INFINITY;
+        float ballX = 0;
+        GameObject puck = null;
+        float puckTime = Float.POSITIVE_INFINITY;
+        float puckX = 0;
+        for (int i = 0; i < movingObjects.size(); i++) {
+            GameObject gameObject = movingObjects.get(i);
+            int type = CollisionMatrix.typeOf(gameObject);
+            if (type != Ball.TYPE_ID && type != Puck.TYPE_ID) {
+                continue;
+            }
+            Vector2 topLeft = gameObject.getTopLeftCorner();
+            Vector2 dimensions = gameObject.getDimensions();
+            Vector2 velocity = gameObject.getVelocity();
+            float time;
+            if (velocity.y() > 0 && topLeft.y() + dimensions.y() <= paddleTop) {
+                time = (paddleTop - topLeft.y() - dimensions.y()) / velocity.y();
+            } else if (velocity.y() < 0 && topLeft.y() >= paddleBottom) {
+                time = (paddleBottom - topLeft.y()) / velocity.y();
+            } else {
+                continue;
+            }
+            float halfWidth = dimensions.x() * HALF;
+            if (type == Ball.TYPE_ID && time < ballTime) {
+                ball = gameObject;
+                ballTime = time;
+                ballX = reflect(topLeft.x() + halfWidth + velocity.x() * time, halfWidth);
+            } else if (type == Puck.TYPE_ID && time < puckTime) {
+                puck = gameObject;
+                puckTime = time;
+                puckX = reflect(topLeft.x() + halfWidth + velocity.x() * time, halfWidth);
+            }
+        }
+
+        // A lost puck costs nothing while a lost ball costs a life, so a puck arriving first is only
+        // played if the paddle can still get from it to the ball in time
+        GameObject nearest = ball;
+        float crossingX = ballX;
+        if (puck != null && (ball == null || (puckTime < ballTime
+                && Math.abs(ballX - puckX) <= paddle.getMovementSpeed() * (ballTime - puckTime)))) {
+            nearest = puck;
+            crossingX = puckX;
+        }
+
+        if (nearest != target) {
+            // A new approach: draw how late and how far off this one is played
+            target = nearest;
+            float weakness = 1 - skill;
+            aimError = weakness * MAX_AIM_ERROR * paddleDimensions.x() * (2 * random.nextFloat() - 1);
+            reactionLeft = weakness * MAX_REACTION_SECONDS * random.nextFloat();
+        }
+        float goalX;
+        if (target == null) {
+            goalX = windowWidth * HALF;
+        } else if (reactionLeft > 0) {
+            reactionLeft -= deltaTime;
+            return 0;
+        } else {
+            goalX = crossingX + aimError;
+        }
+
+        float centerX = paddleTopLeft.x() + paddleDimensions.x() * HALF;
+        float tolerance = AIM_TOLERANCE * paddleDimensions.x();
+        if (goalX < centerX - tolerance) {
+            return LEFT;
+        }
+        if (goalX > centerX + tolerance) {
+            return RIGHT;
+        }
+        return 0;
+    }
+
+    /**
+     * Folds the x an object's center would reach on a straight path into the play area, as the object
+     * bounces off the side walls: its path is a triangle wave between the two walls.
+     */
+    private float reflect(float x, float halfWidth) {
+        float left = BrickerGameManager.WALL_THICKNESS + halfWidth;
+        float span = windowWidth - BrickerGameManager.WALL_THICKNESS - halfWidth - left;
+        if (span <= 0) {
+            return x;
+        }
+        float period = 2 * span;
+        float offset = (x - left) % period;
+        if (offset < 0) {
+            offset += period;
+        }
+        return left + (offset > span ? period - offset : offset);
+    }
+
+    /**
+     * Returns the skill of the autopilot.
+     *
+     * @return The skill, from 0 to 1.
+     */
+    public float getSkill() {
+        return skill;
+    }
+}
@@ -0,0 +1,44 @@
+package bricker.control;
+
+import bricker.gameobjects.Paddle;
+import danogl.gui.UserInputListener;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * The KeyboardPaddleController class steers a paddle by the arrow keys: the left arrow steers it to the
+ * left and the right arrow to the right. Holding both steers both ways, which the paddle resolves into
+ * standing still.
+ */
+public class KeyboardPaddleController implements PaddleController {
+
+    private final UserInputListener inputListener;
+
+    /**
+     * Constructs a new KeyboardPaddleController.
+     *
+     * @param inputListener The input listener reporting the keys held down.
+     */
+    public KeyboardPaddleController(UserInputListener inputListener) {
+        this.inputListener = inputListener;
+    }
+
+    /**
+     * Steers the paddle by the arrow keys held down.
+     *
+     * @param paddle    The paddle being steered (ignored).
+     * @param deltaTime The time elapsed since the last frame (ignored).
+     * @return LEFT and RIGHT for the arrow keys held down.
+     */
+    @Override
+    public int steer(Paddle paddle, float deltaTime) {
+        int steering = 0;
+        if (inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
+            steering |= LEFT;
+        }
+        if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
+            steering |= RIGHT;
+        }
+        return steering;
+    }
+}
@@ -0,0 +1,31 @@
+package bricker.control;
+
+import bricker.gameobjects.Paddle;
+
+/**
+ * The PaddleController interface decides, every frame, which way a paddle is steered: by the player's
+ * keys, by an autopilot or by anything else. The paddle itself keeps its speed and its bounds, so a
+ * controller only answers with the directions it steers in, like the arrow keys held down.
+ */
+public interface PaddleController {
+
+    /**
+     * The bit steering the paddle to the left.
+     */
+    int LEFT = 1;
+
+    /**
+     * The bit steering the paddle to the right.
+     */
+    int RIGHT = 2;
+
+    /**
+     * Decides which way a paddle is steered in this frame. Called every frame for every paddle, so it
+     * must not allocate.
+     *
+     * @param paddle    The paddle being steered.
+     * @param deltaTime The time elapsed since the last frame, in seconds.
+     * @return The directions the paddle is steered in: a combination of LEFT and RIGHT, or 0 to stop.
+     */
+    int steer(Paddle paddle, float deltaTime);
+}
@@ -0,0 +1,178 @@
+package bricker.effects;
+
+import bricker.collisions.CollisionMatrix;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Heart;
+import bricker.gameobjects.Puck;
+import bricker.levels.BrickStreamer;
+import bricker.main.BrickerGameManager;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.Random;
+
+/**
+ * The EffectApplier class applies the side effects of a frame's collisions on behalf of the game
+ * manager. Collision callbacks queue their effects in its buffer, and the manager has them applied in
+ * one batch once the engine is done resolving the step's collisions: bricks break, pucks and hearts
+ * are spawned from the pools, the second paddle is added or removed, lives are collected and the
+ * camera starts following the ball. The manager stays in charge of the objects it owns, e.g. the
+ * paddles and the lives, and the applier calls it for those.
+ */
+public class EffectApplier {
+
+    private static final int PUCKS_TO_SPAWN = 2;
+    private static final int PUCK_SPEED = 200; // As fast as the ball starts
+    private static final int MAX_CAMERA_COLLISION = 5; // Hits to follow the ball including initial hit
+    private static final float CENTER_RATIO = 0.5f;
+
+    private final BrickerGameManager brickerGameManager;
+    private final EffectBuffer effectBuffer;
+    private int cameraStopCounter;
+
+    /**
+     * Constructs a new EffectApplier with an empty buffer.
+     *
+     * @param brickerGameManager The game manager the effects are applied to.
+     * @param capacity           The number of effects the buffer holds before growing.
+     * @param maxSpawnsPerFrame  The number of spawn effects kept per frame before dropping them.
+     */
+    public EffectApplier(BrickerGameManager brickerGameManager, int capacity, int maxSpawnsPerFrame) {
+        this.brickerGameManager = brickerGameManager;
+        this.effectBuffer = new EffectBuffer(capacity, maxSpawnsPerFrame);
+    }
+
+    /**
+     * Queues a side effect of a collision, to be applied with the rest of the frame's effects.
+     *
+     * @param type   The type of the effect.
+     * @param target The object the effect applies to.
+     * @return True if the effect was queued, false if it was dropped by the frame's spawn cap.
+     */
+    public boolean queue(EffectType type, GameObject target) {
+        return effectBuffer.add(type, target);
+    }
+
+    /**
+     * Applies the queued effects in the order they were queued, records them in the frame statistics
+     * and empties the buffer.
+     */
+    public void apply() {
+        for (int i = 0; i < effectBuffer.size(); i++) {
+            GameObject target = effectBuffer.getTarget(i);
+            switch (effectBuffer.getType(i)) {
+                case BREAK_BRICK:
+                    if (brickerGameManager.removeStaticObject(target)) {
+                        brickerGameManager.decrementBricksCounter();
+                        BrickStreamer brickStreamer = brickerGameManager.getBrickStreamer();
+                        if (brickStreamer != null) {
+                            brickStreamer.onBrickBroken(target);
+                        }
+                    }
+                    break;
+                case SPAWN_PUCKS:
+                    spawnPucks(target);
+                    break;
+                case SPAWN_SECOND_PADDLE:
+                    brickerGameManager.spawnSecondPaddle();
+                    break;
+                case ACTIVATE_CAMERA:
+                    activateCollisionCamera(target);
+                    break;
+                case SPAWN_HEART:
+                    spawnHeart(target);
+                    break;
+                case COLLECT_HEART:
+                    // A heart caught by both paddles in the same frame only adds one life
+                    if (brickerGameManager.removeDefaultObject(target)) {
+                        brickerGameManager.incrementLife();
+                    }
+                    break;
+                case REMOVE_SECOND_PADDLE:
+                    if (brickerGameManager.removeDefaultObject(target)) {
+                        brickerGameManager.decrementPaddlesCounter();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        brickerGameManager.getFrameStats().recordEffects(effectBuffer.size(), effectBuffer.getDropped());
+        effectBuffer.clear();
+    }
+
+    /**
+     * Drops the queued effects without applying them, e.g. when the game is reset.
+     */
+    public void clear() {
+        effectBuffer.clear();
+    }
+
+    /**
+     * Returns the collision count of the ball at which the collision camera stops following it.
+     *
+     * @return The ball's collision count ending the camera.
+     */
+    public int getCameraStopCounter() {
+        return cameraStopCounter;
+    }
+
+    /**
+     * Sets the collision count of the ball at which the collision camera stops following it, e.g. when
+     * a snapshot is restored.
+     *
+     * @param cameraStopCounter The ball's collision count ending the camera.
+     */
+    public void setCameraStopCounter(int cameraStopCounter) {
+        this.cameraStopCounter = cameraStopCounter;
+    }
+
+    /**
+     * Spawns pucks from the pool at the center of the collider, with random upward velocities.
+     */
+    private void spawnPucks(GameObject collider) {
+        Random rand = brickerGameManager.getRandom();
+        for (int i = 0; i < PUCKS_TO_SPAWN; i++) {
+            double angle = rand.nextDouble() * Math.PI;
+            float velocityX = (float) Math.cos(angle) * PUCK_SPEED;
+            float velocityY = (float) Math.sin(angle) * PUCK_SPEED;
+            Puck puck = brickerGameManager.acquirePuck();
+            puck.transform().setVelocity(velocityX, velocityY);
+            centerOn(puck, collider);
+            brickerGameManager.addMovingObject(puck);
+        }
+        brickerGameManager.getFrameStats().recordPucksSpawned(PUCKS_TO_SPAWN);
+    }
+
+    /**
+     * Sets the camera to follow the ball for a few collisions, unless a camera is already set. Only hits
+     * by the ball itself start the camera.
+     */
+    private void activateCollisionCamera(GameObject target) {
+        if (CollisionMatrix.typeOf(target) == Ball.TYPE_ID && brickerGameManager.camera() == null) {
+            brickerGameManager.followWithCamera(target);
+            // Set the maximum duration for camera movement
+            cameraStopCounter = ((Ball) target).getCollisionCounter() + MAX_CAMERA_COLLISION;
+        }
+    }
+
+    /**
+     * Spawns a falling heart from the pool at the center of the collider.
+     */
+    private void spawnHeart(GameObject collider) {
+        Heart heart = brickerGameManager.getHeartPool().acquire();
+        centerOn(heart, collider);
+        brickerGameManager.addMovingObject(heart);
+        brickerGameManager.getFrameStats().recordHeartSpawned();
+    }
+
+    /**
+     * Centers a spawned object on the object it was spawned from.
+     */
+    private static void centerOn(GameObject gameObject, GameObject collider) {
+        Vector2 colliderTopLeft = collider.getTopLeftCorner();
+        Vector2 colliderDimensions = collider.getDimensions();
+        gameObject.transform().setCenter(colliderTopLeft.x() + colliderDimensions.x() * CENTER_RATIO,
+                colliderTopLeft.y() + colliderDimensions.y() * CENTER_RATIO);
+    }
+}
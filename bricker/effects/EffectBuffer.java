@@ -0,0 +1,99 @@
+package bricker.effects;
+
+import danogl.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * The EffectBuffer class queues the side effects of a frame's collisions so they are applied in one
+ * batch once the engine is done resolving collisions, instead of mutating the game from inside its
+ * collision callbacks. Effects are kept in preallocated parallel arrays that are reused every frame.
+ * Spawn effects beyond the per-frame cap are dropped and counted; other effects are always kept,
+ * growing the buffer if a frame ever needs more room.
+ */
+public class EffectBuffer {
+
+    private EffectType[] types;
+    private GameObject[] targets;
+    private final int maxSpawnsPerFrame;
+    private int size;
+    private int spawns;
+    private int dropped;
+
+    /**
+     * Constructs a new, empty EffectBuffer.
+     *
+     * @param capacity          The number of effects the buffer holds before growing.
+     * @param maxSpawnsPerFrame The number of spawn effects kept per frame before dropping them.
+     */
+    public EffectBuffer(int capacity, int maxSpawnsPerFrame) {
+        this.types = new EffectType[capacity];
+        this.targets = new GameObject[capacity];
+        this.maxSpawnsPerFrame = maxSpawnsPerFrame;
+    }
+
+    /**
+     * Queues an effect.
+     *
+     * @param type   The type of the effect.
+     * @param target The object the effect applies to, e.g. the brick that was hit.
+     * @return True if the effect was queued, false if it was dropped by the spawn cap.
+     */
+    public boolean add(EffectType type, GameObject target) {
+        if (type.isSpawn()) {
+            if (spawns == maxSpawnsPerFrame) {
+                dropped++;
+                return false;
+            }
+            spawns++;
+        }
+        if (size == types.length) {
+            types = Arrays.copyOf(types, size * 2);
+            targets = Arrays.copyOf(targets, size * 2);
+        }
+        types[size] = type;
+        targets[size] = target;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return The number of queued effects.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The index of a queued effect.
+     * @return The type of the effect.
+     */
+    public EffectType getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * @param index The index of a queued effect.
+     * @return The object the effect applies to.
+     */
+    public GameObject getTarget(int index) {
+        return targets[index];
+    }
+
+    /**
+     * @return The number of spawn effects dropped since the buffer was last cleared.
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Empties the buffer for the next frame, releasing its references to game objects.
+     */
+    public void clear() {
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+        spawns = 0;
+        dropped = 0;
+    }
+}
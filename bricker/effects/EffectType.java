@@ -0,0 +1,36 @@
+package bricker.effects;
+
+/**
+ * The EffectType enum lists the side effects that collision callbacks queue for the end of the frame.
+ * Spawn effects may be dropped when a frame exceeds its spawn cap; the other effects keep the game's
+ * counters and state consistent and are always applied.
+ */
+public enum EffectType {
+    /** Removes a broken brick and decrements the brick counter. */
+    BREAK_BRICK(false),
+    /** Spawns pucks at a brick. */
+    SPAWN_PUCKS(true),
+    /** Adds a second paddle to the game. */
+    SPAWN_SECOND_PADDLE(true),
+    /** Makes the camera follow a ball. Spawns nothing, and its brick has already been charged for it. */
+    ACTIVATE_CAMERA(false),
+    /** Drops a heart from a brick. */
+    SPAWN_HEART(true),
+    /** Removes a caught heart and adds a life. */
+    COLLECT_HEART(false),
+    /** Removes a worn out second paddle and decrements the paddle counter. */
+    REMOVE_SECOND_PADDLE(false);
+
+    private final boolean spawn;
+
+    EffectType(boolean spawn) {
+        this.spawn = spawn;
+    }
+
+    /**
+     * @return True if the effect spawns objects and counts towards the spawn cap of a frame.
+     */
+    public boolean isSpawn() {
+        return spawn;
+    }
+}
@@ -0,0 +1,140 @@
+package bricker.gameobjects;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The AssetCache class keeps a single decoded instance of every image and sound used by the game,
+ * so building many objects of the same type reads each asset only once. Images are keyed by path and
+ * transparency mode, sounds by path; the cache is not content-addressed. The game's assets are fixed
+ * files under distinct paths that do not change while it runs, so a hit needs no disk access, whereas
+ * hashing the file bytes into the key would read the file on every request. Two paths holding the same
+ * bytes are decoded twice, and a file replaced on disk is not picked up by a cache that already read it.
+ * Decoded assets are immutable, so a cache may be shared by several games and threads.
+ */
+public class AssetCache {
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final ImageReader imageReader;
+    private final SoundReader soundReader;
+    private final Map<String, Renderable> opaqueImages;
+    private final Map<String, Renderable> transparentImages;
+    private final Map<String, Sound> sounds;
+    private final LongAdder requests;
+    private final LongAdder misses;
+    private final LongAdder bytesResident;
+    private volatile AssetPreloader assetPreloader;
+
+    /**
+     * Constructs a new, empty AssetCache.
+     *
+     * @param imageReader The image reader used to decode images on a cache miss.
+     * @param soundReader The sound reader used to decode sounds on a cache miss.
+     */
+    public AssetCache(ImageReader imageReader, SoundReader soundReader) {
+        this.imageReader = imageReader;
+        this.soundReader = soundReader;
+        this.opaqueImages = new ConcurrentHashMap<>();
+        this.transparentImages = new ConcurrentHashMap<>();
+        this.sounds = new ConcurrentHashMap<>();
+        this.requests = new LongAdder();
+        this.misses = new LongAdder();
+        this.bytesResident = new LongAdder();
+    }
+
+    /**
+     * Returns the image at the given path, decoding it on the first request.
+     *
+     * @param path                     The path of the image.
+     * @param useTopLeftPixelAsOpacity Whether the color of the top-left pixel is treated as transparent.
+     * @return The decoded image.
+     */
+    public Renderable readImage(String path, boolean useTopLeftPixelAsOpacity) {
+        requests.increment();
+        Map<String, Renderable> images = useTopLeftPixelAsOpacity ? transparentImages : opaqueImages;
+        Renderable image = images.get(path);
+        if (image != null) {
+            return image;
+        }
+        return images.computeIfAbsent(path, key -> {
+            misses.increment();
+            AssetPreloader preloader = assetPreloader;
+            ImageRenderable decoded = preloader == null ? null
+                    : preloader.awaitImage(key, useTopLeftPixelAsOpacity);
+            if (decoded == null) {
+                decoded = imageReader.readImage(key, useTopLeftPixelAsOpacity);
+            }
+            bytesResident.add((long) decoded.width() * decoded.height() * BYTES_PER_PIXEL);
+            return decoded;
+        });
+    }
+
+    /**
+     * Returns the sound at the given path, decoding it on the first request.
+     *
+     * @param path The path of the sound.
+     * @return The decoded sound.
+     */
+    public Sound readSound(String path) {
+        requests.increment();
+        Sound sound = sounds.get(path);
+        if (sound != null) {
+            return sound;
+        }
+        return sounds.computeIfAbsent(path, key -> {
+            misses.increment();
+            // Clips keep the decoded samples, which are about as large as the file itself
+            bytesResident.add(new File(key).length());
+            AssetPreloader preloader = assetPreloader;
+            Sound decoded = preloader == null ? null : preloader.awaitSound(key);
+            return decoded != null ? decoded : soundReader.readSound(key);
+        });
+    }
+
+    /**
+     * Takes the assets decoded by a preloader: a miss waits for the preloader's decode of the asset, if
+     * it started one, instead of decoding the asset again.
+     *
+     * @param assetPreloader The preloader, or null to decode every miss on the calling thread.
+     */
+    public void setAssetPreloader(AssetPreloader assetPreloader) {
+        this.assetPreloader = assetPreloader;
+    }
+
+    /**
+     * Returns the number of requests served from the cache.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHits() {
+        // Counting misses only where an asset is decoded keeps racing first requests exact
+        return requests.sum() - misses.sum();
+    }
+
+    /**
+     * Returns the number of requests that had to decode an asset.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the approximate memory held by the decoded assets.
+     *
+     * @return The number of bytes resident in the cache.
+     */
+    public long getBytesResident() {
+        return bytesResident.sum();
+    }
+}
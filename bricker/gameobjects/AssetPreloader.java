@@ -0,0 +1,177 @@
+package bricker.gameobjects;
+
+import danogl.gui.ImageReader;
+import danogl.gui.MessageHandler;
+import danogl.gui.MsgLevel;
+import danogl.gui.OutputMode;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.ImageRenderable;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The AssetPreloader class decodes assets concurrently on a pool of worker threads, e.g. while the game
+ * window comes up, so an AssetCache only waits for the assets it needs that are not decoded yet. The
+ * library's readers keep unsynchronized caches, so every task decodes with readers of its own. A task
+ * that fails leaves its asset to the cache, which decodes it again on the game thread and reports the
+ * error there.
+ */
+public class AssetPreloader {
+
+    private static final String WORKER_THREAD_NAME = "bricker-assets-";
+
+    private final ExecutorService executor;
+    private final MessageHandler messages;
+    private final Map<String, CompletableFuture<ImageRenderable>> opaqueImages;
+    private final Map<String, CompletableFuture<ImageRenderable>> transparentImages;
+    private final Map<String, CompletableFuture<Sound>> sounds;
+    private final AtomicInteger pending;
+    private final AtomicLong lastDecodedNanos;
+    private final long startNanos;
+    private final int threads;
+
+    /**
+     * Constructs a new AssetPreloader with one worker per available processor.
+     */
+    public AssetPreloader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a new AssetPreloader.
+     *
+     * @param threads The number of worker threads.
+     */
+    public AssetPreloader(int threads) {
+        AtomicInteger workers = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread worker = new Thread(task, WORKER_THREAD_NAME + workers.incrementAndGet());
+            worker.setDaemon(true);
+            return worker;
+        });
+        // There is no window to show errors in yet, and the cache reports them again on the game thread
+        this.messages = new MessageHandler(null);
+        messages.setOutputModeOfMsgLevel(MsgLevel.ERROR, EnumSet.of(OutputMode.STANDARD_ERROR));
+        messages.setOutputModeOfMsgLevel(MsgLevel.CRITICAL, EnumSet.of(OutputMode.STANDARD_ERROR));
+        this.opaqueImages = new ConcurrentHashMap<>();
+        this.transparentImages = new ConcurrentHashMap<>();
+        this.sounds = new ConcurrentHashMap<>();
+        this.pending = new AtomicInteger();
+        this.lastDecodedNanos = new AtomicLong(-1);
+        this.startNanos = System.nanoTime();
+        this.threads = threads;
+    }
+
+    /**
+     * Starts decoding an image.
+     *
+     * @param path                     The path of the image.
+     * @param useTopLeftPixelAsOpacity Whether the color of the top-left pixel is treated as transparent.
+     */
+    public void preloadImage(String path, boolean useTopLeftPixelAsOpacity) {
+        Map<String, CompletableFuture<ImageRenderable>> images =
+                useTopLeftPixelAsOpacity ? transparentImages : opaqueImages;
+        images.computeIfAbsent(path, key -> submit(() ->
+                new ImageReader(messages).readImage(key, useTopLeftPixelAsOpacity)));
+    }
+
+    /**
+     * Starts decoding a sound.
+     *
+     * @param path The path of the sound.
+     */
+    public void preloadSound(String path) {
+        sounds.computeIfAbsent(path, key -> submit(() -> new SoundReader(messages).readSound(key)));
+    }
+
+    /**
+     * Runs a decode task on the worker pool, recording when the last task finishes.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> decode) {
+        pending.incrementAndGet();
+        return CompletableFuture.supplyAsync(decode, executor).whenComplete((asset, error) -> {
+            if (pending.decrementAndGet() == 0) {
+                lastDecodedNanos.set(System.nanoTime());
+            }
+        });
+    }
+
+    /**
+     * Waits for an image to be decoded.
+     *
+     * @param path                     The path of the image.
+     * @param useTopLeftPixelAsOpacity Whether the color of the top-left pixel is treated as transparent.
+     * @return The decoded image, or null if it was not preloaded or could not be decoded.
+     */
+    public ImageRenderable awaitImage(String path, boolean useTopLeftPixelAsOpacity) {
+        return await((useTopLeftPixelAsOpacity ? transparentImages : opaqueImages).get(path));
+    }
+
+    /**
+     * Waits for a sound to be decoded.
+     *
+     * @param path The path of the sound.
+     * @return The decoded sound, or null if it was not preloaded or could not be decoded.
+     */
+    public Sound awaitSound(String path) {
+        return await(sounds.get(path));
+    }
+
+    /**
+     * Waits for a decode task.
+     */
+    private static <T> T await(CompletableFuture<T> decoded) {
+        if (decoded == null) {
+            return null;
+        }
+        try {
+            return decoded.join();
+        } catch (RuntimeException e) {
+            // The cache decodes the asset again, and reports the error on the game thread
+            return null;
+        }
+    }
+
+    /**
+     * Lets the workers exit once the assets started so far are decoded.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns when the preloader started.
+     *
+     * @return The start time, in System.nanoTime units.
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Returns when the last asset started was decoded.
+     *
+     * @return The end time, in System.nanoTime units, or a negative value while assets are decoding.
+     */
+    public long getLastDecodedNanos() {
+        return pending.get() == 0 ? lastDecodedNanos.get() : -1;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return The number of threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+}
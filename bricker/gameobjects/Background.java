@@ -8,13 +8,18 @@ import danogl.util.Vector2;
  * The Background class represents a background object in the Bricker game.
  * It extends the GameObject class and serves as a static background in the game.
  */
-public class Background extends GameObject {
+public class Background extends GameObject implements TypedGameObject {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "Background";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 0;
+
     /**
      * Constructs a new Background object.
      *
@@ -28,4 +33,14 @@ public class Background extends GameObject {
         super(topLeftCorner, dimensions, renderable);
         setTag(TAG);
     }
+
+    /**
+     * Returns the type ID of backgrounds.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package bricker.gameobjects;
 
+import bricker.audio.SoundMixer;
+import bricker.collisions.SweptCollider;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
@@ -10,13 +12,18 @@ import danogl.gui.Sound;
  * The Ball class represents a ball object in the Bricker game. It extends the GameObject class and
  * adds functionality for handling collisions with sound effects and a counter.
  */
-public class Ball extends GameObject {
+public class Ball extends GameObject implements TypedGameObject {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "Ball";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 1;
+
     /**
      * The counter for the number of collisions.
      */
@@ -27,6 +34,16 @@ public class Ball extends GameObject {
      */
     private final Sound collisionSound;
 
+    /**
+     * The mixer playing the collision sound.
+     */
+    private final SoundMixer soundMixer;
+
+    /**
+     * The collider sweeping the ball along its path, or null to let the engine move it.
+     */
+    private SweptCollider sweptCollider;
+
     /**
      * Constructs a new Ball object.
      *
@@ -36,14 +53,43 @@ public class Ball extends GameObject {
      * @param renderable     The renderable representing the object. Can be null, in which case
      *                       the GameObject will not be rendered.
      * @param collisionSound The sound to play upon collision.
+     * @param soundMixer     The mixer playing the collision sound.
      */
-    public Ball(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound) {
+    public Ball(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound,
+                SoundMixer soundMixer) {
         super(topLeftCorner, dimensions, renderable);
         this.collisionSound = collisionSound;
+        this.soundMixer = soundMixer;
         this.collisionCounter = 0;
         setTag(TAG);
     }
 
+    /**
+     * Moves the ball for a step. With a swept collider set, the ball is swept along its path and
+     * bounces off every brick and wall it meets, however far it travels in one step.
+     *
+     * @param deltaTime The duration of the step, in seconds.
+     */
+    @Override
+    public void update(float deltaTime) {
+        if (sweptCollider == null) {
+            super.update(deltaTime);
+            return;
+        }
+        sweptCollider.move(this, deltaTime);
+        // The sweep already moved the ball, so the engine's own integration is given no time
+        super.update(0);
+    }
+
+    /**
+     * Sets the collider sweeping the ball along its path.
+     *
+     * @param sweptCollider The swept collider, or null to let the engine move the ball.
+     */
+    public void setSweptCollider(SweptCollider sweptCollider) {
+        this.sweptCollider = sweptCollider;
+    }
+
     /**
      * Called when a collision occurs with this ball object.
      *
@@ -53,13 +99,36 @@ public class Ball extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        // Change the velocity of the ball to reflect the collision
-        Vector2 newVal = getVelocity().flipped(collision.getNormal());
-        setVelocity(newVal);
+        Vector2 normal = collision.getNormal();
+        // Reflect the velocity about the collision normal in place, as Vector2.flipped does, if the
+        // ball moves against the normal
+        Vector2 velocity = getVelocity();
+        float magnitude = normal.magnitude();
+        float along = velocity.dot(normal) / magnitude;
+        if (along < 0) {
+            transform().setVelocity(velocity.x() - normal.x() * 2 * along / magnitude,
+                    velocity.y() - normal.y() * 2 * along / magnitude);
+        }
         // Increment the collision counter
         collisionCounter++;
-        // Play the collision sound
-        collisionSound.play();
+        // Play the collision sound, which the mixer may coalesce with the other bounces of the moment
+        soundMixer.play(collisionSound);
+    }
+
+    /**
+     * Restores the counter for the number of collisions, e.g. from a snapshot.
+     *
+     * @param collisionCounter The number of collisions.
+     */
+    public void setCollisionCounter(int collisionCounter) {
+        this.collisionCounter = collisionCounter;
+    }
+
+    /**
+     * Resets the counter for the number of collisions.
+     */
+    protected void resetCollisionCounter() {
+        collisionCounter = 0;
     }
 
     /**
@@ -70,4 +139,14 @@ public class Ball extends GameObject {
     public int getCollisionCounter() {
         return collisionCounter;
     }
+
+    /**
+     * Returns the type ID of balls.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
 }
\ No newline at end of file
@@ -2,24 +2,28 @@ package bricker.gameobjects;
 
 import bricker.brick_strategies.BasicCollisionStrategy;
 import bricker.brick_strategies.CollisionStrategy;
-import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
-import danogl.util.Counter;
 import danogl.util.Vector2;
 
 /**
  * The Brick class represents a brick object in the Bricker game. It extends the GameObject class and
  * adds functionality for handling collisions using different strategies.
+ * Strategies are shared between bricks, so all per-brick state is kept in the brick itself.
  */
-public class Brick extends GameObject {
+public class Brick extends GameObject implements TypedGameObject {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "Brick";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 2;
+
     /**
      * The maximum number of collisions allowed for the brick.
      */
@@ -28,15 +32,20 @@ public class Brick extends GameObject {
     /**
      * The collision strategy to use when the brick is hit.
      */
-    private final CollisionStrategy collisionStrategy;
+    private CollisionStrategy collisionStrategy;
 
     /**
-     * The counter for the collision strategies.
+     * The number of collision strategies applied by this brick.
      */
-    private final Counter collisionStrategiesCounter;
+    private int collisionStrategiesCounter;
 
     /**
-     * The basic collision strategy used as a fallback.
+     * The number of hits left before the brick breaks. Its removal is only applied at the end of the frame.
+     */
+    private int hitPoints;
+
+    /**
+     * The shared basic collision strategy, applied before the brick's own strategy.
      */
     private final BasicCollisionStrategy basicCollisionStrategy;
 
@@ -51,15 +60,32 @@ public class Brick extends GameObject {
      * @param topLeftCorner      The top-left corner position of the brick.
      * @param dimensions         The dimensions of the brick.
      * @param renderable         The renderable for the brick.
-     * @param collisionStrategy  The collision strategy to use when the brick is hit.
-     * @param brickerGameManager The game manager for the Bricker game.
+     * @param collisionStrategy      The collision strategy to use when the brick is hit.
+     * @param basicCollisionStrategy The shared basic collision strategy that breaks the brick.
      */
     public Brick(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                 CollisionStrategy collisionStrategy, BrickerGameManager brickerGameManager) {
+                 CollisionStrategy collisionStrategy, BasicCollisionStrategy basicCollisionStrategy) {
+        this(topLeftCorner, dimensions, renderable, collisionStrategy, basicCollisionStrategy, 1);
+    }
+
+    /**
+     * Constructs a new Brick object that takes several hits to break.
+     *
+     * @param topLeftCorner          The top-left corner position of the brick.
+     * @param dimensions             The dimensions of the brick.
+     * @param renderable             The renderable for the brick.
+     * @param collisionStrategy      The collision strategy to use when the brick breaks.
+     * @param basicCollisionStrategy The shared basic collision strategy that breaks the brick.
+     * @param hitPoints              The number of hits the brick takes to break.
+     */
+    public Brick(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
+                 CollisionStrategy collisionStrategy, BasicCollisionStrategy basicCollisionStrategy,
+                 int hitPoints) {
         super(topLeftCorner, dimensions, renderable);
+        this.hitPoints = hitPoints;
         this.collisionStrategy = collisionStrategy;
-        this.collisionStrategiesCounter = new Counter();
-        this.basicCollisionStrategy = new BasicCollisionStrategy(brickerGameManager);
+        this.collisionStrategiesCounter = 0;
+        this.basicCollisionStrategy = basicCollisionStrategy;
         this.width = dimensions.x();
         setTag(TAG);
     }
@@ -74,29 +100,86 @@ public class Brick extends GameObject {
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
 
-        // Apply the basic collision strategy
-        basicCollisionStrategy.onCollision(this, other);
-
-        // If the basic collision resulted in the removal of the brick, apply the custom collision strategy
-        if (basicCollisionStrategy.getCollision()) {
+        // Apply the basic collision strategy, and if it resulted in the removal of the brick,
+        // apply the custom collision strategy
+        if (basicCollisionStrategy.breakBrick(this)) {
             collisionStrategy.onCollision(this, other);
         }
     }
 
     /**
-     * Gets the counter for the collision strategies.
+     * Gets the number of collision strategies applied by this brick.
      *
-     * @return The counter for the collision strategies.
+     * @return The number of collision strategies applied.
      */
-    public Counter getCollisionStrategiesCounter() {
+    public int getCollisionStrategiesCount() {
         return collisionStrategiesCounter;
     }
 
+    /**
+     * Takes a hit point from the brick.
+     *
+     * @return True if this hit broke the brick, false if it still stands or was already broken.
+     */
+    public boolean takeHit() {
+        if (hitPoints == 0) {
+            return false;
+        }
+        hitPoints--;
+        return hitPoints == 0;
+    }
+
+    /**
+     * Gets the number of hits left before the brick breaks.
+     *
+     * @return The remaining hit points.
+     */
+    public int getHitPoints() {
+        return hitPoints;
+    }
+
+    /**
+     * Gets the collision strategy applied when the brick breaks.
+     *
+     * @return The brick's own collision strategy.
+     */
+    public CollisionStrategy getCollisionStrategy() {
+        return collisionStrategy;
+    }
+
+    /**
+     * Replaces the collision strategy applied when the brick breaks, e.g. when the brick is reused for a
+     * new game.
+     *
+     * @param collisionStrategy The brick's own collision strategy.
+     */
+    public void setCollisionStrategy(CollisionStrategy collisionStrategy) {
+        this.collisionStrategy = collisionStrategy;
+    }
+
+    /**
+     * Restores the number of hits left before the brick breaks, e.g. from a snapshot.
+     *
+     * @param hitPoints The remaining hit points.
+     */
+    public void setHitPoints(int hitPoints) {
+        this.hitPoints = hitPoints;
+    }
+
+    /**
+     * Restores the counter for the collision strategies, e.g. of a brick rebuilt from stored state.
+     *
+     * @param collisionStrategiesCount The number of collision strategies already applied.
+     */
+    public void setCollisionStrategiesCount(int collisionStrategiesCount) {
+        this.collisionStrategiesCounter = collisionStrategiesCount;
+    }
+
     /**
      * Increments the counter for the collision strategies.
      */
     public void incrementCollisionStrategiesCounter() {
-        collisionStrategiesCounter.increment();
+        collisionStrategiesCounter++;
     }
 
     /**
@@ -107,4 +190,14 @@ public class Brick extends GameObject {
     public float getWidth() {
         return width;
     }
+
+    /**
+     * Returns the type ID of bricks.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
 }
\ No newline at end of file
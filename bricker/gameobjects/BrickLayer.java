@@ -0,0 +1,56 @@
+package bricker.gameobjects;
+
+import bricker.rendering.StaticLayerCache;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * The BrickLayer class represents the pre-composited image of the brick wall in the Bricker game.
+ * It draws every brick inside the window with a single image, and never collides with anything.
+ */
+public class BrickLayer extends GameObject implements TypedGameObject {
+
+    /**
+     * The tag identifying this type of game object.
+     */
+    public static final String TAG = "BrickLayer";
+
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 3;
+
+    private final StaticLayerCache staticLayerCache;
+
+    /**
+     * Constructs a new BrickLayer object.
+     *
+     * @param topLeftCorner    The top-left corner of the cached area, in world coordinates.
+     * @param dimensions       The dimensions of the cached area.
+     * @param staticLayerCache The cache holding the composited bricks.
+     */
+    public BrickLayer(Vector2 topLeftCorner, Vector2 dimensions, StaticLayerCache staticLayerCache) {
+        super(topLeftCorner, dimensions, staticLayerCache);
+        this.staticLayerCache = staticLayerCache;
+        setTag(TAG);
+    }
+
+    /**
+     * Returns the cache holding the composited bricks.
+     *
+     * @return The static layer cache.
+     */
+    public StaticLayerCache getStaticLayerCache() {
+        return staticLayerCache;
+    }
+
+    /**
+     * Returns the type ID of brick layers.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+}
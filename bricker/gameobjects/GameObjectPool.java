@@ -0,0 +1,139 @@
+package bricker.gameobjects;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The GameObjectPool class keeps a bounded set of spawned game objects for reuse, so bursts of spawns
+ * do not allocate new objects. Objects are reset and settled when acquired, so a reused object moves
+ * exactly as a newly built one would. Released objects only become available
+ * after the current frame (see reclaim), since the game applies removals lazily at the next frame.
+ *
+ * @param <T> The type of the pooled game objects.
+ */
+public class GameObjectPool<T extends GameObject & Poolable> {
+
+    private final Supplier<T> factory;
+    private final int capacity;
+    private final List<T> available;
+    private final List<T> released;
+    private int misses;
+    private int dropped;
+
+    /**
+     * Constructs a new GameObjectPool and pre-warms it.
+     *
+     * @param factory  Creates a new object when the pool is empty.
+     * @param capacity The maximum number of objects kept by the pool.
+     * @param prewarm  The number of objects created up front.
+     */
+    public GameObjectPool(Supplier<T> factory, int capacity, int prewarm) {
+        this.factory = factory;
+        this.capacity = capacity;
+        this.available = new ArrayList<>(capacity);
+        this.released = new ArrayList<>(capacity);
+        for (int i = 0; i < Math.min(prewarm, capacity); i++) {
+            available.add(factory.get());
+        }
+    }
+
+    /**
+     * Returns a reset and settled object from the pool, or a new object if the pool is empty.
+     *
+     * @return An object ready to be added to the game.
+     */
+    public T acquire() {
+        if (available.isEmpty()) {
+            misses++;
+            return factory.get();
+        }
+        T gameObject = available.remove(available.size() - 1);
+        gameObject.setPooled(false);
+        gameObject.reset();
+        settle(gameObject);
+        return gameObject;
+    }
+
+    /**
+     * Returns an object that was removed from the game to the pool. Objects beyond the capacity
+     * of the pool, and objects already in the pool, are dropped.
+     *
+     * @param gameObject The removed object.
+     */
+    public void release(T gameObject) {
+        if (available.size() + released.size() >= capacity || gameObject.isPooled()) {
+            dropped++;
+            return;
+        }
+        gameObject.setPooled(true);
+        released.add(gameObject);
+    }
+
+    /**
+     * Makes the objects released during this frame available again. Must be called once per frame,
+     * after all of the frame's removals.
+     */
+    public void reclaim() {
+        // Runs every frame, and addAll would copy the released objects into a new array
+        for (int i = 0; i < released.size(); i++) {
+            available.add(released.get(i));
+        }
+        released.clear();
+    }
+
+    /**
+     * Makes a game object's next update move it as a newly built object's would. The engine moves an
+     * object by the velocity it had at its previous update, so an object built anew does not move at its
+     * first update, while a reused one carries the velocity of its last update into the next game.
+     *
+     * @param gameObject The object to settle.
+     */
+    public static void settle(GameObject gameObject) {
+        float velocityX = gameObject.getVelocity().x();
+        float velocityY = gameObject.getVelocity().y();
+        // Moves the object by nothing, and records no velocity for its next update
+        gameObject.transform().setVelocity(Vector2.ZERO);
+        gameObject.transform().update(0);
+        gameObject.transform().setVelocity(velocityX, velocityY);
+    }
+
+    /**
+     * Returns the number of objects ready to be acquired.
+     *
+     * @return The number of available objects.
+     */
+    public int getOccupancy() {
+        return available.size();
+    }
+
+    /**
+     * Returns the maximum number of objects kept by the pool.
+     *
+     * @return The capacity of the pool.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of acquisitions that found the pool empty and created a new object.
+     *
+     * @return The number of pool misses.
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of released objects that were not kept by the pool.
+     *
+     * @return The number of dropped objects.
+     */
+    public int getDropped() {
+        return dropped;
+    }
+}
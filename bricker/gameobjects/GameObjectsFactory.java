@@ -2,7 +2,12 @@ package bricker.gameobjects;
 
 import bricker.brick_strategies.CollisionStrategy;
 import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.brick_strategies.StrategyType;
+import bricker.control.AutopilotPaddleController;
+import bricker.control.KeyboardPaddleController;
+import bricker.control.PaddleController;
 import bricker.main.BrickerGameManager;
+import bricker.rendering.StaticLayerCache;
 import danogl.GameObject;
 import danogl.gui.*;
 import danogl.gui.rendering.RectangleRenderable;
@@ -10,6 +15,7 @@ import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
 import java.awt.*;
+import java.util.Random;
 
 /**
  * The GameObjectsFactory class is responsible for creating various game objects in the Bricker game.
@@ -29,80 +35,125 @@ public class GameObjectsFactory {
     private static final String BALL_IMG_PATH = "assets/ball.png";
     private static final String BRICK_IMG_PATH = "assets/brick.png";
     private static final String PADDLE_IMG_PATH = "assets/paddle.png";
+    private static final String GOOD_BOT_IMG_PATH = "assets/botGood.png";
+    private static final String BAD_BOT_IMG_PATH = "assets/botBad.png";
+    private static final float GOOD_BOT_SKILL = 0.5f; // The lowest autopilot skill shown as a good bot
     private static final String PUCK_IMG_PATH = "assets/mockBall.png";
     /**
      * The path to the heart image used for displaying lives in the game.
      */
     public static final String HEART_IMG_PATH = "assets/heart.png";
+    // Every asset the game objects use, by how it is decoded
+    private static final String[] OPAQUE_IMAGE_PATHS = {BG_IMG_PATH, BRICK_IMG_PATH, PADDLE_IMG_PATH,
+            GOOD_BOT_IMG_PATH, BAD_BOT_IMG_PATH};
+    private static final String[] TRANSPARENT_IMAGE_PATHS = {BALL_IMG_PATH, HEART_IMG_PATH, PUCK_IMG_PATH};
+    private static final String[] SOUND_PATHS = {BALL_SOUND_PATH};
 
     private final BrickerGameManager brickerGameManager;
-    private final ImageReader imageReader;
-    private final SoundReader soundReader;
+    private final AssetCache assetCache;
+    private final CollisionStrategyFactory collisionStrategyFactory;
     private final Vector2 windowDimensions;
     private final UserInputListener inputListener;
+    private int autopilotsBuilt;
 
     /**
      * Constructs a new GameObjectsFactory.
      *
      * @param brickerGameManager The game manager responsible for handling the game state and logic.
-     * @param imageReader        The image reader used for loading images from files.
-     * @param soundReader        The sound reader used for loading and playing sound effects.
+     * @param assetCache         The cache providing the images and sounds of the game objects.
      * @param inputListener      The input listener that captures user input.
      */
-    public GameObjectsFactory(BrickerGameManager brickerGameManager, ImageReader imageReader,
-                              SoundReader soundReader, UserInputListener inputListener) {
+    public GameObjectsFactory(BrickerGameManager brickerGameManager, AssetCache assetCache,
+                              UserInputListener inputListener) {
         this.brickerGameManager = brickerGameManager;
-        this.imageReader = imageReader;
-        this.soundReader = soundReader;
+        this.assetCache = assetCache;
+        this.collisionStrategyFactory = new CollisionStrategyFactory(brickerGameManager,
+                brickerGameManager.getRandom(), brickerGameManager.getStrategyWeights());
         this.windowDimensions = brickerGameManager.getWindowDimensions();
         this.inputListener = inputListener;
     }
 
+    /**
+     * Reads every asset used by the game objects into the cache, so that objects built later,
+     * including mid-game spawns, never read from disk.
+     */
+    public void preloadAssets() {
+        for (String path : OPAQUE_IMAGE_PATHS) {
+            assetCache.readImage(path, false);
+        }
+        for (String path : TRANSPARENT_IMAGE_PATHS) {
+            assetCache.readImage(path, true);
+        }
+        for (String path : SOUND_PATHS) {
+            assetCache.readSound(path);
+        }
+    }
+
+    /**
+     * Starts decoding every asset used by the game objects on a preloader's workers, e.g. before the
+     * window and the factory exist.
+     *
+     * @param assetPreloader The preloader decoding the assets.
+     */
+    public static void preloadAssets(AssetPreloader assetPreloader) {
+        for (String path : OPAQUE_IMAGE_PATHS) {
+            assetPreloader.preloadImage(path, false);
+        }
+        for (String path : TRANSPARENT_IMAGE_PATHS) {
+            assetPreloader.preloadImage(path, true);
+        }
+        for (String path : SOUND_PATHS) {
+            assetPreloader.preloadSound(path);
+        }
+    }
+
     /**
      * Builds a game object based on its tag.
      *
      * @param tag The tag identifying the type of game object to build.
      *            Possible tags include: "Background", "Ball", "Brick", "Heart",
-     *            "Paddle", "Puck", and "SecondPaddle".
+     *            "Paddle", "Puck", "SecondPaddle" and "BrickLayer".
      * @return The constructed game object. Returns a specific type of game object
      *         based on the provided tag. If the tag is not recognized, it returns null.
      */
     public GameObject buildObject(String tag) {
         switch (tag) {
             case Background.TAG:
-                Renderable bgImg = imageReader.readImage(BG_IMG_PATH, false);
+                Renderable bgImg = assetCache.readImage(BG_IMG_PATH, false);
                 return new Background(Vector2.ZERO, windowDimensions, bgImg);
             case Ball.TAG:
-                Sound ballCollisionSound = soundReader.readSound(BALL_SOUND_PATH);
-                Renderable ballImage = imageReader.readImage(BALL_IMG_PATH, true);
+                Sound ballCollisionSound = assetCache.readSound(BALL_SOUND_PATH);
+                Renderable ballImage = assetCache.readImage(BALL_IMG_PATH, true);
                 return new Ball(Vector2.ZERO, new Vector2(BALL_WIDTH, BALL_HEIGHT),
-                        ballImage, ballCollisionSound);
+                        ballImage, ballCollisionSound, brickerGameManager.getSoundMixer());
             case Brick.TAG:
                 return createBrick();
             case Heart.TAG:
-                Renderable heartImage = imageReader.readImage(HEART_IMG_PATH, true);
+                Renderable heartImage = assetCache.readImage(HEART_IMG_PATH, true);
                 return new Heart(Vector2.ZERO, new Vector2(BrickerGameManager.UI_ICON_SIZE,
                         BrickerGameManager.UI_ICON_SIZE), heartImage, brickerGameManager);
             case Paddle.TAG:
-                Renderable paddleImage = imageReader.readImage(PADDLE_IMG_PATH, false);
-                return new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT), paddleImage,
-                        inputListener, windowDimensions);
+                return new Paddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT), readPaddleImage(),
+                        buildPaddleController(), windowDimensions);
             case Puck.TAG:
-                Sound puckCollisionSound = soundReader.readSound(BALL_SOUND_PATH);
-                Renderable puckImage = imageReader.readImage(PUCK_IMG_PATH, true);
+                Sound puckCollisionSound = assetCache.readSound(BALL_SOUND_PATH);
+                Renderable puckImage = assetCache.readImage(PUCK_IMG_PATH, true);
                 return new Puck(Vector2.ZERO, new Vector2(BALL_HEIGHT * PUCK_FACTOR,
-                        BALL_WIDTH * PUCK_FACTOR), puckImage, puckCollisionSound);
+                        BALL_WIDTH * PUCK_FACTOR), puckImage, puckCollisionSound,
+                        brickerGameManager.getSoundMixer());
             case SecondPaddle.TAG:
-                Renderable secondPaddleImg = imageReader.readImage(PADDLE_IMG_PATH, false);
                 return new SecondPaddle(Vector2.ZERO, new Vector2(PADDLE_WIDTH, PADDLE_HEIGHT),
-                        secondPaddleImg, inputListener, windowDimensions, brickerGameManager);
+                        readPaddleImage(), buildPaddleController(), windowDimensions, brickerGameManager);
             case Wall.TAG:
                 return new Wall(Vector2.ZERO, new Vector2(windowDimensions.x(),
                         BrickerGameManager.WALL_THICKNESS),
                         new RectangleRenderable(Color.BLACK));
             case HeartUI.TAG:
                 return new HeartUI(Vector2.ZERO, new Vector2(BrickerGameManager.UI_ICON_SIZE,
-                        BrickerGameManager.UI_ICON_SIZE), imageReader.readImage(HEART_IMG_PATH, true));
+                        BrickerGameManager.UI_ICON_SIZE), assetCache.readImage(HEART_IMG_PATH, true));
+            case BrickLayer.TAG:
+                return new BrickLayer(Vector2.ZERO, windowDimensions,
+                        new StaticLayerCache(Vector2.ZERO, windowDimensions));
             case TextUI.TAG:
                 return new TextUI(Vector2.ZERO, new Vector2(BrickerGameManager.UI_ICON_SIZE,
                         BrickerGameManager.UI_ICON_SIZE), brickerGameManager.getLivesTextDisplay());
@@ -114,21 +165,104 @@ public class GameObjectsFactory {
     /**
      * Creates a brick object with a specific collision strategy.
      * This method is separated to encapsulate the logic for brick creation,
-     * which involves reading images and setting up collision strategies.
+     * which involves reading images and picking one of the shared collision strategies.
      *
      * @return A new Brick object initialized with default dimensions and collision strategy.
      */
     private GameObject createBrick() {
-        Renderable brickImage = imageReader.readImage(BRICK_IMG_PATH, false);
-        CollisionStrategyFactory collisionStrategyFactory = new CollisionStrategyFactory();
-        CollisionStrategy collisionStrategy =
-                collisionStrategyFactory.getCollisionStrategy(brickerGameManager);
+        Renderable brickImage = assetCache.readImage(BRICK_IMG_PATH, false);
+        CollisionStrategy collisionStrategy = buildCollisionStrategy(null);
         float brickWidth = calculateBrickWidth();
 
         return new Brick(Vector2.ZERO, new Vector2(brickWidth, BrickerGameManager.BRICK_HEIGHT),
-                brickImage, collisionStrategy, brickerGameManager);
+                brickImage, collisionStrategy, collisionStrategyFactory.getBasicStrategy());
+    }
+
+    /**
+     * Reads the image of a paddle: the plain paddle when the player steers it, and a good or bad bot by
+     * the autopilot's skill otherwise.
+     *
+     * @return The paddle image.
+     */
+    private Renderable readPaddleImage() {
+        float autopilotSkill = brickerGameManager.getAutopilotSkill();
+        if (autopilotSkill < 0) {
+            return assetCache.readImage(PADDLE_IMG_PATH, false);
+        }
+        return assetCache.readImage(autopilotSkill >= GOOD_BOT_SKILL ? GOOD_BOT_IMG_PATH : BAD_BOT_IMG_PATH,
+                false);
+    }
+
+    /**
+     * Builds the controller of a paddle: the arrow keys, or an autopilot if the game has one. Every
+     * autopilot draws its errors from a generator of its own, seeded from the game's seed, so games with
+     * the same seed are played the same way.
+     *
+     * @return The paddle controller.
+     */
+    private PaddleController buildPaddleController() {
+        float autopilotSkill = brickerGameManager.getAutopilotSkill();
+        if (autopilotSkill < 0) {
+            return new KeyboardPaddleController(inputListener);
+        }
+        return new AutopilotPaddleController(brickerGameManager.getMovingObjects(), windowDimensions,
+                autopilotSkill, new Random(brickerGameManager.getSeed() + autopilotsBuilt++));
+    }
+
+
+    /**
+     * Builds a brick with a given collision strategy and number of hit points, e.g. from a level file.
+     *
+     * @param strategyType The type of the brick's collision strategy, or null for a random one.
+     * @param hitPoints    The number of hits the brick takes to break.
+     * @return A new Brick object initialized with default dimensions.
+     */
+    public Brick buildBrick(StrategyType strategyType, int hitPoints) {
+        return buildBrick(buildCollisionStrategy(strategyType), hitPoints);
+    }
+
+    /**
+     * Builds a collision strategy for a brick, drawing the same random numbers as building the brick
+     * would, e.g. to give an existing brick a new strategy when the game restarts.
+     *
+     * @param strategyType The type of the strategy, or null for a random one.
+     * @return The shared strategy of that type, or a newly resolved double strategy.
+     */
+    public CollisionStrategy buildCollisionStrategy(StrategyType strategyType) {
+        return strategyType == null ? collisionStrategyFactory.getCollisionStrategy()
+                : collisionStrategyFactory.getCollisionStrategy(strategyType);
+    }
+
+    /**
+     * Returns the factory of the collision strategies shared by the bricks of the game.
+     *
+     * @return The collision strategy factory.
+     */
+    public CollisionStrategyFactory getCollisionStrategyFactory() {
+        return collisionStrategyFactory;
     }
 
+    /**
+     * Builds a brick with an already resolved collision strategy, e.g. one kept from an evicted brick.
+     *
+     * @param collisionStrategy The brick's collision strategy.
+     * @param hitPoints         The number of hits the brick takes to break.
+     * @return A new Brick object initialized with default dimensions.
+     */
+    public Brick buildBrick(CollisionStrategy collisionStrategy, int hitPoints) {
+        Renderable brickImage = assetCache.readImage(BRICK_IMG_PATH, false);
+        return new Brick(Vector2.ZERO, new Vector2(calculateBrickWidth(), BrickerGameManager.BRICK_HEIGHT),
+                brickImage, collisionStrategy, collisionStrategyFactory.getBasicStrategy(), hitPoints);
+    }
+
+    /**
+     * Picks the type of a brick's collision strategy at random, without building it.
+     *
+     * @return The randomly selected strategy type.
+     */
+    public StrategyType pickStrategyType() {
+        return collisionStrategyFactory.pickStrategyType();
+    }
 
     /**
      * Calculates the width of each brick based on the number of bricks per row,
@@ -137,7 +271,7 @@ public class GameObjectsFactory {
      *
      * @return The calculated width of each brick.
      */
-    private float calculateBrickWidth() {
+    public float calculateBrickWidth() {
         int numOfBricksPerRow = brickerGameManager.numOfBricksPerRow();
         // Calculate the width of each brick based on the number of bricks per row,
         // the window dimensions, spacing between bricks and 2 wall thicknesses.
@@ -1,5 +1,7 @@
 package bricker.gameobjects;
 
+import bricker.collisions.CollisionMatrix;
+import bricker.effects.EffectType;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 import danogl.collisions.Collision;
@@ -9,23 +11,35 @@ import danogl.util.Vector2;
 /**
  * The Heart class represents a heart object in the Bricker game. It extends the GameObject class and
  * adds functionality for falling hearts that interact with the paddle to add lives to the player.
+ * Hearts are recycled through a GameObjectPool.
  */
-public class Heart extends GameObject {
+public class Heart extends GameObject implements Poolable, TypedGameObject {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "Heart";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 4;
+
     /**
      * The speed at which the heart falls.
      */
     private static final int HEART_INITIAL_SPEED = 100;
 
+    /**
+     * The initial velocity of the heart, straight down.
+     */
+    private static final Vector2 HEART_INITIAL_VELOCITY = new Vector2(0, HEART_INITIAL_SPEED);
+
     /**
      * The game manager for the Bricker game.
      */
     private final BrickerGameManager brickerGameManager;
+    private boolean pooled;
 
     /**
      * Constructs a new Heart object.
@@ -40,18 +54,19 @@ public class Heart extends GameObject {
         super(topLeftCorner, dimensions, renderable); // Call the superclass constructor
         setTag(TAG); // Set the tag for this object
         this.brickerGameManager = brickerGameManager; // Initialize the game manager
-        setVelocity(new Vector2(0, HEART_INITIAL_SPEED)); // Set the initial velocity of the heart
+        setVelocity(HEART_INITIAL_VELOCITY); // Set the initial velocity of the heart
     }
 
     /**
      * Determines if this object should collide with another game object.
      *
      * @param other The other game object.
-     * @return True if the other game object is a paddle, false otherwise.
+     * @return True if the collision matrix lets hearts collide with the other object's type, i.e. if it
+     * is the main paddle, false otherwise.
      */
     @Override
     public boolean shouldCollideWith(GameObject other) {
-        return other.getTag().equals(Paddle.TAG); // Check if the other object is a paddle
+        return CollisionMatrix.canCollide(TYPE_ID, CollisionMatrix.typeOf(other));
     }
 
     /**
@@ -64,8 +79,45 @@ public class Heart extends GameObject {
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
 
-        // Add a life to the player and remove the heart object
-        brickerGameManager.incrementLife();
-        brickerGameManager.removeDefaultObject(this);
+        // Queue the removal of the heart object, which adds a life to the player
+        brickerGameManager.queueEffect(EffectType.COLLECT_HEART, this);
+    }
+
+    /**
+     * Resets the heart before it is reused: it falls at its initial speed again.
+     */
+    @Override
+    public void reset() {
+        setVelocity(HEART_INITIAL_VELOCITY);
+    }
+
+    /**
+     * Returns whether the heart was released to a pool and not acquired since.
+     *
+     * @return True if the heart is in a pool.
+     */
+    @Override
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Marks the heart as released to a pool, or as acquired from it.
+     *
+     * @param pooled True when the heart is released, false when it is acquired.
+     */
+    @Override
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Returns the type ID of hearts.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
     }
-}
\ No newline at end of file
+}
@@ -4,13 +4,18 @@ import danogl.GameObject;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
-public class HeartUI extends GameObject {
+public class HeartUI extends GameObject implements TypedGameObject {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "HeartUI";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 5;
+
     /**
      * Constructs a new HeartUI object.
      *
@@ -22,4 +27,14 @@ public class HeartUI extends GameObject {
         super(topLeftCorner, dimensions, renderable); // Call the superclass constructor
         setTag(TAG); // Set the tag for this object
     }
+
+    /**
+     * Returns the type ID of life icons.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
 }
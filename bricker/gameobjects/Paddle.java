@@ -1,24 +1,27 @@
 package bricker.gameobjects;
 
+import bricker.control.PaddleController;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
-import java.awt.event.KeyEvent;
-
 /**
  * The Paddle class represents a paddle object in the Bricker game. It extends the GameObject class and
- * adds functionality for user-controlled movement.
+ * adds functionality for movement steered by a PaddleController, e.g. the player's keys or an autopilot.
  */
-public class Paddle extends GameObject {
+public class Paddle extends GameObject implements TypedGameObject {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "Paddle";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 6;
+
     /**
      * The movement speed of the paddle.
      */
@@ -26,9 +29,9 @@ public class Paddle extends GameObject {
 
 
     /**
-     * The input listener for controlling the paddle.
+     * The controller steering the paddle.
      */
-    private final UserInputListener inputListener;
+    private PaddleController controller;
 
     /**
      * The dimensions of the game window.
@@ -46,20 +49,20 @@ public class Paddle extends GameObject {
      * @param topLeftCorner    The top-left corner position of the paddle.
      * @param dimensions       The dimensions of the paddle.
      * @param renderable       The renderable for the paddle.
-     * @param inputListener    The input listener for controlling the paddle.
+     * @param controller       The controller steering the paddle.
      * @param windowDimensions The dimensions of the game window.
      */
     public Paddle(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                  UserInputListener inputListener, Vector2 windowDimensions) {
+                  PaddleController controller, Vector2 windowDimensions) {
         super(topLeftCorner, dimensions, renderable); // Call the superclass constructor
-        this.inputListener = inputListener; // Initialize the input listener
+        this.controller = controller; // Initialize the controller
         this.windowDimensions = windowDimensions; // Initialize the window dimensions
         this.dimensions = dimensions; // Initialize the paddle dimensions
         setTag(TAG); // Set the tag for this object
     }
 
     /**
-     * Updates the state of the paddle based on user input.
+     * Updates the state of the paddle based on its controller's steering.
      *
      * @param deltaTime The time elapsed since the last frame.
      */
@@ -67,28 +70,68 @@ public class Paddle extends GameObject {
     public void update(float deltaTime) {
         super.update(deltaTime); // Call the superclass update method
 
-        Vector2 movementDir = Vector2.ZERO; // Initialize the movement direction vector
+        // The paddle runs every frame, so it works on floats and the transform's float setters
+        // rather than allocating vectors
+        float velocityX = 0;
+        int steering = controller.steer(this, deltaTime);
 
-        // Check if the left arrow key is pressed and adjust the movement direction accordingly
-        if (inputListener.isKeyPressed(KeyEvent.VK_LEFT)) {
+        // Check if the paddle is steered to the left and adjust the movement direction accordingly
+        if ((steering & PaddleController.LEFT) != 0) {
             if (getTopLeftCorner().x() < BrickerGameManager.WALL_THICKNESS) {
-                setTopLeftCorner(new Vector2(BrickerGameManager.WALL_THICKNESS, getTopLeftCorner().y()));
+                transform().setTopLeftCornerX(BrickerGameManager.WALL_THICKNESS);
             } else {
-                movementDir = movementDir.add(Vector2.LEFT);
+                velocityX -= MOVEMENT_SPEED;
             }
         }
 
-        // Check if the right arrow key is pressed and adjust the movement direction accordingly
-        if (inputListener.isKeyPressed(KeyEvent.VK_RIGHT)) {
+        // Check if the paddle is steered to the right and adjust the movement direction accordingly
+        if ((steering & PaddleController.RIGHT) != 0) {
             float rightBound = windowDimensions.x() - BrickerGameManager.WALL_THICKNESS - dimensions.x();
             if (getTopLeftCorner().x() > rightBound) {
-                setTopLeftCorner(new Vector2(rightBound, getTopLeftCorner().y()));
+                transform().setTopLeftCornerX(rightBound);
             } else {
-                movementDir = movementDir.add(Vector2.RIGHT);
+                velocityX += MOVEMENT_SPEED;
             }
         }
 
         // Set the velocity of the paddle based on the movement direction and speed
-        setVelocity(movementDir.mult(MOVEMENT_SPEED));
+        transform().setVelocity(velocityX, 0);
+    }
+
+    /**
+     * Returns the speed at which the paddle moves while it is steered.
+     *
+     * @return The movement speed, in pixels per second.
+     */
+    public float getMovementSpeed() {
+        return MOVEMENT_SPEED;
+    }
+
+    /**
+     * Sets the controller steering the paddle, e.g. to hand it over to an autopilot.
+     *
+     * @param controller The controller steering the paddle.
+     */
+    public void setController(PaddleController controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Returns the controller steering the paddle.
+     *
+     * @return The paddle's controller.
+     */
+    public PaddleController getController() {
+        return controller;
+    }
+
+    /**
+     * Returns the type ID of paddles.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package bricker.gameobjects;
+
+/**
+ * The Poolable interface is implemented by game objects that can be recycled by a GameObjectPool.
+ */
+public interface Poolable {
+
+    /**
+     * Restores the object to the state it had right after construction, before it is reused.
+     */
+    void reset();
+
+    /**
+     * Returns whether the object was released to a pool and not acquired since.
+     *
+     * @return True if the object is in a pool.
+     */
+    boolean isPooled();
+
+    /**
+     * Marks the object as released to a pool, or as acquired from it.
+     *
+     * @param pooled True when the object is released, false when it is acquired.
+     */
+    void setPooled(boolean pooled);
+}
@@ -1,5 +1,6 @@
 package bricker.gameobjects;
 
+import bricker.audio.SoundMixer;
 import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
@@ -7,14 +8,22 @@ import danogl.util.Vector2;
 /**
  * The Puck class represents a puck object in the Bricker game. It extends the Ball class and is used to
  * create puck objects with specific dimensions, position, renderable, and collision sound.
+ * Pucks are spawned in bursts, so they are recycled through a GameObjectPool.
  */
-public class Puck extends Ball {
+public class Puck extends Ball implements Poolable {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "Puck";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 7;
+
+    private boolean pooled;
+
     /**
      * Constructs a new Puck object.
      *
@@ -22,9 +31,51 @@ public class Puck extends Ball {
      * @param dimensions     The dimensions of the puck.
      * @param renderable     The renderable for the puck.
      * @param collisionSound The sound to play upon collision.
+     * @param soundMixer     The mixer playing the collision sound.
      */
-    public Puck(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound) {
-        super(topLeftCorner, dimensions, renderable, collisionSound); // Call the superclass constructor
+    public Puck(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable, Sound collisionSound,
+                SoundMixer soundMixer) {
+        // Call the superclass constructor
+        super(topLeftCorner, dimensions, renderable, collisionSound, soundMixer);
         setTag(TAG); // Set the tag for this object
     }
-}
\ No newline at end of file
+
+    /**
+     * Resets the puck before it is reused: it stands still and has no collisions.
+     */
+    @Override
+    public void reset() {
+        setVelocity(Vector2.ZERO);
+        resetCollisionCounter();
+    }
+
+    /**
+     * Returns whether the puck was released to a pool and not acquired since.
+     *
+     * @return True if the puck is in a pool.
+     */
+    @Override
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Marks the puck as released to a pool, or as acquired from it.
+     *
+     * @param pooled True when the puck is released, false when it is acquired.
+     */
+    @Override
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Returns the type ID of pucks.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+}
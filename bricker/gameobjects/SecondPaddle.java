@@ -1,9 +1,11 @@
 package bricker.gameobjects;
 
+import bricker.collisions.CollisionMatrix;
+import bricker.control.PaddleController;
+import bricker.effects.EffectType;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
@@ -20,6 +22,11 @@ public class SecondPaddle extends Paddle {
      */
     public static final String TAG = "SecondPaddle";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 8;
+
     /**
      * The maximum number of collisions allowed before removal.
      */
@@ -41,14 +48,14 @@ public class SecondPaddle extends Paddle {
      * @param topLeftCorner      The top-left corner position of the paddle.
      * @param dimensions         The dimensions of the paddle.
      * @param renderable         The renderable for the paddle.
-     * @param inputListener      The input listener for controlling the paddle.
+     * @param controller         The controller steering the paddle.
      * @param windowDimensions   The dimensions of the game window.
      * @param brickerGameManager The game manager for the Bricker game.
      */
     public SecondPaddle(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable,
-                        UserInputListener inputListener, Vector2 windowDimensions,
+                        PaddleController controller, Vector2 windowDimensions,
                         BrickerGameManager brickerGameManager) {
-        super(topLeftCorner, dimensions, renderable, inputListener, windowDimensions);
+        super(topLeftCorner, dimensions, renderable, controller, windowDimensions);
         this.collisionCounter = new Counter(); // Initialize the collision counter
         this.brickerGameManager = brickerGameManager; // Set the game manager
         setTag(TAG); // Set the tag for this object
@@ -64,15 +71,43 @@ public class SecondPaddle extends Paddle {
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision); // Call the superclass method
         // Increment collision counter if the collision involves a ball or a puck
-        if (other.getTag().equals(Ball.TAG) || other.getTag().equals(Puck.TAG)) {
+        int otherType = CollisionMatrix.typeOf(other);
+        if (otherType == Ball.TYPE_ID || otherType == Puck.TYPE_ID) {
             collisionCounter.increment();
             // Remove the paddle if collision limit is reached
             if (collisionCounter.value() == COLLISIONS_ALLOWED) {
-                // Remove the paddle and decrement the paddle counter
-                if (brickerGameManager.removeDefaultObject(this)) {
-                    brickerGameManager.decrementPaddlesCounter();
-                }
+                // Queue the removal of the paddle, which decrements the paddle counter
+                brickerGameManager.queueEffect(EffectType.REMOVE_SECOND_PADDLE, this);
             }
         }
     }
+
+    /**
+     * Returns the number of hits by balls and pucks the paddle took.
+     *
+     * @return The number of collisions counted.
+     */
+    public int getCollisionCount() {
+        return collisionCounter.value();
+    }
+
+    /**
+     * Restores the number of hits by balls and pucks the paddle took, e.g. from a snapshot.
+     *
+     * @param collisionCount The number of collisions counted.
+     */
+    public void setCollisionCount(int collisionCount) {
+        collisionCounter.reset();
+        collisionCounter.increaseBy(collisionCount);
+    }
+
+    /**
+     * Returns the type ID of second paddles.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
 }
\ No newline at end of file
@@ -4,12 +4,17 @@ import danogl.GameObject;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
-public class TextUI extends GameObject {
+public class TextUI extends GameObject implements TypedGameObject {
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "TextUI";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 9;
+
     /**
      * Constructs a new TextUI object.
      *
@@ -21,4 +26,14 @@ public class TextUI extends GameObject {
         super(topLeftCorner, dimensions, renderable); // Call the superclass constructor
         setTag(TAG); // Set the tag for this object
     }
+
+    /**
+     * Returns the type ID of lives texts.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
 }
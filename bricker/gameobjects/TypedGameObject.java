@@ -0,0 +1,25 @@
+package bricker.gameobjects;
+
+/**
+ * The TypedGameObject interface is implemented by every game object of the Bricker game. It gives the
+ * object's integer type ID, so collisions can be filtered and dispatched by comparing integers rather
+ * than tag strings, and the object's collision group, the bit of its type in collision masks.
+ */
+public interface TypedGameObject {
+
+    /**
+     * Returns the type ID of the object, unique to its class.
+     *
+     * @return The type ID, from 0 to 31.
+     */
+    int getTypeId();
+
+    /**
+     * Returns the collision group of the object: a mask with only the bit of its type set.
+     *
+     * @return The collision group.
+     */
+    default int getCollisionGroup() {
+        return 1 << getTypeId();
+    }
+}
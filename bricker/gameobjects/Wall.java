@@ -8,13 +8,18 @@ import danogl.util.Vector2;
  * The Wall class represents a wall in the Bricker game. It extends the GameObject class and provides
  * functionality to set up a wall with specific dimensions, position, and renderable.
  */
-public class Wall extends GameObject {
+public class Wall extends GameObject implements TypedGameObject {
 
     /**
      * The tag identifying this type of game object.
      */
     public static final String TAG = "Wall";
 
+    /**
+     * The type ID identifying this type of game object, e.g. in the collision matrix.
+     */
+    public static final int TYPE_ID = 10;
+
     /**
      * Constructs a new Wall object.
      *
@@ -26,4 +31,14 @@ public class Wall extends GameObject {
         super(topLeftCorner, dimensions, renderable); // Call the superclass constructor
         setTag(TAG); // Set the tag for this object
     }
+
+    /**
+     * Returns the type ID of walls.
+     *
+     * @return The type ID.
+     */
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
 }
\ No newline at end of file
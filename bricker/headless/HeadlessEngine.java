@@ -0,0 +1,268 @@
+package bricker.headless;
+
+import bricker.audio.SoundMixer;
+import bricker.brick_strategies.StrategyWeights;
+import bricker.collisions.SweptCollider;
+import bricker.gameobjects.AssetCache;
+import bricker.gameobjects.GameObjectPool;
+import bricker.levels.BrickStore;
+import bricker.levels.BrickStreamer;
+import bricker.levels.Level;
+import bricker.main.BrickerGameManager;
+import bricker.metrics.FrameStats;
+import bricker.replay.InputRecorder;
+import bricker.replay.InputRecording;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * The HeadlessEngine class drives a BrickerGameManager without a window, an audio device or frame pacing.
+ * It initializes the game with stub readers and scripted input, then advances it by a fixed simulated
+ * delta time as fast as the CPU allows, reporting how many simulated frames run per wall-clock second.
+ */
+public class HeadlessEngine {
+
+    /**
+     * The default simulated time between two frames, in seconds.
+     */
+    public static final float DEFAULT_DELTA_TIME = 1f / 60;
+
+    private static final int DEFAULT_FRAMES = 100_000;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final long MICROS_PER_MILLI = 1000;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_MICRO = 1e3;
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final BrickerGameManager gameManager;
+    private final HeadlessWindowController windowController;
+    private final ScriptedInputListener inputListener;
+    private final HeadlessImageReader imageReader;
+    private final HeadlessSoundReader soundReader;
+    private final float deltaTime;
+    private int frame;
+    private long elapsedNanos;
+
+    /**
+     * Constructs a new HeadlessEngine.
+     *
+     * @param gameManager      The game to drive. It is switched to headless mode.
+     * @param windowController The simulated window, answering the game over dialogs.
+     * @param inputListener    The scripted input fed to the game.
+     * @param deltaTime        The fixed simulated time between two frames, in seconds.
+     */
+    public HeadlessEngine(BrickerGameManager gameManager, HeadlessWindowController windowController,
+                          ScriptedInputListener inputListener, float deltaTime) {
+        this.gameManager = gameManager;
+        this.windowController = windowController;
+        this.inputListener = inputListener;
+        this.imageReader = new HeadlessImageReader(windowController.messages());
+        this.soundReader = new HeadlessSoundReader(windowController.messages());
+        this.deltaTime = deltaTime;
+        gameManager.setHeadless(true);
+    }
+
+    /**
+     * Initializes the game. Must be called once before running it.
+     */
+    public void initialize() {
+        gameManager.initializeGame(imageReader, soundReader, inputListener, windowController);
+    }
+
+    /**
+     * Simulates frames until the given number of frames has run or the window was closed.
+     * Reset requests made by the game are handled between frames by re-initializing it.
+     *
+     * @param maxFrames The maximum number of frames to simulate.
+     * @return The number of frames actually simulated by this call.
+     */
+    public int run(int maxFrames) {
+        int framesRun = 0;
+        long start = System.nanoTime();
+        while (framesRun < maxFrames && !windowController.isClosed()) {
+            step();
+            framesRun++;
+        }
+        elapsedNanos += System.nanoTime() - start;
+        return framesRun;
+    }
+
+    /**
+     * Simulates a single frame with the engine's fixed delta time.
+     */
+    public void step() {
+        step(deltaTime);
+    }
+
+    /**
+     * Simulates a single frame with the given delta time, e.g. a recorded one.
+     *
+     * @param frameDeltaTime The simulated time since the previous frame, in seconds.
+     */
+    public void step(float frameDeltaTime) {
+        inputListener.advanceToFrame(frame);
+        gameManager.update(frameDeltaTime);
+        frame++;
+        if (windowController.consumeResetRequest()) {
+            initialize();
+        }
+    }
+
+    /**
+     * Returns the total number of frames simulated so far.
+     *
+     * @return The number of simulated frames.
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Returns the number of simulated frames per wall-clock second over all calls to run.
+     *
+     * @return The simulated frames per second, or 0 if nothing was run yet.
+     */
+    public double getFramesPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return frame * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * Returns the simulated window of this engine.
+     *
+     * @return The headless window controller.
+     */
+    public HeadlessWindowController getWindowController() {
+        return windowController;
+    }
+
+    /**
+     * Runs a headless game and prints the simulation rate.
+     *
+     * @param args Command line arguments: [rows bricksPerRow [frames [seed [recordingFile]]]], or
+     *             levelFile [frames [seed]] to run a level and report its load times.
+     * @throws IOException If the level or the strategy weights cannot be read or the recording cannot be
+     *                     written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 1 && Level.isLevelFile(args[0])) {
+            runLevel(args);
+            return;
+        }
+        int rows = BrickerGameManager.DEFAULT_ROWS_OF_BRICKS;
+        int bricksPerRow = BrickerGameManager.DEFAULT_BRICKS_PER_ROW;
+        int frames = DEFAULT_FRAMES;
+        if (args.length >= 2) {
+            rows = Integer.parseInt(args[0]);
+            bricksPerRow = Integer.parseInt(args[1]);
+        }
+        if (args.length >= 3) {
+            frames = Integer.parseInt(args[2]);
+        }
+        long seed = args.length >= 4 ? Long.parseLong(args[3]) : new Random().nextLong();
+        InputRecorder inputRecorder = args.length >= 5 ? new InputRecorder() : null;
+
+        Vector2 windowDimensions = new Vector2(BrickerGameManager.WINDOW_WIDTH,
+                BrickerGameManager.WINDOW_HEIGHT);
+        BrickerGameManager gameManager = new BrickerGameManager(BrickerGameManager.WINDOW_TITLE,
+                windowDimensions, rows, bricksPerRow, seed);
+        gameManager.setInputRecorder(inputRecorder);
+        gameManager.setStrategyWeights(StrategyWeights.loadDefault());
+        HeadlessEngine engine = new HeadlessEngine(gameManager,
+                new HeadlessWindowController(windowDimensions, true), new ScriptedInputListener(),
+                DEFAULT_DELTA_TIME);
+        gameManager.getFrameStats().registerMBean(BrickerGameManager.WINDOW_TITLE);
+        engine.initialize();
+        engine.run(frames);
+
+        System.out.printf("Simulated %d frames (%d games finished) at %.0f frames per second%n",
+                engine.getFrame(), engine.getWindowController().getGamesFinished(),
+                engine.getFramesPerSecond());
+        AssetCache assetCache = gameManager.getAssetCache();
+        System.out.printf("Asset cache: %d hits, %d misses, %d bytes resident%n",
+                assetCache.getHits(), assetCache.getMisses(), assetCache.getBytesResident());
+        FrameStats frameStats = gameManager.getFrameStats();
+        System.out.printf("Frame time p50/p90/p99: %d/%d/%d us, engine %d ms, game %d ms%n",
+                frameStats.getFrameTimeP50Micros(), frameStats.getFrameTimeP90Micros(),
+                frameStats.getFrameTimeP99Micros(), frameStats.getEngineTimeMicros() / MICROS_PER_MILLI,
+                frameStats.getGameTimeMicros() / MICROS_PER_MILLI);
+        SweptCollider sweptCollider = gameManager.getSweptCollider();
+        System.out.printf("Swept collisions: %d contacts, %d would have tunneled%n",
+                sweptCollider.getContacts(), sweptCollider.getTunnelingContacts());
+        SoundMixer soundMixer = gameManager.getSoundMixer();
+        System.out.printf("Sound: %d plays requested, %d coalesced, %d dropped at the voice limit, "
+                + "%d played%n", soundMixer.getRequests(), soundMixer.getCoalesced(), soundMixer.getDropped(),
+                soundMixer.getPlayed());
+        int warmRestarts = gameManager.getWarmRestarts();
+        System.out.printf("Warm restarts: %d, mean %.1f us%n", warmRestarts,
+                warmRestarts == 0 ? 0 : gameManager.getWarmRestartNanos() / NANOS_PER_MICRO / warmRestarts);
+        System.out.println(gameManager.getStartupTrace().format());
+        printPool("Puck", gameManager.getPuckPool());
+        printPool("Heart", gameManager.getHeartPool());
+        printStreaming(gameManager.getBrickStreamer());
+        if (inputRecorder != null) {
+            InputRecording recording = inputRecorder.finish(gameManager);
+            recording.save(Paths.get(args[4]));
+            System.out.printf("Recorded seed %d, %d frames in %d runs, checksum %016x%n", seed,
+                    recording.getFrames(), recording.getRuns(), recording.getFinalChecksum());
+        }
+    }
+
+    /**
+     * Loads a level, reports how long it took to map it and build its wall, then runs it.
+     */
+    private static void runLevel(String[] args) throws IOException {
+        Level level = Level.load(Paths.get(args[0]));
+        int frames = args.length >= 2 ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+        long seed = args.length >= 3 ? Long.parseLong(args[2]) : new Random().nextLong();
+
+        Vector2 windowDimensions = new Vector2(BrickerGameManager.WINDOW_WIDTH,
+                BrickerGameManager.WINDOW_HEIGHT);
+        BrickerGameManager gameManager = new BrickerGameManager(BrickerGameManager.WINDOW_TITLE,
+                windowDimensions, level, seed);
+        gameManager.setStrategyWeights(StrategyWeights.loadDefault());
+        HeadlessEngine engine = new HeadlessEngine(gameManager,
+                new HeadlessWindowController(windowDimensions, true), new ScriptedInputListener(),
+                DEFAULT_DELTA_TIME);
+        long start = System.nanoTime();
+        engine.initialize();
+        long buildNanos = System.nanoTime() - start;
+        System.out.printf("Level %dx%d (%d bytes) mapped in %.3f ms, %d bricks set up in %.3f ms%n",
+                level.getRows(), level.getColumns(), level.getSizeBytes(),
+                level.getLoadNanos() / NANOS_PER_MILLI, gameManager.getBricksLeft(),
+                buildNanos / NANOS_PER_MILLI);
+        engine.run(frames);
+        System.out.printf("Simulated %d frames (%d games finished) at %.0f frames per second%n",
+                engine.getFrame(), engine.getWindowController().getGamesFinished(),
+                engine.getFramesPerSecond());
+        printStreaming(gameManager.getBrickStreamer());
+    }
+
+    /**
+     * Prints the store size and materialization metrics of a streamed wall, if the wall is streamed.
+     */
+    private static void printStreaming(BrickStreamer brickStreamer) {
+        if (brickStreamer == null) {
+            return;
+        }
+        BrickStore brickStore = brickStreamer.getBrickStore();
+        System.out.printf("Streamed wall: %d cells in a %.1f MB store, %d bricks materialized (peak %d), "
+                        + "%d built, %d evicted%n", brickStore.getCells(),
+                brickStore.getFootprintBytes() / BYTES_PER_MB,
+                brickStreamer.getMaterialized(), brickStreamer.getPeakMaterialized(),
+                brickStreamer.getMaterializations(), brickStreamer.getEvictions());
+    }
+
+    /**
+     * Prints the occupancy and miss metrics of a spawn pool.
+     */
+    private static void printPool(String name, GameObjectPool<?> pool) {
+        System.out.printf("%s pool: %d/%d available, %d misses, %d dropped%n", name,
+                pool.getOccupancy(), pool.getCapacity(), pool.getMisses(), pool.getDropped());
+    }
+}
@@ -0,0 +1,49 @@
+package bricker.headless;
+
+import danogl.gui.ImageReader;
+import danogl.gui.MessageHandler;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.util.Vector2;
+
+/**
+ * The HeadlessImageReader class is an ImageReader that never touches the disk.
+ * Every request returns the library's shared default image, since nothing is rendered in headless mode.
+ */
+public class HeadlessImageReader extends ImageReader {
+
+    /**
+     * Constructs a new HeadlessImageReader.
+     *
+     * @param messages The message handler used for reporting errors.
+     */
+    public HeadlessImageReader(MessageHandler messages) {
+        super(messages);
+    }
+
+    /**
+     * Returns the shared default image instead of reading the given file.
+     *
+     * @param imageFilePath            The path of the image (ignored).
+     * @param useTopLeftPixelAsOpacity Whether to treat the top-left pixel as transparent (ignored).
+     * @return The shared default image.
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean useTopLeftPixelAsOpacity) {
+        return ImageRenderable.DEFAULT_IMAGE;
+    }
+
+    /**
+     * Returns the shared default image instead of reading a cropped part of the given file.
+     *
+     * @param imageFilePath            The path of the image (ignored).
+     * @param useTopLeftPixelAsOpacity Whether to treat the top-left pixel as transparent (ignored).
+     * @param topLeftCorner            The top-left corner of the crop (ignored).
+     * @param dimensions               The dimensions of the crop (ignored).
+     * @return The shared default image.
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean useTopLeftPixelAsOpacity,
+                                     Vector2 topLeftCorner, Vector2 dimensions) {
+        return ImageRenderable.DEFAULT_IMAGE;
+    }
+}
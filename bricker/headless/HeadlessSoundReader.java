@@ -0,0 +1,32 @@
+package bricker.headless;
+
+import danogl.gui.MessageHandler;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+
+/**
+ * The HeadlessSoundReader class is a SoundReader that never opens an audio device.
+ * Every request returns the library's silent sound.
+ */
+public class HeadlessSoundReader extends SoundReader {
+
+    /**
+     * Constructs a new HeadlessSoundReader.
+     *
+     * @param messages The message handler used for reporting errors.
+     */
+    public HeadlessSoundReader(MessageHandler messages) {
+        super(messages);
+    }
+
+    /**
+     * Returns the silent sound instead of reading the given file.
+     *
+     * @param soundFilePath The path of the sound (ignored).
+     * @return The silent sound.
+     */
+    @Override
+    public Sound readSound(String soundFilePath) {
+        return Sound.EMPTY_SOUND;
+    }
+}
@@ -0,0 +1,172 @@
+package bricker.headless;
+
+import danogl.gui.MessageHandler;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * The HeadlessWindowController class implements the WindowController interface without opening a window.
+ * Dialogs are answered automatically and reset/close requests are recorded so that the
+ * HeadlessEngine can act on them between frames.
+ */
+public class HeadlessWindowController implements WindowController {
+
+    private final Vector2 windowDimensions;
+    private final MessageHandler messageHandler;
+    private boolean playAgain;
+    private boolean resetRequested;
+    private boolean closed;
+    private int gamesFinished;
+    private String lastPrompt;
+    private float timeScale;
+    private Renderable mouseCursor;
+    private Vector2 mouseCursorDimensions;
+
+    /**
+     * Constructs a new HeadlessWindowController.
+     *
+     * @param windowDimensions The dimensions of the simulated game window.
+     * @param playAgain        The answer given to every yes/no dialog, i.e. whether to start
+     *                         a new game when one ends.
+     */
+    public HeadlessWindowController(Vector2 windowDimensions, boolean playAgain) {
+        this.windowDimensions = windowDimensions;
+        this.playAgain = playAgain;
+        this.messageHandler = new MessageHandler(this);
+        this.timeScale = 1;
+        this.mouseCursorDimensions = Vector2.ZERO;
+    }
+
+    /**
+     * Marks the simulated window as closed.
+     */
+    @Override
+    public void closeWindow() {
+        closed = true;
+    }
+
+    /**
+     * Records a reset request, to be handled by the engine after the current frame.
+     */
+    @Override
+    public void resetGame() {
+        resetRequested = true;
+    }
+
+    /**
+     * Returns the message handler of this window.
+     *
+     * @return The message handler.
+     */
+    @Override
+    public MessageHandler messages() {
+        return messageHandler;
+    }
+
+    /**
+     * Answers a yes/no dialog without user interaction. Every dialog marks the end of a game.
+     *
+     * @param msg The message of the dialog.
+     * @return The configured answer.
+     */
+    @Override
+    public boolean openYesNoDialog(String msg) {
+        lastPrompt = msg;
+        gamesFinished++;
+        return playAgain;
+    }
+
+    @Override
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    @Override
+    public void setTimeScale(float timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    @Override
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    @Override
+    public void setTargetFramerate(int targetFramerate) {
+        // There is no frame pacing in headless mode
+    }
+
+    @Override
+    public void setPauseButton(int pauseButton) {
+        // There is no pause button in headless mode
+    }
+
+    @Override
+    public void setExitButton(int exitButton) {
+        // There is no exit button in headless mode
+    }
+
+    @Override
+    public void setMouseCursor(Renderable renderable, Vector2 dimensions, Vector2 hotspot) {
+        this.mouseCursor = renderable;
+        this.mouseCursorDimensions = dimensions;
+    }
+
+    @Override
+    public Renderable getMouseCursor() {
+        return mouseCursor;
+    }
+
+    @Override
+    public Vector2 getMouseCursorDimensions() {
+        return mouseCursorDimensions;
+    }
+
+    /**
+     * Sets the answer given to future yes/no dialogs.
+     *
+     * @param playAgain True to start a new game when one ends, false to close the window.
+     */
+    public void setPlayAgain(boolean playAgain) {
+        this.playAgain = playAgain;
+    }
+
+    /**
+     * Returns and clears the pending reset request.
+     *
+     * @return True if a reset was requested since the last call, false otherwise.
+     */
+    public boolean consumeResetRequest() {
+        boolean requested = resetRequested;
+        resetRequested = false;
+        return requested;
+    }
+
+    /**
+     * Returns whether the simulated window was closed.
+     *
+     * @return True if the window was closed, false otherwise.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the number of games that reached a game over prompt.
+     *
+     * @return The number of finished games.
+     */
+    public int getGamesFinished() {
+        return gamesFinished;
+    }
+
+    /**
+     * Returns the last game over prompt shown, or null if no game has ended yet.
+     *
+     * @return The last prompt message.
+     */
+    public String getLastPrompt() {
+        return lastPrompt;
+    }
+}
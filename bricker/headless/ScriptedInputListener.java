@@ -0,0 +1,195 @@
+package bricker.headless;
+
+import danogl.components.movement_schemes.movement_directing.KeyboardMovementDirector;
+import danogl.components.movement_schemes.movement_directing.MouseMovementDirector;
+import danogl.gui.UserInputListener;
+import danogl.gui.mouse.MouseButton;
+import danogl.gui.rendering.Camera;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The ScriptedInputListener class implements the UserInputListener interface by replaying a script
+ * of key presses and releases scheduled on specific frames, instead of listening to a real keyboard.
+ * The mouse is never pressed and stays at the origin.
+ */
+public class ScriptedInputListener implements UserInputListener {
+
+    private final List<KeyChange> script;
+    private final Set<Integer> pressedKeys;
+    private final Set<Integer> pressedThisFrame;
+    private final Set<Integer> releasedThisFrame;
+    private int nextEvent;
+
+    /**
+     * A single scheduled change in the state of a key.
+     */
+    private static class KeyChange {
+        private final int frame;
+        private final int keyCode;
+        private final boolean pressed;
+
+        private KeyChange(int frame, int keyCode, boolean pressed) {
+            this.frame = frame;
+            this.keyCode = keyCode;
+            this.pressed = pressed;
+        }
+    }
+
+    /**
+     * Constructs a new ScriptedInputListener with an empty script.
+     */
+    public ScriptedInputListener() {
+        this.script = new ArrayList<>();
+        this.pressedKeys = new HashSet<>();
+        this.pressedThisFrame = new HashSet<>();
+        this.releasedThisFrame = new HashSet<>();
+    }
+
+    /**
+     * Schedules a key to be pressed at the start of the given frame.
+     *
+     * @param frame   The frame at which the key is pressed.
+     * @param keyCode The key code, as defined in java.awt.event.KeyEvent.
+     * @return This listener, for chaining.
+     */
+    public ScriptedInputListener press(int frame, int keyCode) {
+        schedule(new KeyChange(frame, keyCode, true));
+        return this;
+    }
+
+    /**
+     * Schedules a key to be released at the start of the given frame.
+     *
+     * @param frame   The frame at which the key is released.
+     * @param keyCode The key code, as defined in java.awt.event.KeyEvent.
+     * @return This listener, for chaining.
+     */
+    public ScriptedInputListener release(int frame, int keyCode) {
+        schedule(new KeyChange(frame, keyCode, false));
+        return this;
+    }
+
+    /**
+     * Applies every scripted event of the given frame. Must be called once per frame, before the
+     * game is updated, with increasing frame numbers.
+     *
+     * @param frame The frame that is about to be simulated.
+     */
+    public void advanceToFrame(int frame) {
+        pressedThisFrame.clear();
+        releasedThisFrame.clear();
+        while (nextEvent < script.size() && script.get(nextEvent).frame <= frame) {
+            KeyChange event = script.get(nextEvent++);
+            if (event.pressed) {
+                if (pressedKeys.add(event.keyCode)) {
+                    pressedThisFrame.add(event.keyCode);
+                }
+            } else if (pressedKeys.remove(event.keyCode)) {
+                releasedThisFrame.add(event.keyCode);
+            }
+        }
+    }
+
+    /**
+     * Rewinds the script to its start and releases every key.
+     */
+    public void rewind() {
+        nextEvent = 0;
+        pressedKeys.clear();
+        pressedThisFrame.clear();
+        releasedThisFrame.clear();
+    }
+
+    @Override
+    public boolean isKeyPressed(int keyCode) {
+        return pressedKeys.contains(keyCode);
+    }
+
+    @Override
+    public boolean wasKeyPressedThisFrame(int keyCode) {
+        return pressedThisFrame.contains(keyCode);
+    }
+
+    @Override
+    public boolean wasKeyReleasedThisFrame(int keyCode) {
+        return releasedThisFrame.contains(keyCode);
+    }
+
+    @Override
+    public boolean wasMouseButtonClickedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public boolean wasMouseButtonPressedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public boolean wasMouseButtonReleasedThisFrame(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public boolean isMouseButtonPressed(MouseButton button) {
+        return false;
+    }
+
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return Vector2.ZERO;
+    }
+
+    @Override
+    public double mouseWheelClicksThisFrame() {
+        return 0;
+    }
+
+    @Override
+    public Set<Integer> pressedKeys() {
+        return Collections.unmodifiableSet(pressedKeys);
+    }
+
+    @Override
+    public Set<MouseButton> pressedMouseButtons() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Mouse movement is not supported in headless mode.
+     *
+     * @param camera The camera (ignored).
+     * @return Always null.
+     */
+    @Override
+    public MouseMovementDirector mouseMovementDirector(Camera camera) {
+        return null;
+    }
+
+    /**
+     * Keyboard movement directors are not supported in headless mode.
+     *
+     * @return Always null.
+     */
+    @Override
+    public KeyboardMovementDirector keyboardMovementDirector() {
+        return null;
+    }
+
+    /**
+     * Inserts an event into the script, keeping it sorted by frame and stable for equal frames.
+     */
+    private void schedule(KeyChange event) {
+        int index = script.size();
+        while (index > 0 && script.get(index - 1).frame > event.frame) {
+            index--;
+        }
+        script.add(index, event);
+    }
+}
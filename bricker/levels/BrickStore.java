@@ -0,0 +1,239 @@
+package bricker.levels;
+
+import bricker.brick_strategies.StrategyType;
+import bricker.collisions.BrickGrid;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The BrickStore class keeps the state of every brick of a wall in primitive arrays indexed by cell
+ * (row * columns + column), rather than in a graph of heap objects per brick: the position of each
+ * brick, whether it is alive, its strategy code, its hit points and its effect counter. All bricks
+ * share the same dimensions. A wall of a million bricks takes about 11 MB, and a collision query
+ * scans only the contiguous entries of the rows and columns it overlaps.
+ */
+public class BrickStore {
+
+    private static final int BITS_PER_WORD = Long.SIZE;
+    private static final int BYTES_PER_CELL = 2 * Float.BYTES + 3 * Byte.BYTES;
+    private static final int STATE_ARRAYS = 3; // Strategy codes, hit points and effect counters
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
+
+    private final BrickGrid brickGrid;
+    private final int columns;
+    private final float brickWidth;
+    private final float brickHeight;
+    private final float[] left;
+    private final float[] top;
+    private final long[] alive;
+    private final byte[] strategies;
+    private final byte[] hitPoints;
+    private final byte[] effectCounters;
+    private int aliveCount;
+
+    /**
+     * Constructs a new, empty BrickStore.
+     *
+     * @param brickGrid   The grid the wall is laid out on, giving the position of every cell.
+     * @param rows        The number of rows of the wall.
+     * @param columns     The number of columns of the wall.
+     * @param brickWidth  The width of a brick.
+     * @param brickHeight The height of a brick.
+     */
+    public BrickStore(BrickGrid brickGrid, int rows, int columns, float brickWidth, float brickHeight) {
+        int cells = rows * columns;
+        this.brickGrid = brickGrid;
+        this.columns = columns;
+        this.brickWidth = brickWidth;
+        this.brickHeight = brickHeight;
+        this.left = new float[cells];
+        this.top = new float[cells];
+        this.alive = new long[(cells + BITS_PER_WORD - 1) / BITS_PER_WORD];
+        this.strategies = new byte[cells];
+        this.hitPoints = new byte[cells];
+        this.effectCounters = new byte[cells];
+    }
+
+    /**
+     * Places a new brick in its cell.
+     *
+     * @param row          The row of the brick.
+     * @param column       The column of the brick.
+     * @param strategyType The type of the brick's collision strategy.
+     * @param hitPoints    The number of hits the brick takes to break.
+     */
+    public void setBrick(int row, int column, StrategyType strategyType, int hitPoints) {
+        int cell = row * columns + column;
+        left[cell] = brickGrid.columnLeft(column);
+        top[cell] = brickGrid.rowTop(row);
+        strategies[cell] = (byte) strategyType.ordinal();
+        this.hitPoints[cell] = (byte) hitPoints;
+        effectCounters[cell] = 0;
+        if (!isAlive(cell)) {
+            alive[cell / BITS_PER_WORD] |= 1L << cell;
+            aliveCount++;
+        }
+    }
+
+    /**
+     * Saves the state a brick reached while it was a game object.
+     *
+     * @param cell          The cell of the brick.
+     * @param hitPoints     The number of hits the brick still takes to break.
+     * @param effectCounter The number of collision strategies the brick applied.
+     */
+    public void saveState(int cell, int hitPoints, int effectCounter) {
+        this.hitPoints[cell] = (byte) hitPoints;
+        effectCounters[cell] = (byte) effectCounter;
+    }
+
+    /**
+     * Marks a brick as broken.
+     *
+     * @param cell The cell of the brick.
+     */
+    public void kill(int cell) {
+        if (isAlive(cell)) {
+            alive[cell / BITS_PER_WORD] &= ~(1L << cell);
+            aliveCount--;
+        }
+    }
+
+    /**
+     * Finds the alive bricks whose bounds overlap a rectangle, e.g. the swept bounds of a ball or puck.
+     * Only as many cells as the result array holds are written, but all overlapping bricks are counted,
+     * so a caller can retry with a larger array.
+     *
+     * @param minX   The left edge of the rectangle.
+     * @param minY   The top edge of the rectangle.
+     * @param maxX   The right edge of the rectangle.
+     * @param maxY   The bottom edge of the rectangle.
+     * @param result The array receiving the cells of the overlapping bricks.
+     * @return The number of overlapping bricks.
+     */
+    public int query(float minX, float minY, float maxX, float maxY, int[] result) {
+        if (!brickGrid.overlapsRows(minY, maxY)) {
+            return 0;
+        }
+        int found = 0;
+        int lastRow = brickGrid.rowAt(maxY);
+        int firstColumn = brickGrid.columnAt(minX);
+        int lastColumn = brickGrid.columnAt(maxX);
+        for (int row = brickGrid.rowAt(minY); row <= lastRow; row++) {
+            for (int cell = row * columns + firstColumn; cell <= row * columns + lastColumn; cell++) {
+                if (isAlive(cell) && left[cell] <= maxX && left[cell] + brickWidth >= minX
+                        && top[cell] <= maxY && top[cell] + brickHeight >= minY) {
+                    if (found < result.length) {
+                        result[found] = cell;
+                    }
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param cell The cell of a brick.
+     * @return True if the cell holds a brick that has not broken.
+     */
+    public boolean isAlive(int cell) {
+        return (alive[cell / BITS_PER_WORD] & 1L << cell) != 0;
+    }
+
+    /**
+     * @param cell The cell of a brick.
+     * @return The type of the brick's collision strategy.
+     */
+    public StrategyType getStrategy(int cell) {
+        return STRATEGY_TYPES[strategies[cell]];
+    }
+
+    /**
+     * @param cell The cell of a brick.
+     * @return The number of hits the brick still takes to break.
+     */
+    public int getHitPoints(int cell) {
+        return hitPoints[cell];
+    }
+
+    /**
+     * @param cell The cell of a brick.
+     * @return The number of collision strategies the brick applied.
+     */
+    public int getEffectCounter(int cell) {
+        return effectCounters[cell];
+    }
+
+    /**
+     * @param cell The cell of a brick.
+     * @return The x coordinate of the brick's left edge.
+     */
+    public float getLeft(int cell) {
+        return left[cell];
+    }
+
+    /**
+     * @param cell The cell of a brick.
+     * @return The y coordinate of the brick's top edge.
+     */
+    public float getTop(int cell) {
+        return top[cell];
+    }
+
+    /**
+     * @return The number of bricks that have not broken.
+     */
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * @return The number of cells of the wall.
+     */
+    public int getCells() {
+        return strategies.length;
+    }
+
+    /**
+     * @return The size of the arrays holding the wall's state, in bytes.
+     */
+    public long getFootprintBytes() {
+        return (long) strategies.length * BYTES_PER_CELL + (long) alive.length * Long.BYTES;
+    }
+
+    /**
+     * @return The number of bytes writeState writes.
+     */
+    public int getStateBytes() {
+        return alive.length * Long.BYTES + STATE_ARRAYS * strategies.length;
+    }
+
+    /**
+     * Writes the state of every brick to a snapshot, copying the alive bits, strategy codes, hit points
+     * and effect counters as blocks. Positions follow from the grid and are not written.
+     *
+     * @param buffer The buffer to write to.
+     */
+    public void writeState(ByteBuffer buffer) {
+        // A view buffer does not move its parent's position
+        buffer.asLongBuffer().put(alive);
+        buffer.position(buffer.position() + alive.length * Long.BYTES);
+        buffer.put(strategies).put(hitPoints).put(effectCounters);
+    }
+
+    /**
+     * Reads the state of every brick written by writeState, replacing the current state.
+     *
+     * @param buffer The buffer to read from.
+     */
+    public void readState(ByteBuffer buffer) {
+        buffer.asLongBuffer().get(alive);
+        buffer.position(buffer.position() + alive.length * Long.BYTES);
+        buffer.get(strategies).get(hitPoints).get(effectCounters);
+        aliveCount = 0;
+        for (long word : alive) {
+            aliveCount += Long.bitCount(word);
+        }
+    }
+}
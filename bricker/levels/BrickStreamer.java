@@ -0,0 +1,308 @@
+package bricker.levels;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.brick_strategies.StrategyType;
+import bricker.collisions.BrickGrid;
+import bricker.gameobjects.Brick;
+import bricker.gameobjects.GameObjectsFactory;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The BrickStreamer class keeps a whole brick wall in a BrickStore and materializes Brick game objects
+ * only for the cells near the play area. As the play area moves, bricks that leave it are evicted back
+ * into the store, keeping their remaining hit points and effect counters, and bricks that enter it are
+ * built from it. The materialized region is a rectangle of cells padded by a margin, and it is only
+ * moved once the play area leaves it, so a ball moving back and forth near its edge does not rebuild
+ * the same bricks every frame.
+ * Random strategies are resolved when the store is filled, and so are the plans of double bricks, in
+ * cell order: the random sequence does not depend on the order the bricks are explored in, and a brick
+ * behaves the same however often it is streamed. A plan is kept until its brick breaks.
+ */
+public class BrickStreamer {
+
+    private static final int MARGIN_CELLS = 2;
+
+    private final BrickStore brickStore;
+    private final int rows;
+    private final int columns;
+    private final BrickGrid brickGrid;
+    private final GameObjectsFactory gameObjectsFactory;
+    private final GameObjectCollection gameObjects;
+    private final CellStrategyTable doublePlans;
+    private int firstRow;
+    private int lastRow = -1;
+    private int firstColumn;
+    private int lastColumn = -1;
+    private int materialized;
+    private int peakMaterialized;
+    private long materializations;
+    private long evictions;
+
+    /**
+     * Constructs a new BrickStreamer over an empty brick store, which must be filled before the first
+     * update.
+     *
+     * @param brickStore         The store holding the state of every brick of the wall.
+     * @param brickGrid          The grid indexing the materialized bricks.
+     * @param rows               The number of rows of the wall.
+     * @param columns            The number of columns of the wall.
+     * @param gameObjectsFactory The factory building the materialized bricks.
+     * @param gameObjects        The collection the materialized bricks are added to.
+     */
+    public BrickStreamer(BrickStore brickStore, BrickGrid brickGrid, int rows, int columns,
+                         GameObjectsFactory gameObjectsFactory, GameObjectCollection gameObjects) {
+        this.brickStore = brickStore;
+        this.rows = rows;
+        this.columns = columns;
+        this.brickGrid = brickGrid;
+        this.gameObjectsFactory = gameObjectsFactory;
+        this.gameObjects = gameObjects;
+        this.doublePlans = new CellStrategyTable();
+    }
+
+    /**
+     * Places every brick of the wall in the store, as new, drawing the random strategies and the plans
+     * of double bricks in cell order, so the random sequence does not depend on how the wall is explored.
+     *
+     * @param level The level laying out the wall, or null for a uniform wall of random strategies.
+     */
+    public void fill(Level level) {
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (level != null && !level.hasBrick(row, column)) {
+                    continue;
+                }
+                StrategyType strategyType = level == null ? null : level.getStrategy(row, column);
+                if (strategyType == null) {
+                    strategyType = gameObjectsFactory.pickStrategyType();
+                }
+                int hitPoints = level == null ? 1 : level.getHitPoints(row, column);
+                brickStore.setBrick(row, column, strategyType, hitPoints);
+                if (strategyType == StrategyType.DOUBLE) {
+                    doublePlans.put(row * columns + column,
+                            gameObjectsFactory.buildCollisionStrategy(StrategyType.DOUBLE));
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the materialized region so it covers the given play area, building the bricks that enter
+     * it and evicting those that leave it. Does nothing while the play area stays within the region.
+     *
+     * @param minX The left edge of the play area.
+     * @param minY The top edge of the play area.
+     * @param maxX The right edge of the play area.
+     * @param maxY The bottom edge of the play area.
+     */
+    public void update(float minX, float minY, float maxX, float maxY) {
+        if (!brickGrid.overlapsRows(minY, maxY)) {
+            return;
+        }
+        int top = brickGrid.rowAt(minY);
+        int bottom = brickGrid.rowAt(maxY);
+        int left = brickGrid.columnAt(minX);
+        int right = brickGrid.columnAt(maxX);
+        if (top >= firstRow && bottom <= lastRow && left >= firstColumn && right <= lastColumn) {
+            return;
+        }
+        int newFirstRow = Math.max(0, top - MARGIN_CELLS);
+        int newLastRow = Math.min(rows - 1, bottom + MARGIN_CELLS);
+        int newFirstColumn = Math.max(0, left - MARGIN_CELLS);
+        int newLastColumn = Math.min(columns - 1, right + MARGIN_CELLS);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (!contains(newFirstRow, newLastRow, newFirstColumn, newLastColumn, row, column)) {
+                    evict(row, column);
+                }
+            }
+        }
+        for (int row = newFirstRow; row <= newLastRow; row++) {
+            for (int column = newFirstColumn; column <= newLastColumn; column++) {
+                if (!contains(firstRow, lastRow, firstColumn, lastColumn, row, column)) {
+                    materialize(row, column);
+                }
+            }
+        }
+        firstRow = newFirstRow;
+        lastRow = newLastRow;
+        firstColumn = newFirstColumn;
+        lastColumn = newLastColumn;
+    }
+
+    /**
+     * Returns an upper bound of the bytes writeState writes.
+     *
+     * @return The bound, in bytes.
+     */
+    public int getStateBytes() {
+        // A double plan is written as its type, its length and at most Brick.MAX_COLLISIONS types
+        return brickStore.getStateBytes() + doublePlans.size() * (2 * Byte.BYTES + Brick.MAX_COLLISIONS);
+    }
+
+    /**
+     * Writes the state of the whole wall to a snapshot: the store's arrays, after saving into them the
+     * state of the materialized bricks, followed by the plans of the standing double bricks in cell
+     * order.
+     *
+     * @param buffer          The buffer to write to.
+     * @param strategyFactory The factory that built the plans.
+     */
+    public void writeState(ByteBuffer buffer, CollisionStrategyFactory strategyFactory) {
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                GameObject gameObject = brickGrid.get(row, column);
+                if (gameObject != null) {
+                    Brick brick = (Brick) gameObject;
+                    brickStore.saveState(row * columns + column, brick.getHitPoints(),
+                            brick.getCollisionStrategiesCount());
+                }
+            }
+        }
+        brickStore.writeState(buffer);
+        for (int cell = 0; cell < brickStore.getCells(); cell++) {
+            if (brickStore.isAlive(cell) && brickStore.getStrategy(cell) == StrategyType.DOUBLE) {
+                strategyFactory.writeStrategy(doublePlans.get(cell), buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads the state of the whole wall written by writeState. Must follow clear, and the bricks are
+     * materialized again by the next update.
+     *
+     * @param buffer          The buffer to read from.
+     * @param strategyFactory The factory resolving the plans.
+     */
+    public void readState(ByteBuffer buffer, CollisionStrategyFactory strategyFactory) {
+        brickStore.readState(buffer);
+        for (int cell = 0; cell < brickStore.getCells(); cell++) {
+            if (brickStore.isAlive(cell) && brickStore.getStrategy(cell) == StrategyType.DOUBLE) {
+                doublePlans.put(cell, strategyFactory.readStrategy(buffer));
+            }
+        }
+    }
+
+    /**
+     * Removes every materialized brick from the game without saving its state, and forgets the double
+     * plans, e.g. before the wall is restored from a snapshot. The next update materializes the bricks
+     * around the play area again.
+     */
+    public void clear() {
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                GameObject gameObject = brickGrid.get(row, column);
+                if (gameObject != null) {
+                    gameObjects.removeGameObject(gameObject, Layer.STATIC_OBJECTS);
+                }
+            }
+        }
+        doublePlans.clear();
+        firstRow = 0;
+        lastRow = -1;
+        firstColumn = 0;
+        lastColumn = -1;
+        materialized = 0;
+    }
+
+    /**
+     * Marks a brick that broke as dead in the store. Must be called when a materialized brick is removed.
+     *
+     * @param brick The broken brick.
+     */
+    public void onBrickBroken(GameObject brick) {
+        int cell = brickGrid.indexOf(brick);
+        if (cell >= 0) {
+            brickStore.kill(cell);
+            doublePlans.remove(cell);
+            materialized--;
+        }
+    }
+
+    /**
+     * @return The number of bricks currently materialized as game objects.
+     */
+    public int getMaterialized() {
+        return materialized;
+    }
+
+    /**
+     * @return The largest number of bricks that were materialized at once.
+     */
+    public int getPeakMaterialized() {
+        return peakMaterialized;
+    }
+
+    /**
+     * @return The number of bricks built from their records so far.
+     */
+    public long getMaterializations() {
+        return materializations;
+    }
+
+    /**
+     * @return The number of bricks evicted back into their records so far.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return The store holding the state of every brick of the wall.
+     */
+    public BrickStore getBrickStore() {
+        return brickStore;
+    }
+
+    /**
+     * Builds the brick of a cell, if the cell holds one, and adds it to the game.
+     */
+    private void materialize(int row, int column) {
+        int cell = row * columns + column;
+        if (!brickStore.isAlive(cell)) {
+            return;
+        }
+        StrategyType strategyType = brickStore.getStrategy(cell);
+        int hitPoints = brickStore.getHitPoints(cell);
+        CollisionStrategy plan = strategyType == StrategyType.DOUBLE ? doublePlans.get(cell) : null;
+        Brick brick = plan == null ? gameObjectsFactory.buildBrick(strategyType, hitPoints)
+                : gameObjectsFactory.buildBrick(plan, hitPoints);
+        brick.setCollisionStrategiesCount(brickStore.getEffectCounter(cell));
+        brick.transform().setTopLeftCorner(brickStore.getLeft(cell), brickStore.getTop(cell));
+        gameObjects.addGameObject(brick, Layer.STATIC_OBJECTS);
+        materializations++;
+        if (++materialized > peakMaterialized) {
+            peakMaterialized = materialized;
+        }
+    }
+
+    /**
+     * Removes the brick of a cell from the game, if it is materialized, saving its state in the store.
+     */
+    private void evict(int row, int column) {
+        GameObject gameObject = brickGrid.get(row, column);
+        if (gameObject == null) {
+            return;
+        }
+        Brick brick = (Brick) gameObject;
+        int cell = row * columns + column;
+        brickStore.saveState(cell, brick.getHitPoints(), brick.getCollisionStrategiesCount());
+        gameObjects.removeGameObject(brick, Layer.STATIC_OBJECTS);
+        evictions++;
+        materialized--;
+    }
+
+    /**
+     * Returns whether a cell lies within a rectangle of cells.
+     */
+    private static boolean contains(int firstRow, int lastRow, int firstColumn, int lastColumn,
+                                    int row, int column) {
+        return row >= firstRow && row <= lastRow && column >= firstColumn && column <= lastColumn;
+    }
+}
@@ -0,0 +1,154 @@
+package bricker.levels;
+
+import bricker.brick_strategies.CollisionStrategy;
+
+import java.util.Arrays;
+
+/**
+ * The CellStrategyTable class maps the cells of a wall to collision strategies, by open addressing in
+ * two parallel arrays: the cell keys are plain ints, so neither putting nor removing a strategy boxes a
+ * key or allocates an entry. Collisions are resolved by linear probing, and removals shift the following
+ * entries of their probe run back, so no tombstones build up as bricks break. The arrays only grow, when
+ * the table gets half full.
+ */
+class CellStrategyTable {
+
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    // 2^32 divided by the golden ratio, spreading consecutive cells over the table
+    private static final int FIBONACCI_MULTIPLIER = 0x9E3779B9;
+
+    private int[] cells;
+    private CollisionStrategy[] strategies;
+    private int shift;
+    private int size;
+
+    /**
+     * Constructs a new, empty CellStrategyTable.
+     */
+    CellStrategyTable() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Maps a cell to a strategy, replacing the strategy it was mapped to, if any.
+     *
+     * @param cell     The cell, at least 0.
+     * @param strategy The strategy.
+     */
+    void put(int cell, CollisionStrategy strategy) {
+        int slot = find(cell);
+        if (cells[slot] == cell) {
+            strategies[slot] = strategy;
+            return;
+        }
+        if (2 * (size + 1) > cells.length) {
+            grow();
+            slot = find(cell);
+        }
+        cells[slot] = cell;
+        strategies[slot] = strategy;
+        size++;
+    }
+
+    /**
+     * Returns the strategy a cell is mapped to.
+     *
+     * @param cell The cell.
+     * @return The strategy the cell is mapped to, or null if it is not mapped.
+     */
+    CollisionStrategy get(int cell) {
+        int slot = find(cell);
+        return cells[slot] == cell ? strategies[slot] : null;
+    }
+
+    /**
+     * Removes the strategy a cell is mapped to.
+     *
+     * @param cell The cell.
+     * @return The strategy the cell was mapped to, or null if it was not mapped.
+     */
+    CollisionStrategy remove(int cell) {
+        int slot = find(cell);
+        if (cells[slot] != cell) {
+            return null;
+        }
+        CollisionStrategy strategy = strategies[slot];
+        int mask = cells.length - 1;
+        // Shift back every following entry of the probe run that the hole would cut off from its home
+        int hole = slot;
+        for (int next = (hole + 1) & mask; cells[next] != EMPTY; next = (next + 1) & mask) {
+            int home = home(cells[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                cells[hole] = cells[next];
+                strategies[hole] = strategies[next];
+                hole = next;
+            }
+        }
+        cells[hole] = EMPTY;
+        strategies[hole] = null;
+        size--;
+        return strategy;
+    }
+
+    /**
+     * Removes every mapping, keeping the arrays.
+     */
+    void clear() {
+        Arrays.fill(cells, EMPTY);
+        Arrays.fill(strategies, null);
+        size = 0;
+    }
+
+    /**
+     * @return The number of mapped cells.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot holding a cell, or the empty slot ending its probe run.
+     */
+    private int find(int cell) {
+        int mask = cells.length - 1;
+        int slot = home(cell);
+        while (cells[slot] != EMPTY && cells[slot] != cell) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot a cell's probe run starts at.
+     */
+    private int home(int cell) {
+        return (cell * FIBONACCI_MULTIPLIER) >>> shift;
+    }
+
+    /**
+     * Doubles the arrays and puts every entry back.
+     */
+    private void grow() {
+        int[] oldCells = cells;
+        CollisionStrategy[] oldStrategies = strategies;
+        allocate(2 * oldCells.length);
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != EMPTY) {
+                int slot = find(oldCells[i]);
+                cells[slot] = oldCells[i];
+                strategies[slot] = oldStrategies[i];
+            }
+        }
+    }
+
+    /**
+     * Replaces the arrays by empty ones of a capacity, a power of two.
+     */
+    private void allocate(int capacity) {
+        cells = new int[capacity];
+        Arrays.fill(cells, EMPTY);
+        strategies = new CollisionStrategy[capacity];
+        shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+}
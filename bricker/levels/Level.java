@@ -0,0 +1,167 @@
+package bricker.levels;
+
+import bricker.brick_strategies.StrategyType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The Level class is a brick wall layout read from a binary level file. The file is a 16 byte header
+ * (magic, version, rows and columns) followed by one byte per cell, row by row: the top bit marks a
+ * brick, the next three bits hold its strategy and the low four bits its hit points. Files are
+ * memory-mapped rather than read, and every cell is checked once when the file is loaded, a single pass
+ * over its bytes, so a corrupt file is rejected up front instead of breaking the wall it builds.
+ */
+public class Level {
+
+    /**
+     * The extension of level files.
+     */
+    public static final String FILE_EXTENSION = ".lvl";
+
+    /**
+     * The largest number of hit points a brick can have.
+     */
+    public static final int MAX_HIT_POINTS = 0x0f;
+
+    static final int MAGIC = 0x424c564c; // "BLVL"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int PRESENT_BIT = 0x80;
+    static final int STRATEGY_SHIFT = 4;
+    static final int STRATEGY_MASK = 0x07;
+    static final int RANDOM_STRATEGY = STRATEGY_MASK;
+
+    private static final StrategyType[] STRATEGY_TYPES = StrategyType.values();
+
+    private final ByteBuffer cells;
+    private final int rows;
+    private final int columns;
+    private final long loadNanos;
+
+    /**
+     * Constructs a new Level over its cell bytes.
+     */
+    private Level(ByteBuffer cells, int rows, int columns, long loadNanos) {
+        this.cells = cells;
+        this.rows = rows;
+        this.columns = columns;
+        this.loadNanos = loadNanos;
+    }
+
+    /**
+     * Maps a level file into memory and validates its header and cells.
+     *
+     * @param path The level file.
+     * @return The level.
+     * @throws IOException If the file cannot be read or is not a valid level file, e.g. it has no rows
+     *                     or columns, or a brick with an unknown strategy or no hit points.
+     */
+    public static Level load(Path path) throws IOException {
+        long start = System.nanoTime();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IOException("Not a Bricker level file: " + path);
+        }
+        int rows = buffer.getInt(8);
+        int columns = buffer.getInt(12);
+        if (rows <= 0 || columns <= 0 || buffer.limit() != HEADER_BYTES + (long) rows * columns) {
+            throw new IOException("Truncated or corrupt level file: " + path);
+        }
+        for (int i = HEADER_BYTES; i < buffer.limit(); i++) {
+            int cell = buffer.get(i);
+            if ((cell & PRESENT_BIT) == 0) {
+                continue;
+            }
+            int code = (cell >> STRATEGY_SHIFT) & STRATEGY_MASK;
+            if ((code != RANDOM_STRATEGY && code >= STRATEGY_TYPES.length) || (cell & MAX_HIT_POINTS) == 0) {
+                int index = i - HEADER_BYTES;
+                throw new IOException(String.format("Invalid brick at row %d, column %d of level file %s",
+                        index / columns + 1, index % columns + 1, path));
+            }
+        }
+        buffer.position(HEADER_BYTES);
+        return new Level(buffer.slice(), rows, columns, System.nanoTime() - start);
+    }
+
+    /**
+     * @return The number of rows of the wall.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The number of columns of the wall.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param row    The row of a cell.
+     * @param column The column of a cell.
+     * @return True if the cell holds a brick.
+     */
+    public boolean hasBrick(int row, int column) {
+        return (cell(row, column) & PRESENT_BIT) != 0;
+    }
+
+    /**
+     * @param row    The row of a cell holding a brick.
+     * @param column The column of a cell holding a brick.
+     * @return The strategy type of the brick, or null if it is picked at random when the wall is built.
+     */
+    public StrategyType getStrategy(int row, int column) {
+        int code = (cell(row, column) >> STRATEGY_SHIFT) & STRATEGY_MASK;
+        return code == RANDOM_STRATEGY ? null : STRATEGY_TYPES[code];
+    }
+
+    /**
+     * @param row    The row of a cell holding a brick.
+     * @param column The column of a cell holding a brick.
+     * @return The number of hits the brick takes to break.
+     */
+    public int getHitPoints(int row, int column) {
+        return cell(row, column) & MAX_HIT_POINTS;
+    }
+
+    /**
+     * @return The size of the file, in bytes.
+     */
+    public long getSizeBytes() {
+        return HEADER_BYTES + (long) rows * columns;
+    }
+
+    /**
+     * @return The time it took to map and validate the file, in nanoseconds.
+     */
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    /**
+     * Returns whether a command line argument names a level file.
+     *
+     * @param arg The argument.
+     * @return True if the argument ends with the level file extension.
+     */
+    public static boolean isLevelFile(String arg) {
+        return arg.endsWith(FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the raw byte of a cell.
+     */
+    private int cell(int row, int column) {
+        return cells.get(row * columns + column);
+    }
+}
@@ -0,0 +1,127 @@
+package bricker.levels;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The LevelConverter class converts a human-readable layout file into a binary level file.
+ * Each non-empty line of a layout is a row of whitespace-separated cells, and lines starting with '#'
+ * are comments. A cell is either '.' for no brick, or a strategy letter optionally followed by the
+ * brick's hit points (1 by default): B basic, P puck, S second paddle, C camera, H heart, D double,
+ * or ? for a strategy picked at random when the wall is built. Short rows are padded with empty cells.
+ * For example, "? ? B3 . D" is a row of two random bricks, a basic brick taking three hits, a gap
+ * and a double brick.
+ */
+public class LevelConverter {
+
+    private static final String COMMENT_PREFIX = "#";
+    private static final String EMPTY_CELL = ".";
+    private static final String STRATEGY_LETTERS = "BPSCHD"; // In StrategyType order
+    private static final char RANDOM_LETTER = '?';
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /**
+     * Converts a layout into the bytes of a binary level file.
+     *
+     * @param layoutLines The lines of the layout.
+     * @return The level file contents.
+     * @throws IllegalArgumentException If a cell is malformed or the layout has no cells.
+     */
+    public static ByteBuffer convert(List<String> layoutLines) {
+        List<String[]> rows = new ArrayList<>();
+        int columns = 0;
+        for (String line : layoutLines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+            String[] cells = trimmed.split("\\s+");
+            rows.add(cells);
+            columns = Math.max(columns, cells.length);
+        }
+        // A wall needs at least one cell, or the width of its bricks cannot be computed
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Layout has no rows");
+        }
+
+        ByteBuffer level = ByteBuffer.allocate(Level.HEADER_BYTES + rows.size() * columns);
+        level.putInt(Level.MAGIC);
+        level.putShort(Level.VERSION);
+        level.putShort((short) 0); // Reserved
+        level.putInt(rows.size());
+        level.putInt(columns);
+        for (int row = 0; row < rows.size(); row++) {
+            String[] cells = rows.get(row);
+            for (int column = 0; column < columns; column++) {
+                level.put(column < cells.length ? encodeCell(cells[column], row, column) : 0);
+            }
+        }
+        level.flip();
+        return level;
+    }
+
+    /**
+     * Encodes a single cell of a layout.
+     */
+    private static byte encodeCell(String cell, int row, int column) {
+        if (cell.equals(EMPTY_CELL)) {
+            return 0;
+        }
+        char letter = Character.toUpperCase(cell.charAt(0));
+        int strategy = letter == RANDOM_LETTER ? Level.RANDOM_STRATEGY : STRATEGY_LETTERS.indexOf(letter);
+        int hitPoints = 1;
+        try {
+            if (cell.length() > 1) {
+                hitPoints = Integer.parseInt(cell.substring(1));
+            }
+        } catch (NumberFormatException e) {
+            hitPoints = -1;
+        }
+        if (strategy < 0 || hitPoints < 1 || hitPoints > Level.MAX_HIT_POINTS) {
+            throw new IllegalArgumentException(String.format("Invalid cell '%s' at row %d, column %d",
+                    cell, row + 1, column + 1));
+        }
+        return (byte) (Level.PRESENT_BIT | strategy << Level.STRATEGY_SHIFT | hitPoints);
+    }
+
+    /**
+     * Converts a layout file into a binary level file, then maps it back and reports its metrics.
+     *
+     * @param args Command line arguments: layoutFile levelFile.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelConverter <layoutFile> <levelFile" + Level.FILE_EXTENSION + ">");
+            return;
+        }
+        ByteBuffer contents = convert(Files.readAllLines(Paths.get(args[0])));
+        Path levelPath = Paths.get(args[1]);
+        try (FileChannel channel = FileChannel.open(levelPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+
+        Level level = Level.load(levelPath);
+        int bricks = 0;
+        for (int row = 0; row < level.getRows(); row++) {
+            for (int column = 0; column < level.getColumns(); column++) {
+                if (level.hasBrick(row, column)) {
+                    bricks++;
+                }
+            }
+        }
+        System.out.printf("Wrote %dx%d level with %d bricks (%d bytes), mapped in %.3f ms%n",
+                level.getRows(), level.getColumns(), bricks, level.getSizeBytes(),
+                level.getLoadNanos() / NANOS_PER_MILLI);
+    }
+}
@@ -1,6 +1,29 @@
 package bricker.main;
 
+import bricker.audio.ClipSoundBackend;
+import bricker.audio.SilentSoundBackend;
+import bricker.audio.SoundMixer;
+import bricker.brick_strategies.StrategyWeights;
+import bricker.collisions.BrickGrid;
+import bricker.collisions.BrickGridCollection;
+import bricker.collisions.CollisionMatrix;
+import bricker.collisions.SweptCollider;
+import bricker.effects.EffectApplier;
+import bricker.effects.EffectType;
 import bricker.gameobjects.*;
+import bricker.levels.BrickStore;
+import bricker.levels.BrickStreamer;
+import bricker.levels.Level;
+import bricker.metrics.AllocationMeter;
+import bricker.metrics.FrameStats;
+import bricker.metrics.StartupTrace;
+import bricker.rendering.StaticLayerCache;
+import bricker.replay.InputRecorder;
+import bricker.snapshot.GameSnapshot;
+import bricker.snapshot.GameSnapshotter;
+import bricker.snapshot.RestorableRandom;
+import bricker.timing.FixedTimestep;
+import bricker.timing.InterpolationBuffer;
 import danogl.GameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
@@ -13,7 +36,12 @@ import danogl.util.Counter;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.logging.Logger;
 
 /**
  * The BrickerGameManager class extends the GameManager class and manages the main game logic,
@@ -24,27 +52,52 @@ import java.util.Random;
 public class BrickerGameManager extends GameManager {
 
     // Game configuration constants
-    private static final String WINDOW_TITLE = "Bricker";
     private static final String WIN_PROMPT_MSG = "You win! Play again?";
     private static final String LOSE_PROMPT_MSG = "You lose! Play again?";
-    private static final int WINDOW_WIDTH = 700;
-    private static final int WINDOW_HEIGHT = 500;
     private static final int BALL_INITIAL_SPEED = 200;
     private static final int HEART_OFFSET_FROM_BOTTOM = 25;
     private static final int MAX_LIVES = 4;
     private static final int DANGER_ZONE = 2;
     private static final int LAST_CHANCE = 1;
     private static final int NUMBER_OF_ARGUMENTS = 2;
-    private static final int DEFAULT_ROWS_OF_BRICKS = 7;
-    private static final int DEFAULT_BRICKS_PER_ROW = 8;
+    private static final int SEED_ARGUMENT = 2;
+    private static final int RECORDING_ARGUMENT = 3;
     private static final int PADDLE_OFFSET_FROM_BOTTOM = 40;
     private static final int ICONS_SPACE = 5;
-    private static final int PUCKS_TO_SPAWN = 2;
     private static final int MAX_AMOUNT_OF_PADDLES = 2;
-    private static final int MAX_CAMERA_COLLISION = 5;  // Hits to follow the ball including initial hit
     private static final float CENTER_RATIO = 0.5f;
     private static final float CAMERA_SCALE_FACTOR = 1.2f;
+    private static final int PUCK_POOL_CAPACITY = 64;
+    private static final int PUCK_POOL_PREWARM = 8;
+    private static final int HEART_POOL_CAPACITY = 16;
+    private static final int HEART_POOL_PREWARM = 2;
+    private static final int FRAME_STATS_LOG_INTERVAL = 10; // Seconds
+    private static final int EFFECT_BUFFER_CAPACITY = 64;
+    private static final int MAX_SPAWN_EFFECTS_PER_FRAME = 32;
+    private static final long CHECKSUM_PRIME = 31;
+    private static final int STREAMING_BRICK_THRESHOLD = 4096; // Larger walls only build nearby bricks
+    private static final float DEFAULT_STEPS_PER_SECOND = 60;
 
+    /**
+     * Constant for the title of the game window.
+     */
+    public static final String WINDOW_TITLE = "Bricker";
+    /**
+     * Constant for the width of the game window.
+     */
+    public static final int WINDOW_WIDTH = 700;
+    /**
+     * Constant for the height of the game window.
+     */
+    public static final int WINDOW_HEIGHT = 500;
+    /**
+     * Constant for the default number of brick rows.
+     */
+    public static final int DEFAULT_ROWS_OF_BRICKS = 7;
+    /**
+     * Constant for the default number of bricks per row.
+     */
+    public static final int DEFAULT_BRICKS_PER_ROW = 8;
     /**
      * Constant for the deault number of lives the player starts with.
      */
@@ -65,22 +118,63 @@ public class BrickerGameManager extends GameManager {
      * Constant for the thickness of the walls around the game area.
      */
     public static final int WALL_THICKNESS = 10;
+    /**
+     * The autopilot skill of a game whose paddles are steered by the arrow keys.
+     */
+    public static final float NO_AUTOPILOT = -1;
 
     // Instance variables
     private final Vector2 windowDimensions;
     private final int numOfBricksRows;
     private final int numOfBricksPerRow;
-    private int cameraStopCounter;
+    private final Level level;
     private GameObject[] lifeHearts;
     private Ball gameBall;
-    private final Random rand = new Random();
+    private final long seed;
+    private final RestorableRandom rand;
     private UserInputListener inputListener;
     private WindowController windowController;
     private final Counter paddleCount;
     private final Counter lifeCount;
     private Counter brickCount;
     private GameObjectsFactory gameObjectsFactory;
+    private AssetCache assetCache;
+    private SoundMixer soundMixer;
+    private AssetPreloader assetPreloader;
+    private final StartupTrace startupTrace;
+    private GameObjectPool<Puck> puckPool;
+    private GameObjectPool<Heart> heartPool;
+    private final List<GameObject> movingObjects;
+    private final List<GameObject> pendingRemovals;
+    private final FrameStats frameStats;
+    private final EffectApplier effectApplier;
+    private final GameSnapshotter gameSnapshotter;
+    private InputRecorder inputRecorder;
+    private boolean closing;
+    private boolean gameOver;
+    private final FixedTimestep fixedTimestep;
+    private final InterpolationBuffer interpolationBuffer;
+    private final SweptCollider sweptCollider;
+    private boolean sweptCollisions = true;
     private TextRenderable livesTextDisplay;
+    private boolean headless;
+    private BrickGridCollection brickGridCollection;
+    private BrickStreamer brickStreamer;
+    private boolean staticLayerCaching = true;
+    private StaticLayerCache staticLayerCache;
+    private Camera headlessCamera;
+    private Vector2 cameraDimensions;
+    private Paddle paddle;
+    private SecondPaddle secondPaddle;
+    private Brick[] wallBricks;
+    private Wall[] walls;
+    private boolean warmRestart = true;
+    private GameSnapshot initialSnapshot;
+    private boolean restartPending;
+    private int warmRestarts;
+    private long warmRestartNanos;
+    private float autopilotSkill = NO_AUTOPILOT;
+    private StrategyWeights strategyWeights = StrategyWeights.defaults();
 
     /**
      * Constructs a new BrickerGameManager with the specified window title, dimensions,
@@ -94,12 +188,75 @@ public class BrickerGameManager extends GameManager {
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int numOfBricksRows,
                               int numOfBricksPerRow) {
+        this(windowTitle, windowDimensions, numOfBricksRows, numOfBricksPerRow, new Random().nextLong());
+    }
+
+    /**
+     * Constructs a new BrickerGameManager whose randomness all comes from a single generator with the
+     * given seed, so that two games with the same seed and the same input play out identically.
+     *
+     * @param windowTitle       The title of the game window.
+     * @param windowDimensions  The dimensions of the game window.
+     * @param numOfBricksRows   The number of rows of bricks.
+     * @param numOfBricksPerRow The number of bricks per row.
+     * @param seed              The seed of the game's random generator.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int numOfBricksRows,
+                              int numOfBricksPerRow, long seed) {
+        this(windowTitle, windowDimensions, numOfBricksRows, numOfBricksPerRow, null, seed);
+    }
+
+    /**
+     * Constructs a new BrickerGameManager whose brick wall is laid out by a level file.
+     *
+     * @param windowTitle      The title of the game window.
+     * @param windowDimensions The dimensions of the game window.
+     * @param level            The level giving the presence, strategy and hit points of every brick.
+     * @param seed             The seed of the game's random generator.
+     */
+    public BrickerGameManager(String windowTitle, Vector2 windowDimensions, Level level, long seed) {
+        this(windowTitle, windowDimensions, level.getRows(), level.getColumns(), level, seed);
+    }
+
+    /**
+     * Constructs a new BrickerGameManager with either a uniform wall or a level.
+     */
+    private BrickerGameManager(String windowTitle, Vector2 windowDimensions, int numOfBricksRows,
+                               int numOfBricksPerRow, Level level, long seed) {
         super(windowTitle, windowDimensions);
+        this.level = level;
+        this.seed = seed;
+        this.rand = new RestorableRandom(seed);
         this.windowDimensions = windowDimensions;
         this.numOfBricksRows = numOfBricksRows;
         this.numOfBricksPerRow = numOfBricksPerRow;
         this.lifeCount = new Counter(DEFAULT_LIVES);
         this.paddleCount = new Counter();
+        this.movingObjects = new ArrayList<>();
+        this.pendingRemovals = new ArrayList<>();
+        this.frameStats = new FrameStats(FRAME_STATS_LOG_INTERVAL);
+        this.effectApplier = new EffectApplier(this, EFFECT_BUFFER_CAPACITY, MAX_SPAWN_EFFECTS_PER_FRAME);
+        this.gameSnapshotter = new GameSnapshotter(this, effectApplier);
+        this.fixedTimestep = new FixedTimestep(DEFAULT_STEPS_PER_SECOND);
+        this.interpolationBuffer = new InterpolationBuffer();
+        this.sweptCollider = new SweptCollider(frameStats);
+        this.startupTrace = new StartupTrace();
+    }
+
+    /**
+     * Runs the game in a window. The game's assets start decoding on worker threads before the window
+     * is created, so initialization only waits for the assets not decoded by the time it needs them.
+     */
+    @Override
+    public void run() {
+        if (assetCache == null && assetPreloader == null) {
+            assetPreloader = new AssetPreloader();
+            GameObjectsFactory.preloadAssets(assetPreloader);
+            assetPreloader.shutdown();
+            startupTrace.record(StartupTrace.ASSET_DECODE, assetPreloader.getStartNanos(), -1);
+        }
+        startupTrace.begin(StartupTrace.WINDOW);
+        super.run();
     }
 
     /**
@@ -114,18 +271,72 @@ public class BrickerGameManager extends GameManager {
     @Override
     public void initializeGame(ImageReader imageReader, SoundReader soundReader,
                                UserInputListener inputListener, WindowController windowController) {
-        super.initializeGame(imageReader, soundReader, inputListener, windowController);
+        // Only the first game is traced, resets are not part of the startup
+        boolean tracing = !startupTrace.isComplete();
+        if (tracing) {
+            startupTrace.end(StartupTrace.WINDOW);
+            startupTrace.begin(StartupTrace.INITIALIZE);
+        }
+        if (headless) {
+            // No GUI component exists, so only set up what the simulation itself needs
+            setCamera(null);
+        } else {
+            super.initializeGame(imageReader, soundReader, inputListener, windowController);
+        }
+        // Replace the default collection with one that indexes the brick wall in a grid
+        brickGridCollection = new BrickGridCollection(windowController.messages());
+        setGameObjectsCollection(brickGridCollection);
+        brickGridCollection.setFrameStats(frameStats);
+        frameStats.setLiveObjectSource(brickGridCollection);
         this.inputListener = inputListener;
         this.windowController = windowController;
-        this.gameObjectsFactory = new GameObjectsFactory(this, imageReader, soundReader, inputListener);
+        this.cameraDimensions = windowController.getWindowDimensions().mult(CAMERA_SCALE_FACTOR);
+        if (assetCache == null) {
+            // The cache outlives game resets, so decoded assets are reused by every following game
+            assetCache = new AssetCache(imageReader, soundReader);
+            assetCache.setAssetPreloader(assetPreloader);
+        }
+        if (soundMixer == null) {
+            // The mixer outlives game resets too, and a headless game never opens an audio device
+            soundMixer = headless ? new SoundMixer(new SilentSoundBackend(), false)
+                    : new SoundMixer(new ClipSoundBackend(), true);
+        }
+        this.gameObjectsFactory = new GameObjectsFactory(this, assetCache, inputListener);
+        movingObjects.clear();
+        secondPaddle = null;
+        pendingRemovals.clear();
+        effectApplier.clear();
+        interpolationBuffer.clear();
+        sweptCollider.clear();
+        fixedTimestep.reset();
+        gameOver = false;
+        puckPool = new GameObjectPool<>(() -> (Puck) gameObjectsFactory.buildObject(Puck.TAG),
+                PUCK_POOL_CAPACITY, PUCK_POOL_PREWARM);
+        heartPool = new GameObjectPool<>(() -> (Heart) gameObjectsFactory.buildObject(Heart.TAG),
+                HEART_POOL_CAPACITY, HEART_POOL_PREWARM);
 
         // Initialize game objects
         backgroundCreator();
+        brickLayerCreator();
         ballCreator();
         paddleCreator();
         wallsCreator();
+        if (tracing) {
+            startupTrace.begin(StartupTrace.WALL_BUILD);
+        }
         bricksCreator();
+        if (tracing) {
+            startupTrace.end(StartupTrace.WALL_BUILD);
+        }
         createLifeUI();
+        // The creators only waited for the assets they use; the rest are read before the game runs
+        gameObjectsFactory.preloadAssets();
+        // Later games restart from this snapshot instead of initializing again
+        initialSnapshot = warmRestart ? captureSnapshot() : null;
+        if (tracing) {
+            startupTrace.end(StartupTrace.INITIALIZE);
+            startupTrace.begin(StartupTrace.FIRST_FRAME);
+        }
     }
 
     //*******************************
@@ -141,23 +352,57 @@ public class BrickerGameManager extends GameManager {
         gameObjects().addGameObject(bg, Layer.BACKGROUND);
     }
 
+    /**
+     * Creates the pre-composited image of the brick wall, drawn right above the background, if static
+     * layer caching is on. Bricks added from then on are drawn into it instead of drawing themselves.
+     */
+    private void brickLayerCreator() {
+        if (!staticLayerCaching) {
+            staticLayerCache = null;
+            return;
+        }
+        BrickLayer brickLayer = (BrickLayer) gameObjectsFactory.buildObject(BrickLayer.TAG);
+        gameObjects().addGameObject(brickLayer, Layer.BACKGROUND);
+        staticLayerCache = brickLayer.getStaticLayerCache();
+        brickGridCollection.setStaticLayerCache(staticLayerCache);
+    }
+
     /**
      * Creates the ball for the game.
      */
     private void ballCreator() {
         gameBall = (Ball) gameObjectsFactory.buildObject(Ball.TAG);
         resetBallPosition();
+        gameBall.setSweptCollider(sweptCollisions ? sweptCollider : null);
         gameObjects().addGameObject(gameBall);
+        movingObjects.add(gameBall);
     }
 
     /**
      * Creates the bricks for the game and adds them to the game objects.
      * The number of bricks created is determined by the number of brick rows
      * and the number of bricks per row specified during initialization.
-     * Each brick is positioned based on the specified spacing between bricks.
+     * Each brick is positioned based on the specified spacing between bricks,
+     * and indexed in a grid whose cells match this layout.
+     * Walls larger than the streaming threshold are only written into a compact brick store, and their
+     * bricks are built as the play area reaches them (see BrickStreamer).
      */
     private void bricksCreator() {
-        brickCount = new Counter(numOfBricksPerRow * numOfBricksRows);
+        brickCount = new Counter();
+        float brickWidth = gameObjectsFactory.calculateBrickWidth();
+        BrickGrid brickGrid = new BrickGrid(WALL_THICKNESS + BRICK_SPACING,
+                WALL_THICKNESS + BRICK_SPACING, brickWidth + BRICK_SPACING, BRICK_HEIGHT + BRICK_SPACING,
+                numOfBricksRows, numOfBricksPerRow);
+        brickGridCollection.setBrickGrid(brickGrid);
+        sweptCollider.setBrickGrid(brickGrid);
+        if ((long) numOfBricksRows * numOfBricksPerRow > STREAMING_BRICK_THRESHOLD) {
+            wallBricks = null;
+            streamedBricksCreator(brickGrid, brickWidth);
+            return;
+        }
+        brickStreamer = null;
+        // Bricks are kept by cell, so snapshots can put broken bricks back in place
+        wallBricks = new Brick[numOfBricksRows * numOfBricksPerRow];
 
         // Start position for the first row of bricks
         float currentY = WALL_THICKNESS + BRICK_SPACING;
@@ -167,32 +412,55 @@ public class BrickerGameManager extends GameManager {
             float currentX = WALL_THICKNESS + BRICK_SPACING;
 
             for (int col = 0; col < numOfBricksPerRow; col++) {
-                // Calculate position for the current brick
-                Vector2 brickPosition = new Vector2(currentX, currentY);
-
-                Brick brick = (Brick) gameObjectsFactory.buildObject(Brick.TAG);
-                brick.setTopLeftCorner(brickPosition);
-                gameObjects().addGameObject(brick, Layer.STATIC_OBJECTS);
+                if (level == null || level.hasBrick(row, col)) {
+                    // Calculate position for the current brick
+                    Vector2 brickPosition = new Vector2(currentX, currentY);
+
+                    Brick brick = level == null ? (Brick) gameObjectsFactory.buildObject(Brick.TAG)
+                            : gameObjectsFactory.buildBrick(level.getStrategy(row, col),
+                            level.getHitPoints(row, col));
+                    brick.setTopLeftCorner(brickPosition);
+                    gameObjects().addGameObject(brick, Layer.STATIC_OBJECTS);
+                    wallBricks[row * numOfBricksPerRow + col] = brick;
+                    brickCount.increment();
+                }
 
                 // Move to the next position for the next brick
-                currentX += BRICK_SPACING + brick.getWidth();
+                currentX += BRICK_SPACING + brickWidth;
             }
             // Move to the next row of bricks
             currentY += BRICK_SPACING + BRICK_HEIGHT;
         }
     }
 
+    /**
+     * Fills a brick store with every brick of a large wall, drawing the plans of double bricks along, then
+     * builds the bricks of the initial play area. Moving objects are checked against the store before the
+     * materialized bricks.
+     *
+     * @param brickGrid  The grid indexing the wall.
+     * @param brickWidth The width of a brick.
+     */
+    private void streamedBricksCreator(BrickGrid brickGrid, float brickWidth) {
+        BrickStore brickStore = new BrickStore(brickGrid, numOfBricksRows, numOfBricksPerRow, brickWidth,
+                BRICK_HEIGHT);
+        brickStreamer = new BrickStreamer(brickStore, brickGrid, numOfBricksRows, numOfBricksPerRow,
+                gameObjectsFactory, gameObjects());
+        brickStreamer.fill(level);
+        brickCount.increaseBy(brickStore.getAliveCount());
+        brickGridCollection.setBrickStore(brickStore);
+        streamBricks();
+    }
 
     /**
      * Creates the paddle for the player and adds it to the game objects.
      * The paddle is positioned at the bottom center of the game window.
      */
     private void paddleCreator() {
-        Paddle paddle = (Paddle) gameObjectsFactory.buildObject(Paddle.TAG);
+        paddle = (Paddle) gameObjectsFactory.buildObject(Paddle.TAG);
         // Calculate the center position for the paddle
-        Vector2 center = new Vector2(windowDimensions.x() * CENTER_RATIO,
+        paddle.transform().setCenter(windowDimensions.x() * CENTER_RATIO,
                 (int) windowDimensions.y() - PADDLE_OFFSET_FROM_BOTTOM);
-        paddle.setCenter(center);
         gameObjects().addGameObject(paddle);
         // Increment the paddle count to track the number of paddles and avoid crossing the limit
         paddleCount.increment();
@@ -206,16 +474,20 @@ public class BrickerGameManager extends GameManager {
     private void wallsCreator() {
         Wall upperWall = (Wall) gameObjectsFactory.buildObject(Wall.TAG);
         gameObjects().addGameObject(upperWall);
+        sweptCollider.addWall(upperWall);
 
         Wall leftWall = (Wall) gameObjectsFactory.buildObject(Wall.TAG);
         leftWall.setDimensions(new Vector2(WALL_THICKNESS, windowDimensions.y() + WALL_THICKNESS));
         leftWall.setTopLeftCorner(Vector2.ZERO);
         gameObjects().addGameObject(leftWall);
+        sweptCollider.addWall(leftWall);
 
         Wall rightWall = (Wall) gameObjectsFactory.buildObject(Wall.TAG);
         rightWall.setDimensions(new Vector2(WALL_THICKNESS, windowDimensions.y() + WALL_THICKNESS));
         rightWall.setTopLeftCorner(new Vector2(windowDimensions.x() - WALL_THICKNESS, 0));
         gameObjects().addGameObject(rightWall);
+        sweptCollider.addWall(rightWall);
+        walls = new Wall[]{upperWall, leftWall, rightWall};
 
         Wall bottomWall = (Wall) gameObjectsFactory.buildObject(Wall.TAG);
         bottomWall.setDimensions(new Vector2(windowDimensions.x(), WALL_THICKNESS));
@@ -259,63 +531,73 @@ public class BrickerGameManager extends GameManager {
     //************************
 
     /**
-     * Creates multiple pucks when a collision occurs with the specified collider object.
-     * Pucks are spawned around the collision point with random velocities.
+     * Queues a side effect of a collision, to be applied once the engine is done with the frame's
+     * collisions. Collision callbacks must queue their effects instead of applying them directly.
+     *
+     * @param type   The type of the effect.
+     * @param target The object the effect applies to.
+     * @return True if the effect was queued, false if it was dropped by the frame's spawn cap.
+     */
+    public boolean queueEffect(EffectType type, GameObject target) {
+        return effectApplier.queue(type, target);
+    }
+
+    /**
+     * Applies the effects queued during the frame's collisions, in the order they were queued.
+     */
+    protected void applyCollisionEffects() {
+        effectApplier.apply();
+    }
+
+    /**
+     * Takes a puck from the pool for a spawn, sweeping its path if swept collisions are on.
      *
-     * @param collider The object that initiated the collision.
+     * @return The puck, not yet in the game.
      */
-    public void puckBallsCreator(GameObject collider) {
-        for (int i = 0; i < PUCKS_TO_SPAWN; i++) {
-            double angle = rand.nextDouble() * Math.PI;
-            float velocityX = (float) Math.cos(angle) * BALL_INITIAL_SPEED;
-            float velocityY = (float) Math.sin(angle) * BALL_INITIAL_SPEED;
-            Puck puck = (Puck) gameObjectsFactory.buildObject(Puck.TAG);
-            puck.setVelocity(new Vector2(velocityX, velocityY));
-            puck.setCenter(collider.getCenter());
-            gameObjects().addGameObject(puck);
+    public Puck acquirePuck() {
+        Puck puck = puckPool.acquire();
+        puck.setSweptCollider(sweptCollisions ? sweptCollider : null);
+        return puck;
+    }
+
+    /**
+     * Adds a moving object, e.g. a spawned puck or heart, to the game and to the registry of moving
+     * objects. The ball is only registered: the manager adds it to the game itself, ahead of the paddles
+     * and walls.
+     *
+     * @param gameObject The moving object.
+     */
+    public void addMovingObject(GameObject gameObject) {
+        if (gameObject != gameBall) {
+            gameObjects().addGameObject(gameObject);
         }
+        movingObjects.add(gameObject);
     }
 
     /**
-     * Creates a second paddle when a collision occurs.
+     * Adds the second paddle to the game, at the center of the window, unless both paddles are already
+     * in play.
      */
-    public void secondPaddleCreator() {
+    public void spawnSecondPaddle() {
         if (paddleCount.value() == MAX_AMOUNT_OF_PADDLES) {
             return;
         }
-        SecondPaddle secondPaddle = (SecondPaddle) gameObjectsFactory.buildObject(SecondPaddle.TAG);
-        secondPaddle.setCenter(windowDimensions.mult(CENTER_RATIO));
+        secondPaddle = (SecondPaddle) gameObjectsFactory.buildObject(SecondPaddle.TAG);
+        secondPaddle.transform().setCenter(windowDimensions.x() * CENTER_RATIO,
+                windowDimensions.y() * CENTER_RATIO);
         gameObjects().addGameObject(secondPaddle);
         // Increment the paddle count to track the number of paddles and avoid crossing the limit
         paddleCount.increment();
+        frameStats.recordSecondPaddleSpawned();
     }
 
     /**
-     * Sets the camera to follow a game object after a collision.
+     * Sets a camera centered on a game object.
      *
-     * @param target The game object to be followed by the collision camera.
-     *               This object will be centered in the camera's view.
+     * @param target The game object to be followed by the camera.
      */
-    public void activateCollisionCamera(GameObject target) {
-        if (target.getTag().equals(Ball.TAG) && camera() == null) {
-            // Create a camera centered on the target object
-            setCamera(new Camera(target, Vector2.ZERO,
-                    windowController.getWindowDimensions().mult(CAMERA_SCALE_FACTOR),
-                    windowController.getWindowDimensions()));
-            // Set the maximum duration for camera movement
-            cameraStopCounter = gameBall.getCollisionCounter() + MAX_CAMERA_COLLISION;
-        }
-    }
-
-    /**
-     * Creates a heart when a collision occurs.
-     *
-     * @param collider The object that initiated the collision.
-     */
-    public void heartCreator(GameObject collider) {
-        Heart heart = (Heart) gameObjectsFactory.buildObject(Heart.TAG);
-        heart.setCenter(collider.getCenter());
-        gameObjects().addGameObject(heart);
+    public void followWithCamera(GameObject target) {
+        setCamera(new Camera(target, Vector2.ZERO, cameraDimensions, windowController.getWindowDimensions()));
     }
 
     /**
@@ -331,17 +613,15 @@ public class BrickerGameManager extends GameManager {
         // Get the position of the last heart icon
         Vector2 lastHeartPos = lifeHearts[lifeCount.value() - 1].getTopLeftCorner();
 
-        // Calculate the position for the new heart icon
-        Vector2 newHeartPos = new Vector2(lastHeartPos.x() + UI_ICON_SIZE + ICONS_SPACE, lastHeartPos.y());
+        // Place the new heart icon right of the last one
         HeartUI heartUI = (HeartUI) gameObjectsFactory.buildObject(HeartUI.TAG);
-        heartUI.setTopLeftCorner(newHeartPos);
+        heartUI.transform().setTopLeftCorner(lastHeartPos.x() + UI_ICON_SIZE + ICONS_SPACE, lastHeartPos.y());
         gameObjects().addGameObject(heartUI, Layer.UI);
 
         // Update the life count and refresh the UI
         lifeHearts[lifeCount.value()] = heartUI;
         lifeCount.increment();
-        livesTextDisplay.setString(Integer.toString(lifeCount.value()));
-        refreshLivesTextColor();
+        refreshLivesText();
     }
 
     //************************
@@ -349,21 +629,268 @@ public class BrickerGameManager extends GameManager {
     //************************
 
     /**
-     * Updates the game state on each frame.
+     * Updates the game state on each frame. The frame's time, scaled by the time scale, is simulated
+     * in fixed steps, so the simulation does not depend on the frame rate. Time left over after the
+     * last full step carries over to the next frame, and rendering interpolates by it.
      *
      * @param deltaTime The time that has passed since the last update.
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
+        long frameStart = System.nanoTime();
+        long frameBytes = AllocationMeter.threadBytes();
+        if (inputRecorder != null) {
+            inputRecorder.recordFrame(inputListener, deltaTime);
+        }
+        int steps = fixedTimestep.advance(deltaTime);
+        soundMixer.update(deltaTime);
+        long engineNanos = 0;
+        long engineBytes = 0;
+        for (int step = 0; step < steps && !gameOver; step++) {
+            if (step == steps - 1 && !headless) {
+                // Rendering interpolates from the positions before the frame's last step
+                interpolationBuffer.capture(gameObjects().objectsInLayer(Layer.DEFAULT));
+            }
+            long stepStart = System.nanoTime();
+            long stepBytes = AllocationMeter.threadBytes();
+            super.update(fixedTimestep.getStepSeconds());
+            engineNanos += System.nanoTime() - stepStart;
+            engineBytes += AllocationMeter.threadBytes() - stepBytes;
+            simulateStep();
+        }
+        if (restartPending) {
+            warmRestart();
+        }
+        if (headless && !startupTrace.isComplete()) {
+            // A headless game is not rendered, so its first frame is shown once it is updated
+            completeStartupTrace();
+        }
+        frameStats.recordSteps(steps);
+        frameStats.recordFrame(engineNanos, System.nanoTime() - frameStart - engineNanos);
+        if (closing && inputRecorder != null) {
+            inputRecorder.recordClose(this);
+        }
+        AllocationMeter.recordFrame(engineBytes, AllocationMeter.threadBytes() - frameBytes - engineBytes);
+    }
+
+    /**
+     * Runs the game's own logic after the engine simulated a step: collision effects, streaming,
+     * camera, game end and out of bounds checks.
+     */
+    private void simulateStep() {
+        applyCollisionEffects();
+        if (brickStreamer != null) {
+            streamBricks();
+        }
         if (inputListener.isKeyPressed(KeyEvent.VK_W)) {
             handleWinCondition();
         }
-        if (gameBall.getCollisionCounter() >= cameraStopCounter) {
+        if (gameBall.getCollisionCounter() >= effectApplier.getCameraStopCounter()) {
             setCamera(null);
         }
         evaluateGameEnd();
         removeOutOfBoundsObjects();
+        // Objects removed during this step may be reused from the next step on
+        puckPool.reclaim();
+        heartPool.reclaim();
+    }
+
+    /**
+     * Renders the game objects in layer order, as the engine does, and records the number of objects
+     * drawn in the frame statistics. Moving objects are drawn between their positions before and after
+     * the last simulated step, by the fraction of a step not simulated yet. In headless mode, e.g. when
+     * benchmarking rendering into an off-screen image, the lives text is skipped.
+     *
+     * @param g The graphics to render with.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        Camera camera = camera();
+        float alpha = fixedTimestep.getAlpha();
+        int drawCalls = 0;
+        interpolationBuffer.rewind();
+        for (GameObject gameObject : gameObjects()) {
+            if (headless && CollisionMatrix.typeOf(gameObject) == TextUI.TYPE_ID) {
+                // Text layout requires a screen, as in refreshLivesText
+                continue;
+            }
+            interpolationBuffer.render(gameObject, g, camera, alpha);
+            if (gameObject.renderer().getRenderable() != null) {
+                drawCalls++;
+            }
+        }
+        frameStats.recordDrawCalls(drawCalls);
+        if (!startupTrace.isComplete()) {
+            completeStartupTrace();
+        }
+    }
+
+    /**
+     * Completes the startup trace once the first frame is shown, and logs it when the game runs in a
+     * window.
+     */
+    private void completeStartupTrace() {
+        startupTrace.markFirstFrame();
+        if (assetPreloader != null) {
+            startupTrace.record(StartupTrace.ASSET_DECODE, assetPreloader.getStartNanos(),
+                    assetPreloader.getLastDecodedNanos());
+        }
+        if (!headless) {
+            Logger.getLogger(BrickerGameManager.class.getName()).info(startupTrace.format());
+        }
+    }
+
+    //************************
+    //       SNAPSHOTS
+    //************************
+
+    /**
+     * Captures the full state of the game in a compact binary snapshot. Must be called between frames.
+     *
+     * @return The snapshot.
+     * @see GameSnapshotter#capture()
+     */
+    public GameSnapshot captureSnapshot() {
+        return gameSnapshotter.capture();
+    }
+
+    /**
+     * Restores the game to the state of a snapshot, resetting its existing objects in place. Broken
+     * bricks are put back, spawned objects come from the pools, and nothing is built unless the game
+     * never had an object the snapshot needs. Must be called between frames. The game then continues
+     * as one initialized in that state would: the moving objects rejoin the game on the next step, and
+     * collisions in progress start over as new contacts. A streamed wall's bricks are built again around
+     * the play area, as the streamer would build them.
+     *
+     * @param snapshot The snapshot, captured by a game with the same wall.
+     * @throws IllegalArgumentException If the snapshot was captured with different wall dimensions.
+     */
+    public void restoreSnapshot(GameSnapshot snapshot) {
+        if (snapshot.getRows() != numOfBricksRows || snapshot.getColumns() != numOfBricksPerRow) {
+            throw new IllegalArgumentException("Snapshot of a " + snapshot.getRows() + "x"
+                    + snapshot.getColumns() + " wall, expected " + numOfBricksRows + "x" + numOfBricksPerRow);
+        }
+        gameSnapshotter.restore(snapshot.getState(), false);
+    }
+
+    /**
+     * Starts a new game by restoring the snapshot taken when the game was initialized. As a reset
+     * would, the ball's direction and the bricks' strategies are drawn anew from the random generator,
+     * in the same order, so a restarted game plays out exactly as a re-initialized one.
+     */
+    private void warmRestart() {
+        long start = System.nanoTime();
+        restartPending = false;
+        gameSnapshotter.restore(initialSnapshot.getState(), true);
+        warmRestarts++;
+        warmRestartNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Begins restoring a snapshot: takes the moving objects, paddles and walls out of the game, returning
+     * spawned objects to their pools, and drops the frame's pending effects and removals. The engine
+     * updates objects before applying the frame's additions, so objects added during initialization skip
+     * their first update. The ball, paddle and walls therefore join the game again right away, in the
+     * order initialization adds them, and the restored moving objects and second paddle follow, so a
+     * restored game steps as a new one does. Bricks leaving the game must be removed before this call.
+     */
+    public void beginRestore() {
+        for (int i = 0; i < movingObjects.size(); i++) {
+            GameObject gameObject = movingObjects.get(i);
+            if (gameObjects().removeGameObject(gameObject) && gameObject != gameBall) {
+                recycle(gameObject);
+            }
+        }
+        movingObjects.clear();
+        gameObjects().removeGameObject(gameBall);
+        gameObjects().removeGameObject(paddle);
+        if (secondPaddle != null) {
+            gameObjects().removeGameObject(secondPaddle);
+        }
+        for (Wall wall : walls) {
+            gameObjects().removeGameObject(wall);
+        }
+        // An object removed and added again before the changes are applied would stay removed
+        brickGridCollection.flushChanges();
+        puckPool.reclaim();
+        heartPool.reclaim();
+        effectApplier.clear();
+        pendingRemovals.clear();
+        interpolationBuffer.clear();
+        gameOver = false;
+        gameObjects().addGameObject(gameBall);
+        gameObjects().addGameObject(paddle);
+        for (Wall wall : walls) {
+            gameObjects().addGameObject(wall);
+        }
+    }
+
+    /**
+     * Ends restoring a snapshot: the second paddle joins the game if it is in play, the life icons and
+     * text show the restored lives, the camera is set, and a streamed wall builds the bricks around the
+     * restored play area.
+     *
+     * @param lives             The restored number of lives.
+     * @param cameraFollowsBall True if the camera follows the ball.
+     */
+    public void endRestore(int lives, boolean cameraFollowsBall) {
+        if (getSecondPaddle() != null) {
+            gameObjects().addGameObject(secondPaddle);
+        }
+        restoreLifeIcons(lives);
+        setCounter(lifeCount, lives);
+        refreshLivesText();
+        if (cameraFollowsBall) {
+            followWithCamera(gameBall);
+        } else {
+            setCamera(null);
+        }
+        if (brickStreamer != null) {
+            // The play area depends on the restored camera and moving objects
+            streamBricks();
+        }
+    }
+
+    /**
+     * Returns the second paddle of a restored game that has both paddles in play, building it if the
+     * game never spawned one. The paddle joins the game as the restore ends.
+     *
+     * @return The second paddle, not yet in the game.
+     */
+    public SecondPaddle restoreSecondPaddle() {
+        if (secondPaddle == null) {
+            secondPaddle = (SecondPaddle) gameObjectsFactory.buildObject(SecondPaddle.TAG);
+        }
+        return secondPaddle;
+    }
+
+    /**
+     * Shows one life icon per life, reusing the icons of lives lost earlier.
+     *
+     * @param lives The number of lives to show.
+     */
+    private void restoreLifeIcons(int lives) {
+        for (int i = lives; i < lifeCount.value(); i++) {
+            gameObjects().removeGameObject(lifeHearts[i], Layer.UI);
+        }
+        for (int i = lifeCount.value(); i < lives; i++) {
+            if (lifeHearts[i] == null) {
+                lifeHearts[i] = gameObjectsFactory.buildObject(HeartUI.TAG);
+            }
+            // Icons are spaced as createLifeUI and incrementLife place them
+            float iconX = WALL_THICKNESS + (i + 1) * (UI_ICON_SIZE + ICONS_SPACE);
+            float iconY = windowDimensions.y() - HEART_OFFSET_FROM_BOTTOM;
+            lifeHearts[i].transform().setTopLeftCorner(iconX, iconY);
+            gameObjects().addGameObject(lifeHearts[i], Layer.UI);
+        }
+    }
+
+    /**
+     * Sets a counter to a value.
+     */
+    private static void setCounter(Counter counter, int value) {
+        counter.reset();
+        counter.increaseBy(value);
     }
 
     //************************
@@ -380,6 +907,15 @@ public class BrickerGameManager extends GameManager {
         return gameObjects().removeGameObject(gameObj, Layer.STATIC_OBJECTS);
     }
 
+    /**
+     * Adds a static game object, e.g. a brick put back by a restore.
+     *
+     * @param gameObj The object to add.
+     */
+    public void addStaticObject(GameObject gameObj) {
+        gameObjects().addGameObject(gameObj, Layer.STATIC_OBJECTS);
+    }
+
     /**
      * Removes a default game object.
      *
@@ -387,7 +923,12 @@ public class BrickerGameManager extends GameManager {
      * @return True if the object was removed, false otherwise.
      */
     public Boolean removeDefaultObject(GameObject gameObj) {
-        return gameObjects().removeGameObject(gameObj, Layer.DEFAULT);
+        if (gameObjects().removeGameObject(gameObj, Layer.DEFAULT)) {
+            movingObjects.remove(gameObj);
+            recycle(gameObj);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -404,22 +945,106 @@ public class BrickerGameManager extends GameManager {
         brickCount.decrement();
     }
 
+    /**
+     * Sets the bricks counter, e.g. when a snapshot is restored.
+     *
+     * @param bricksLeft The number of bricks left.
+     */
+    public void setBricksLeft(int bricksLeft) {
+        setCounter(brickCount, bricksLeft);
+    }
+
+    /**
+     * Sets the paddles counter, e.g. when a snapshot is restored.
+     *
+     * @param paddles The number of paddles in play.
+     */
+    public void setPaddles(int paddles) {
+        setCounter(paddleCount, paddles);
+    }
+
     /**
      * Removes game objects that are out of bounds.
+     * Only balls, pucks and hearts can fall below the window, so only the registry of moving objects
+     * is scanned, and removals are applied once the scan is over.
      */
     private void removeOutOfBoundsObjects() {
-        for (GameObject gameObject : gameObjects()) {
-            if (gameObject.getCenter().y() > windowDimensions.y()) {
-                gameObjects().removeGameObject(gameObject);
+        // Scan backwards so a culled object can be swapped with the last one and removed in O(1)
+        for (int i = movingObjects.size() - 1; i >= 0; i--) {
+            GameObject gameObject = movingObjects.get(i);
+            if (gameObject.getTopLeftCorner().y() + gameObject.getDimensions().y() * CENTER_RATIO
+                    > windowDimensions.y()) {
+                int last = movingObjects.size() - 1;
+                movingObjects.set(i, movingObjects.get(last));
+                movingObjects.remove(last);
+                pendingRemovals.add(gameObject);
             }
         }
+        for (int i = 0; i < pendingRemovals.size(); i++) {
+            GameObject gameObject = pendingRemovals.get(i);
+            if (gameObjects().removeGameObject(gameObject)) {
+                recycle(gameObject);
+            }
+        }
+        pendingRemovals.clear();
+    }
+
+    /**
+     * Moves the streamed part of the wall to the play area: the window, the camera's view if a camera
+     * is set, and the bounds of every moving object.
+     */
+    private void streamBricks() {
+        float minX = 0;
+        float minY = 0;
+        float maxX = windowDimensions.x();
+        float maxY = windowDimensions.y();
+        Camera camera = camera();
+        if (camera != null) {
+            Vector2 cameraTopLeft = camera.getTopLeftCorner();
+            Vector2 cameraDimensions = camera.getDimensions();
+            minX = Math.min(minX, cameraTopLeft.x());
+            minY = Math.min(minY, cameraTopLeft.y());
+            maxX = Math.max(maxX, cameraTopLeft.x() + cameraDimensions.x());
+            maxY = Math.max(maxY, cameraTopLeft.y() + cameraDimensions.y());
+        }
+        for (int i = 0; i < movingObjects.size(); i++) {
+            GameObject gameObject = movingObjects.get(i);
+            Vector2 topLeft = gameObject.getTopLeftCorner();
+            Vector2 dimensions = gameObject.getDimensions();
+            minX = Math.min(minX, topLeft.x());
+            minY = Math.min(minY, topLeft.y());
+            maxX = Math.max(maxX, topLeft.x() + dimensions.x());
+            maxY = Math.max(maxY, topLeft.y() + dimensions.y());
+        }
+        brickStreamer.update(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Returns a removed game object to its pool, if its type is pooled.
+     *
+     * @param gameObject The object that was removed from the game.
+     */
+    private void recycle(GameObject gameObject) {
+        switch (CollisionMatrix.typeOf(gameObject)) {
+            case Puck.TYPE_ID:
+                puckPool.release((Puck) gameObject);
+                break;
+            case Heart.TYPE_ID:
+                heartPool.release((Heart) gameObject);
+                break;
+            default:
+                break;
+        }
     }
 
     /**
      * Respawns the ball at the center of the window with a random velocity.
      */
-    private void resetBallPosition() {
-        gameBall.setCenter(windowDimensions.mult(CENTER_RATIO));
+    public void resetBallPosition() {
+        // GameObject.setCenter(Vector2) goes through a static scratch vector shared by all games,
+        // so objects are centered by coordinates to keep games on separate threads independent
+        gameBall.transform().setCenter(windowDimensions.x() * CENTER_RATIO,
+                windowDimensions.y() * CENTER_RATIO);
         float ballVelX = BALL_INITIAL_SPEED;
         float ballVelY = BALL_INITIAL_SPEED;
         if (rand.nextBoolean()) {
@@ -428,7 +1053,7 @@ public class BrickerGameManager extends GameManager {
         if (rand.nextBoolean()) {
             ballVelY *= -1;
         }
-        gameBall.setVelocity(new Vector2(ballVelX, ballVelY));
+        gameBall.transform().setVelocity(ballVelX, ballVelY);
     }
 
     /**
@@ -436,7 +1061,8 @@ public class BrickerGameManager extends GameManager {
      */
     private void evaluateGameEnd() {
         // Check if the ball is out of bounds
-        double ballHeight = gameBall.getCenter().y();
+        // GameObject.getCenter allocates a vector, so the center is computed from the corner
+        double ballHeight = gameBall.getTopLeftCorner().y() + gameBall.getDimensions().y() * CENTER_RATIO;
         if (ballHeight > windowDimensions.y()) {
             if (lifeCount.value() > 0) {
                 handleSingleLifeLose();
@@ -472,12 +1098,23 @@ public class BrickerGameManager extends GameManager {
      * @param prompt The message to display in the prompt.
      */
     private void showGameOverPrompt(String prompt) {
+        // The game is reset or closed, so the rest of the frame's steps are not simulated
+        gameOver = true;
         if (windowController.openYesNoDialog(prompt)) {
+            if (inputRecorder != null) {
+                inputRecorder.recordReset();
+            }
+            if (initialSnapshot != null) {
+                // Restarted in place once the frame is over, as a reset would be
+                restartPending = true;
+                return;
+            }
             paddleCount.reset();
             lifeCount.reset();
             lifeCount.increaseBy(DEFAULT_LIVES);
             windowController.resetGame();
         } else {
+            closing = true;
             windowController.closeWindow();
         }
     }
@@ -492,6 +1129,17 @@ public class BrickerGameManager extends GameManager {
         lifeCount.decrement();
         gameObjects().removeGameObject(lifeHearts[lifeCount.value()], Layer.UI);
         // Update lives UI text
+        refreshLivesText();
+    }
+
+    /**
+     * Updates the lives text to the current number of lives. Text layout requires a screen,
+     * so the text is left untouched in headless mode.
+     */
+    private void refreshLivesText() {
+        if (headless) {
+            return;
+        }
         livesTextDisplay.setString(Integer.toString(lifeCount.value()));
         refreshLivesTextColor();
     }
@@ -512,6 +1160,296 @@ public class BrickerGameManager extends GameManager {
         }
     }
 
+    /**
+     * Sets the camera of the game. In headless mode the camera is only recorded, since there is no
+     * window to map mouse positions or render through it.
+     *
+     * @param camera The camera to set, or null to use window coordinates.
+     */
+    @Override
+    public void setCamera(Camera camera) {
+        if (headless) {
+            headlessCamera = camera;
+            return;
+        }
+        super.setCamera(camera);
+    }
+
+    /**
+     * Returns the camera of the game.
+     *
+     * @return The current camera, or null if none is set.
+     */
+    @Override
+    public Camera camera() {
+        if (headless) {
+            return headlessCamera;
+        }
+        return super.camera();
+    }
+
+    /**
+     * Returns the random generator of the game. Every random choice of the game must come from it,
+     * so that games with the same seed are reproducible.
+     *
+     * @return The random generator.
+     */
+    public RestorableRandom getRandom() {
+        return rand;
+    }
+
+    /**
+     * Returns the seed of the game's random generator.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the rate of the fixed simulation steps, independently of the frame rate, e.g. 240 for
+     * more accurate collisions. Defaults to 60 steps per second.
+     *
+     * @param stepsPerSecond The simulation rate, in steps per simulated second.
+     */
+    public void setSimulationRate(float stepsPerSecond) {
+        fixedTimestep.setStepsPerSecond(stepsPerSecond);
+    }
+
+    /**
+     * Sets the speed of the simulation relative to real time, e.g. 20 to fast-forward a soak test.
+     * Rendering is unaffected. Defaults to 1.
+     *
+     * @param timeScale The number of simulated seconds per real second.
+     */
+    public void setTimeScale(float timeScale) {
+        fixedTimestep.setTimeScale(timeScale);
+    }
+
+    /**
+     * Sets the recorder capturing the input of every frame, or null to stop recording.
+     *
+     * @param inputRecorder The input recorder.
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+    }
+
+    /**
+     * Computes a checksum of the game state: counters and the exact positions and velocities of
+     * all moving objects. Two runs that played out identically have the same checksum.
+     *
+     * @return The state checksum.
+     */
+    public long computeStateChecksum() {
+        long checksum = brickCount.value();
+        checksum = CHECKSUM_PRIME * checksum + lifeCount.value();
+        checksum = CHECKSUM_PRIME * checksum + paddleCount.value();
+        for (GameObject gameObject : movingObjects) {
+            Vector2 center = gameObject.getCenter();
+            Vector2 velocity = gameObject.getVelocity();
+            checksum = CHECKSUM_PRIME * checksum + Float.floatToIntBits(center.x());
+            checksum = CHECKSUM_PRIME * checksum + Float.floatToIntBits(center.y());
+            checksum = CHECKSUM_PRIME * checksum + Float.floatToIntBits(velocity.x());
+            checksum = CHECKSUM_PRIME * checksum + Float.floatToIntBits(velocity.y());
+        }
+        return checksum;
+    }
+
+    /**
+     * Returns the per-frame performance statistics of the game.
+     *
+     * @return The frame statistics.
+     */
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    /**
+     * Returns the pool of pucks spawned by collisions.
+     *
+     * @return The puck pool.
+     */
+    public GameObjectPool<Puck> getPuckPool() {
+        return puckPool;
+    }
+
+    /**
+     * Returns the pool of hearts spawned by collisions.
+     *
+     * @return The heart pool.
+     */
+    public GameObjectPool<Heart> getHeartPool() {
+        return heartPool;
+    }
+
+    /**
+     * Sets the asset cache used by the game, e.g. to share decoded assets between games.
+     * Must be called before the game is initialized to take effect.
+     *
+     * @param assetCache The asset cache to use.
+     */
+    public void setAssetCache(AssetCache assetCache) {
+        this.assetCache = assetCache;
+    }
+
+    /**
+     * Returns the timeline of the game's startup.
+     *
+     * @return The startup trace.
+     */
+    public StartupTrace getStartupTrace() {
+        return startupTrace;
+    }
+
+    /**
+     * Returns the mixer playing the game's sounds.
+     *
+     * @return The sound mixer, or null if the game was not initialized yet.
+     */
+    public SoundMixer getSoundMixer() {
+        return soundMixer;
+    }
+
+    /**
+     * Returns the asset cache of the game.
+     *
+     * @return The asset cache, or null if the game was not initialized yet.
+     */
+    public AssetCache getAssetCache() {
+        return assetCache;
+    }
+
+    /**
+     * Sets whether the game runs without a window. In headless mode the game is driven externally
+     * (see bricker.headless.HeadlessEngine) and initialization skips the GUI component entirely.
+     *
+     * @param headless True to run without a window, false otherwise.
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+        // Nothing is drawn without a window, so there is no point compositing the wall
+        this.staticLayerCaching = !headless;
+    }
+
+    /**
+     * Sets whether bricks are drawn through a pre-composited image of the wall rather than one by one.
+     * It is on by default, and off in headless mode. Must be called before the game is initialized.
+     *
+     * @param staticLayerCaching True to composite the wall, false to draw every brick on its own.
+     */
+    public void setStaticLayerCaching(boolean staticLayerCaching) {
+        this.staticLayerCaching = staticLayerCaching;
+    }
+
+    /**
+     * Sets whether balls and pucks are swept along their path against the bricks and walls, rather than
+     * moved by a whole step and checked where they land. It is on by default. Must be called before the
+     * game is initialized.
+     *
+     * @param sweptCollisions True to sweep balls and pucks, false to leave them to the discrete check.
+     */
+    public void setSweptCollisions(boolean sweptCollisions) {
+        this.sweptCollisions = sweptCollisions;
+    }
+
+    /**
+     * Sets whether a new game restarts in place from a snapshot of the first one, rather than being
+     * initialized again. It is on by default, and only applies to walls that are not streamed. Must be
+     * called before the game is initialized.
+     *
+     * @param warmRestart True to restart from a snapshot, false to re-initialize the game.
+     */
+    public void setWarmRestart(boolean warmRestart) {
+        this.warmRestart = warmRestart;
+    }
+
+    /**
+     * Sets how often each collision strategy is picked for the bricks, e.g. loaded from a weights file.
+     * Must be called before the game is initialized.
+     *
+     * @param strategyWeights The strategy weights.
+     */
+    public void setStrategyWeights(StrategyWeights strategyWeights) {
+        this.strategyWeights = strategyWeights;
+    }
+
+    /**
+     * Returns how often each collision strategy is picked for the bricks.
+     *
+     * @return The strategy weights.
+     */
+    public StrategyWeights getStrategyWeights() {
+        return strategyWeights;
+    }
+
+    /**
+     * Hands every paddle over to an autopilot of the given skill, which plays the game unattended, e.g.
+     * for soak and batch runs, or back to the arrow keys. Must be called before the game is initialized.
+     *
+     * @param autopilotSkill The skill, from 0 for the weakest player to 1 for a perfect one, or
+     *                       NO_AUTOPILOT to steer the paddles by the arrow keys.
+     */
+    public void setAutopilot(float autopilotSkill) {
+        this.autopilotSkill = autopilotSkill;
+    }
+
+    /**
+     * Returns the skill of the autopilot steering the paddles.
+     *
+     * @return The autopilot skill, or NO_AUTOPILOT if the paddles are steered by the arrow keys.
+     */
+    public float getAutopilotSkill() {
+        return autopilotSkill;
+    }
+
+    /**
+     * Returns the moving objects of the game: the ball, the pucks and the falling hearts. The list is
+     * live and must not be modified.
+     *
+     * @return The moving objects.
+     */
+    public List<GameObject> getMovingObjects() {
+        return movingObjects;
+    }
+
+    /**
+     * Returns the number of games started by restoring the initial snapshot.
+     *
+     * @return The number of warm restarts.
+     */
+    public int getWarmRestarts() {
+        return warmRestarts;
+    }
+
+    /**
+     * Returns the total time spent restarting games from the initial snapshot.
+     *
+     * @return The time of all warm restarts, in nanoseconds.
+     */
+    public long getWarmRestartNanos() {
+        return warmRestartNanos;
+    }
+
+    /**
+     * Returns the collider sweeping balls and pucks along their path.
+     *
+     * @return The swept collider.
+     */
+    public SweptCollider getSweptCollider() {
+        return sweptCollider;
+    }
+
+    /**
+     * Returns the pre-composited image of the wall.
+     *
+     * @return The static layer cache, or null if static layer caching is off.
+     */
+    public StaticLayerCache getStaticLayerCache() {
+        return staticLayerCache;
+    }
+
     /**
      * return the window dimensions.
      */
@@ -520,6 +1458,122 @@ public class BrickerGameManager extends GameManager {
     }
 
 
+    /**
+     * return the number of brick rows.
+     */
+    public int numOfBricksRows() {
+        return numOfBricksRows;
+    }
+
+
+    /**
+     * return the number of bricks left in the current game.
+     */
+    public int getBricksLeft() {
+        return brickCount.value();
+    }
+
+
+    /**
+     * Returns the streamer building the bricks of a large wall near the play area.
+     *
+     * @return The brick streamer, or null if the whole wall was built up front.
+     */
+    public BrickStreamer getBrickStreamer() {
+        return brickStreamer;
+    }
+
+
+    /**
+     * Returns the bricks of the wall, row by row.
+     *
+     * @return The bricks, with null for empty cells, or null if the wall is streamed.
+     */
+    public Brick[] getWallBricks() {
+        return wallBricks;
+    }
+
+
+    /**
+     * Returns the level the wall was built from.
+     *
+     * @return The level, or null if the wall is random.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+
+    /**
+     * Returns the factory building the game's objects and collision strategies.
+     *
+     * @return The game objects factory.
+     */
+    public GameObjectsFactory getGameObjectsFactory() {
+        return gameObjectsFactory;
+    }
+
+
+    /**
+     * Returns the fixed timestep stepping the simulation.
+     *
+     * @return The fixed timestep.
+     */
+    public FixedTimestep getFixedTimestep() {
+        return fixedTimestep;
+    }
+
+
+    /**
+     * Returns the ball of the game.
+     *
+     * @return The ball.
+     */
+    public Ball getBall() {
+        return gameBall;
+    }
+
+
+    /**
+     * Returns the main paddle of the game.
+     *
+     * @return The paddle.
+     */
+    public Paddle getPaddle() {
+        return paddle;
+    }
+
+
+    /**
+     * Returns the second paddle while it is in play.
+     *
+     * @return The second paddle, or null if only the main paddle is in play.
+     */
+    public SecondPaddle getSecondPaddle() {
+        return paddleCount.value() == MAX_AMOUNT_OF_PADDLES ? secondPaddle : null;
+    }
+
+
+    /**
+     * Returns the number of paddles in play.
+     *
+     * @return The number of paddles.
+     */
+    public int getPaddles() {
+        return paddleCount.value();
+    }
+
+
+    /**
+     * Returns the number of lives left.
+     *
+     * @return The number of lives.
+     */
+    public int getLives() {
+        return lifeCount.value();
+    }
+
+
     /**
      * return the number of bricks per row.
      */
@@ -538,21 +1592,42 @@ public class BrickerGameManager extends GameManager {
     /**
      * The main method to run the game.
      *
-     * @param args Command line arguments.
+     * @param args Command line arguments: [rows bricksPerRow [seed [recordingFile]]], or
+     *             levelFile [seed] to play a level.
+     * @throws IOException If the level file or the strategy weights file cannot be read.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
 
         int numOfBricksRows = DEFAULT_ROWS_OF_BRICKS;
         int numOfBricksPerRow = DEFAULT_BRICKS_PER_ROW;
+        long seed = new Random().nextLong();
 
-        if (args.length == NUMBER_OF_ARGUMENTS) {
+        if (args.length >= 1 && Level.isLevelFile(args[0])) {
+            if (args.length >= 2) {
+                seed = Long.parseLong(args[1]);
+            }
+            BrickerGameManager brickerGameManager = new BrickerGameManager(WINDOW_TITLE,
+                    new Vector2(WINDOW_WIDTH, WINDOW_HEIGHT), Level.load(Paths.get(args[0])), seed);
+            brickerGameManager.setStrategyWeights(StrategyWeights.loadDefault());
+            brickerGameManager.getFrameStats().registerMBean(WINDOW_TITLE);
+            brickerGameManager.run();
+            return;
+        }
+        if (args.length >= NUMBER_OF_ARGUMENTS) {
             numOfBricksRows = Integer.parseInt(args[0]);
             numOfBricksPerRow = Integer.parseInt(args[1]);
         }
+        if (args.length >= SEED_ARGUMENT + 1) {
+            seed = Long.parseLong(args[SEED_ARGUMENT]);
+        }
 
         BrickerGameManager brickerGameManager = new BrickerGameManager(WINDOW_TITLE,
-                new Vector2(WINDOW_WIDTH, WINDOW_HEIGHT), numOfBricksRows, numOfBricksPerRow);
+                new Vector2(WINDOW_WIDTH, WINDOW_HEIGHT), numOfBricksRows, numOfBricksPerRow, seed);
+        if (args.length >= RECORDING_ARGUMENT + 1) {
+            brickerGameManager.setInputRecorder(new InputRecorder(Paths.get(args[RECORDING_ARGUMENT])));
+        }
+        brickerGameManager.setStrategyWeights(StrategyWeights.loadDefault());
+        brickerGameManager.getFrameStats().registerMBean(WINDOW_TITLE);
         brickerGameManager.run();
     }
 }
-
@@ -0,0 +1,83 @@
+package bricker.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * The AllocationMeter class counts the bytes a game allocates per frame, split at the manager's update
+ * boundary as the frame statistics split its time: the engine's update, including the callbacks it
+ * dispatches to the game objects, and the game's own per-frame code around it. The manager reads the
+ * JVM's per-thread allocation counter around both parts and records the difference. The meter only
+ * counts the thread that started it, so games running on other threads, e.g. in a batch, are neither
+ * metered nor slowed down beyond a thread comparison per read.
+ */
+public class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Thread meteredThread;
+    private static long meteredThreadId;
+    private static long engineBytes;
+    private static long gameBytes;
+
+    /**
+     * The meter only has static members.
+     */
+    private AllocationMeter() {
+    }
+
+    /**
+     * Starts metering the calling thread, from zero bytes.
+     */
+    public static void start() {
+        THREAD_BEAN.setThreadAllocatedMemoryEnabled(true);
+        meteredThreadId = Thread.currentThread().getId();
+        engineBytes = 0;
+        gameBytes = 0;
+        meteredThread = Thread.currentThread();
+    }
+
+    /**
+     * Stops metering. The bytes counted so far remain available.
+     */
+    public static void stop() {
+        meteredThread = null;
+    }
+
+    /**
+     * Reads the bytes the calling thread allocated so far.
+     *
+     * @return The thread's allocated bytes, or 0 if the calling thread is not metered.
+     */
+    public static long threadBytes() {
+        return meteredThread == Thread.currentThread()
+                ? THREAD_BEAN.getThreadAllocatedBytes(meteredThreadId) : 0;
+    }
+
+    /**
+     * Records the bytes allocated in a frame. Frames of threads that are not metered are ignored.
+     *
+     * @param engine The bytes allocated in the engine's update.
+     * @param game   The bytes allocated by the game's own code.
+     */
+    public static void recordFrame(long engine, long game) {
+        if (meteredThread == Thread.currentThread()) {
+            engineBytes += engine;
+            gameBytes += game;
+        }
+    }
+
+    /**
+     * @return The number of bytes allocated in the engine's update since metering started.
+     */
+    public static long getEngineBytes() {
+        return engineBytes;
+    }
+
+    /**
+     * @return The number of bytes allocated by the game's own code since metering started.
+     */
+    public static long getGameBytes() {
+        return gameBytes;
+    }
+}
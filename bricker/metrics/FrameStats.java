@@ -0,0 +1,363 @@
+package bricker.metrics;
+
+import bricker.collisions.BrickGridCollection;
+import bricker.collisions.CollisionMatrix;
+import danogl.GameObject;
+import danogl.collisions.Layer;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The FrameStats class records per-frame performance counters of a game: a frame time histogram,
+ * simulation steps, the split between the engine's update and the game's own checks, collisions per
+ * object type, live objects per layer, collision effects, draw calls and spawn counts. Recording only
+ * increments primitive counters, so it can stay enabled in production. The counters are exposed
+ * through JMX and summarized in a periodic log line. Counters are written by the game thread only,
+ * so JMX readers see slightly stale values.
+ */
+public class FrameStats implements FrameStatsMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(FrameStats.class.getName());
+    private static final String MBEAN_NAME = "bricker:type=FrameStats,name=";
+    private static final int BUCKETS = 32; // bucket i holds frames of [2^(i-1), 2^i) microseconds
+    private static final long NANOS_PER_MICRO = 1000;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double P50 = 0.5;
+    private static final double P90 = 0.9;
+    private static final double P99 = 0.99;
+    private static final int PERCENT = 100;
+    private static final int[] LAYERS = {Layer.BACKGROUND, Layer.STATIC_OBJECTS, Layer.DEFAULT,
+            Layer.FOREGROUND, Layer.UI};
+    private static final String[] LAYER_NAMES = {"BACKGROUND", "STATIC_OBJECTS", "DEFAULT",
+            "FOREGROUND", "UI"};
+    private static final int UNTYPED = CollisionMatrix.TYPE_COUNT; // The slot of objects without a type
+    private static final String UNTYPED_TAG = "untyped";
+
+    private final long[] frameHistogram;
+    private final long[] loggedHistogram;
+    private final long[] collisionsPerType;
+    private final String[] typeTags;
+    private final long logIntervalNanos;
+    private long frames;
+    private long simulationSteps;
+    private long maxFrameNanos;
+    private long engineNanos;
+    private long gameNanos;
+    private long pucksSpawned;
+    private long heartsSpawned;
+    private long secondPaddlesSpawned;
+    private long effectsApplied;
+    private long effectsDropped;
+    private int peakEffectsPerFrame;
+    private int drawCallsPerFrame;
+    private volatile BrickGridCollection liveObjectSource;
+    private long lastLogTime;
+    private long loggedFrames;
+    private long loggedPucks;
+    private long loggedHearts;
+    private long loggedSecondPaddles;
+
+    /**
+     * Constructs a new FrameStats.
+     *
+     * @param logIntervalSeconds The time between two summary log lines, or 0 to never log.
+     */
+    public FrameStats(int logIntervalSeconds) {
+        this.frameHistogram = new long[BUCKETS];
+        this.loggedHistogram = new long[BUCKETS];
+        this.collisionsPerType = new long[CollisionMatrix.TYPE_COUNT + 1];
+        this.typeTags = new String[CollisionMatrix.TYPE_COUNT + 1];
+        typeTags[UNTYPED] = UNTYPED_TAG;
+        this.logIntervalNanos = (long) (logIntervalSeconds * NANOS_PER_SECOND);
+        this.lastLogTime = System.nanoTime();
+    }
+
+    /**
+     * Registers these statistics with the platform MBean server.
+     *
+     * @param name The name distinguishing this game from others in the same JVM.
+     */
+    public void registerMBean(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName(MBEAN_NAME + ObjectName.quote(name)));
+        } catch (JMException e) {
+            LOGGER.warning("Could not register frame statistics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the collection whose objects are counted per layer.
+     *
+     * @param collection The collection of the current game.
+     */
+    public void setLiveObjectSource(BrickGridCollection collection) {
+        this.liveObjectSource = collection;
+    }
+
+    /**
+     * Records a frame, and logs a summary line if the log interval has passed.
+     *
+     * @param engineTime The time spent in the engine's update, in nanoseconds.
+     * @param gameTime   The time spent in the game's own checks, in nanoseconds.
+     */
+    public void recordFrame(long engineTime, long gameTime) {
+        long frameTime = engineTime + gameTime;
+        frameHistogram[bucketOf(frameTime)]++;
+        frames++;
+        engineNanos += engineTime;
+        gameNanos += gameTime;
+        if (frameTime > maxFrameNanos) {
+            maxFrameNanos = frameTime;
+        }
+        if (logIntervalNanos > 0) {
+            long now = System.nanoTime();
+            if (now - lastLogTime >= logIntervalNanos) {
+                log(now);
+            }
+        }
+    }
+
+    /**
+     * Records the number of fixed simulation steps run by a frame.
+     *
+     * @param steps The number of steps.
+     */
+    public void recordSteps(int steps) {
+        simulationSteps += steps;
+    }
+
+    /**
+     * Records a collision contact of an object. Contacts are counted by the object's type ID, and each
+     * type is reported under the tag of the first object of that type to collide.
+     *
+     * @param gameObject The colliding object.
+     */
+    public void recordCollision(GameObject gameObject) {
+        int typeId = CollisionMatrix.typeOf(gameObject);
+        int slot = typeId < 0 ? UNTYPED : typeId;
+        if (typeTags[slot] == null) {
+            typeTags[slot] = gameObject.getTag();
+        }
+        collisionsPerType[slot]++;
+    }
+
+    /**
+     * Records the collision effects applied at the end of a frame.
+     *
+     * @param applied The number of effects applied.
+     * @param dropped The number of spawn effects dropped by the spawn cap.
+     */
+    public void recordEffects(int applied, int dropped) {
+        effectsApplied += applied;
+        effectsDropped += dropped;
+        if (applied > peakEffectsPerFrame) {
+            peakEffectsPerFrame = applied;
+        }
+    }
+
+    /**
+     * Records the number of objects drawn by a rendered frame.
+     *
+     * @param drawCalls The number of objects drawn.
+     */
+    public void recordDrawCalls(int drawCalls) {
+        drawCallsPerFrame = drawCalls;
+    }
+
+    /**
+     * Records spawned pucks.
+     *
+     * @param count The number of pucks spawned.
+     */
+    public void recordPucksSpawned(int count) {
+        pucksSpawned += count;
+    }
+
+    /**
+     * Records a spawned heart.
+     */
+    public void recordHeartSpawned() {
+        heartsSpawned++;
+    }
+
+    /**
+     * Records a spawned second paddle.
+     */
+    public void recordSecondPaddleSpawned() {
+        secondPaddlesSpawned++;
+    }
+
+    @Override
+    public long getFrames() {
+        return frames;
+    }
+
+    @Override
+    public long getSimulationSteps() {
+        return simulationSteps;
+    }
+
+    @Override
+    public long getFrameTimeP50Micros() {
+        return percentile(frameHistogram, null, P50);
+    }
+
+    @Override
+    public long getFrameTimeP90Micros() {
+        return percentile(frameHistogram, null, P90);
+    }
+
+    @Override
+    public long getFrameTimeP99Micros() {
+        return percentile(frameHistogram, null, P99);
+    }
+
+    @Override
+    public long getFrameTimeMaxMicros() {
+        return maxFrameNanos / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getEngineTimeMicros() {
+        return engineNanos / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getGameTimeMicros() {
+        return gameNanos / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public Map<String, Long> getCollisionsPerTag() {
+        Map<String, Long> collisions = new LinkedHashMap<>();
+        for (int slot = 0; slot < collisionsPerType.length; slot++) {
+            if (collisionsPerType[slot] > 0) {
+                collisions.merge(typeTags[slot], collisionsPerType[slot], Long::sum);
+            }
+        }
+        return collisions;
+    }
+
+    @Override
+    public Map<String, Integer> getLiveObjectsPerLayer() {
+        Map<String, Integer> liveObjects = new LinkedHashMap<>();
+        BrickGridCollection collection = liveObjectSource;
+        if (collection != null) {
+            for (int i = 0; i < LAYERS.length; i++) {
+                liveObjects.put(LAYER_NAMES[i], collection.getLiveObjects(LAYERS[i]));
+            }
+        }
+        return liveObjects;
+    }
+
+    @Override
+    public int getPeakLiveObjects() {
+        BrickGridCollection collection = liveObjectSource;
+        return collection == null ? 0 : collection.getPeakLiveObjects();
+    }
+
+    @Override
+    public int getDrawCallsPerFrame() {
+        return drawCallsPerFrame;
+    }
+
+    @Override
+    public long getEffectsApplied() {
+        return effectsApplied;
+    }
+
+    @Override
+    public long getEffectsDropped() {
+        return effectsDropped;
+    }
+
+    @Override
+    public int getPeakEffectsPerFrame() {
+        return peakEffectsPerFrame;
+    }
+
+    @Override
+    public long getPucksSpawned() {
+        return pucksSpawned;
+    }
+
+    @Override
+    public long getHeartsSpawned() {
+        return heartsSpawned;
+    }
+
+    @Override
+    public long getSecondPaddlesSpawned() {
+        return secondPaddlesSpawned;
+    }
+
+    /**
+     * Logs the frame times and spawn rates of the last interval, with the current totals.
+     */
+    private void log(long now) {
+        double seconds = (now - lastLogTime) / NANOS_PER_SECOND;
+        long intervalFrames = frames - loggedFrames;
+        LOGGER.info(String.format("%.0f fps, frame p50/p90/p99 %d/%d/%d us (max %d us), "
+                        + "engine %d%% / game %d%%, spawns/s puck %.1f heart %.1f paddle %.1f, "
+                        + "objects %s, collisions %s",
+                intervalFrames / seconds,
+                percentile(frameHistogram, loggedHistogram, P50),
+                percentile(frameHistogram, loggedHistogram, P90),
+                percentile(frameHistogram, loggedHistogram, P99),
+                getFrameTimeMaxMicros(),
+                percentOf(engineNanos, engineNanos + gameNanos),
+                percentOf(gameNanos, engineNanos + gameNanos),
+                (pucksSpawned - loggedPucks) / seconds,
+                (heartsSpawned - loggedHearts) / seconds,
+                (secondPaddlesSpawned - loggedSecondPaddles) / seconds,
+                getLiveObjectsPerLayer(), getCollisionsPerTag()));
+
+        System.arraycopy(frameHistogram, 0, loggedHistogram, 0, BUCKETS);
+        lastLogTime = now;
+        loggedFrames = frames;
+        loggedPucks = pucksSpawned;
+        loggedHearts = heartsSpawned;
+        loggedSecondPaddles = secondPaddlesSpawned;
+    }
+
+    /**
+     * Returns the histogram bucket of a frame time: the bit length of its duration in microseconds.
+     */
+    private static int bucketOf(long nanos) {
+        long micros = nanos / NANOS_PER_MICRO;
+        return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Returns the upper bound, in microseconds, of the bucket holding the given percentile.
+     * If a baseline histogram is given, only the frames recorded since the baseline are considered.
+     */
+    private static long percentile(long[] histogram, long[] baseline, double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += histogram[i] - (baseline == null ? 0 : baseline[i]);
+        }
+        long target = (long) Math.ceil(total * percentile);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += histogram[i] - (baseline == null ? 0 : baseline[i]);
+            if (cumulative >= target && cumulative > 0) {
+                return 1L << i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the given part of a total as a whole percentage.
+     */
+    private static long percentOf(long part, long total) {
+        return total == 0 ? 0 : part * PERCENT / total;
+    }
+}
@@ -0,0 +1,102 @@
+package bricker.metrics;
+
+import java.util.Map;
+
+/**
+ * The FrameStatsMXBean interface exposes the per-frame performance counters of a game through JMX.
+ * All times are in microseconds and all counts are totals since the game manager was created.
+ */
+public interface FrameStatsMXBean {
+
+    /**
+     * @return The number of frames recorded.
+     */
+    long getFrames();
+
+    /**
+     * @return The number of fixed simulation steps run, which differs from the number of frames when
+     * the simulation rate or the time scale do not match the frame rate.
+     */
+    long getSimulationSteps();
+
+    /**
+     * @return The median frame time.
+     */
+    long getFrameTimeP50Micros();
+
+    /**
+     * @return The 90th percentile frame time.
+     */
+    long getFrameTimeP90Micros();
+
+    /**
+     * @return The 99th percentile frame time.
+     */
+    long getFrameTimeP99Micros();
+
+    /**
+     * @return The longest frame time.
+     */
+    long getFrameTimeMaxMicros();
+
+    /**
+     * @return The total time spent in the engine's update, i.e. object updates and collisions.
+     */
+    long getEngineTimeMicros();
+
+    /**
+     * @return The total time spent in the game's own per-frame checks.
+     */
+    long getGameTimeMicros();
+
+    /**
+     * @return The number of collision contacts per object tag. A pair in contact is counted on every
+     * frame it stays in contact, so this tracks collision handling work rather than distinct hits.
+     */
+    Map<String, Long> getCollisionsPerTag();
+
+    /**
+     * @return The number of live objects per layer name.
+     */
+    Map<String, Integer> getLiveObjectsPerLayer();
+
+    /**
+     * @return The largest number of objects that were live at once in the current game.
+     */
+    int getPeakLiveObjects();
+
+    /**
+     * @return The number of objects drawn in the last rendered frame.
+     */
+    int getDrawCallsPerFrame();
+
+    /**
+     * @return The number of collision effects applied at the end of frames.
+     */
+    long getEffectsApplied();
+
+    /**
+     * @return The number of spawn effects dropped by the per-frame spawn cap.
+     */
+    long getEffectsDropped();
+
+    /**
+     * @return The largest number of collision effects applied in a single frame.
+     */
+    int getPeakEffectsPerFrame();
+
+    /**
+     * @return The number of pucks spawned.
+     */
+    long getPucksSpawned();
+
+    /**
+     * @return The number of hearts spawned.
+     */
+    long getHeartsSpawned();
+
+    /**
+     * @return The number of second paddles spawned.
+     */
+    long getSecondPaddlesSpawned();
+}
@@ -0,0 +1,148 @@
+package bricker.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The StartupTrace class records a timeline of the phases of a game's startup, e.g. asset decode, window
+ * creation, initialization, wall build and the first frame, relative to the moment the trace was
+ * created. Phases may overlap, as assets decode while the window comes up. The trace is complete once
+ * the first frame is shown, and its time to first frame is the main startup figure.
+ */
+public class StartupTrace {
+
+    /**
+     * The phase decoding assets on the worker pool.
+     */
+    public static final String ASSET_DECODE = "asset decode";
+
+    /**
+     * The phase creating the window, until the engine initializes the game.
+     */
+    public static final String WINDOW = "window";
+
+    /**
+     * The phase initializing the game, including the waits for assets not decoded yet.
+     */
+    public static final String INITIALIZE = "initializeGame";
+
+    /**
+     * The phase building the brick wall, within initialization.
+     */
+    public static final String WALL_BUILD = "wall build";
+
+    /**
+     * The phase from the end of initialization until the first frame is shown.
+     */
+    public static final String FIRST_FRAME = "first frame";
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final long originNanos;
+    private final List<String> names;
+    private final List<long[]> spans;
+    private long firstFrameNanos;
+
+    /**
+     * Constructs a new StartupTrace starting now.
+     */
+    public StartupTrace() {
+        this.originNanos = System.nanoTime();
+        this.names = new ArrayList<>();
+        this.spans = new ArrayList<>();
+        this.firstFrameNanos = -1;
+    }
+
+    /**
+     * Starts a phase now. A phase started again restarts its span.
+     *
+     * @param name The name of the phase.
+     */
+    public void begin(String name) {
+        record(name, System.nanoTime(), -1);
+    }
+
+    /**
+     * Ends a started phase now. Ending a phase that was not started does nothing.
+     *
+     * @param name The name of the phase.
+     */
+    public void end(String name) {
+        int index = names.indexOf(name);
+        if (index >= 0 && spans.get(index)[1] < 0) {
+            spans.get(index)[1] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Records a phase that ran elsewhere, e.g. on worker threads, from its System.nanoTime bounds.
+     *
+     * @param name       The name of the phase.
+     * @param startNanos The start of the phase.
+     * @param endNanos   The end of the phase, or a negative value if it is still running.
+     */
+    public void record(String name, long startNanos, long endNanos) {
+        int index = names.indexOf(name);
+        if (index < 0) {
+            names.add(name);
+            spans.add(new long[]{startNanos, endNanos});
+        } else {
+            spans.get(index)[0] = startNanos;
+            spans.get(index)[1] = endNanos;
+        }
+    }
+
+    /**
+     * Marks the first frame as shown, ending the first frame phase and completing the trace.
+     */
+    public void markFirstFrame() {
+        if (isComplete()) {
+            return;
+        }
+        end(FIRST_FRAME);
+        firstFrameNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns whether the first frame was shown.
+     *
+     * @return True if the trace is complete.
+     */
+    public boolean isComplete() {
+        return firstFrameNanos >= 0;
+    }
+
+    /**
+     * Returns the time from the start of the trace until the first frame was shown.
+     *
+     * @return The time to first frame in milliseconds, or a negative value if no frame was shown yet.
+     */
+    public double getTimeToFirstFrameMillis() {
+        return isComplete() ? (firstFrameNanos - originNanos) / NANOS_PER_MILLI : -1;
+    }
+
+    /**
+     * Formats the timeline, one phase per line in the order the phases started, with their start and
+     * end times and durations in milliseconds since the start of the trace.
+     *
+     * @return The timeline.
+     */
+    public String format() {
+        StringBuilder timeline = new StringBuilder("Startup trace (ms since start):");
+        for (int i = 0; i < names.size(); i++) {
+            long[] span = spans.get(i);
+            double start = (span[0] - originNanos) / NANOS_PER_MILLI;
+            if (span[1] < 0) {
+                timeline.append(String.format("%n  %-16s %8.1f ..  running", names.get(i), start));
+            } else {
+                double end = (span[1] - originNanos) / NANOS_PER_MILLI;
+                timeline.append(String.format("%n  %-16s %8.1f .. %8.1f  (%.1f ms)", names.get(i), start, end,
+                        end - start));
+            }
+        }
+        if (isComplete()) {
+            timeline.append(String.format("%nTime to first frame: %.1f ms", getTimeToFirstFrameMillis()));
+        }
+        return timeline.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package bricker.rendering;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The StaticLayerCache class is a Renderable holding a pre-composited image of the static objects
+ * inside a fixed area of the world, so the whole brick wall is drawn with a single image per frame.
+ * Objects entering the area are drawn into the image once and hand over their renderable, so they are
+ * no longer drawn on their own. When such an object is removed, only its dirty rectangle of the image
+ * is cleared and the object gets its renderable back, so removing an object undoes adding it and a
+ * reused object, e.g. a brick restored from a snapshot, can be added again. Static objects never
+ * overlap, so no neighbour has to be redrawn into the cleared area. Objects that are not entirely inside
+ * the area keep drawing themselves.
+ */
+public class StaticLayerCache implements Renderable {
+
+    private final BufferedImage image;
+    private final Graphics2D graphics;
+    private final float originX;
+    private final float originY;
+    // The renderables handed over by the cached objects; an identity map keeps no entry objects
+    private final Map<GameObject, Renderable> handedOver = new IdentityHashMap<>();
+    private int cachedObjects;
+    private long dirtyRectangles;
+    private long dirtyPixels;
+
+    /**
+     * Constructs a new, empty StaticLayerCache.
+     *
+     * @param topLeftCorner The top-left corner of the cached area, in world coordinates.
+     * @param dimensions    The dimensions of the cached area.
+     */
+    public StaticLayerCache(Vector2 topLeftCorner, Vector2 dimensions) {
+        this.image = new BufferedImage((int) Math.ceil(dimensions.x()), (int) Math.ceil(dimensions.y()),
+                BufferedImage.TYPE_INT_ARGB);
+        this.graphics = image.createGraphics();
+        this.originX = topLeftCorner.x();
+        this.originY = topLeftCorner.y();
+    }
+
+    /**
+     * Draws a static object into the image and takes over its rendering, if the object lies entirely
+     * inside the cached area.
+     *
+     * @param gameObject The static object.
+     * @return True if the object is now drawn by the cache, false if it keeps drawing itself.
+     */
+    public boolean add(GameObject gameObject) {
+        Renderable renderable = gameObject.renderer().getRenderable();
+        if (renderable == null || handedOver.containsKey(gameObject) || !contains(gameObject)) {
+            return false;
+        }
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        renderable.render(graphics, new Vector2(topLeft.x() - originX, topLeft.y() - originY),
+                gameObject.getDimensions());
+        handedOver.put(gameObject, renderable);
+        gameObject.renderer().setRenderable(null);
+        cachedObjects++;
+        return true;
+    }
+
+    /**
+     * Clears the dirty rectangle of a removed static object and gives the object its renderable back, if
+     * the object was drawn by the cache.
+     *
+     * @param gameObject The removed static object.
+     */
+    public void remove(GameObject gameObject) {
+        Renderable renderable = handedOver.remove(gameObject);
+        if (renderable == null) {
+            return;
+        }
+        // Until the removal is applied the object is drawn on its own, as it would be without the cache
+        gameObject.renderer().setRenderable(renderable);
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        int left = (int) Math.floor(topLeft.x() - originX);
+        int top = (int) Math.floor(topLeft.y() - originY);
+        int width = (int) Math.ceil(topLeft.x() - originX + dimensions.x()) - left;
+        int height = (int) Math.ceil(topLeft.y() - originY + dimensions.y()) - top;
+        Composite composite = graphics.getComposite();
+        graphics.setComposite(AlphaComposite.Clear);
+        graphics.fillRect(left, top, width, height);
+        graphics.setComposite(composite);
+        cachedObjects--;
+        dirtyRectangles++;
+        dirtyPixels += (long) width * height;
+    }
+
+    /**
+     * Draws the cached image over the given area of the screen.
+     *
+     * @param g                           The graphics to draw with.
+     * @param topLeftCorner               The top-left corner of the cached area on the screen.
+     * @param dimensions                  The dimensions of the cached area on the screen.
+     * @param degreesCounterClockwise     The rotation of the image (ignored, the layer is never rotated).
+     * @param isFlippedHorizontally       Whether the image is flipped horizontally (ignored).
+     * @param isFlippedVertically         Whether the image is flipped vertically (ignored).
+     * @param opaqueness                  The opaqueness of the image, from 0 to 1.
+     */
+    @Override
+    public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
+                       double degreesCounterClockwise, boolean isFlippedHorizontally,
+                       boolean isFlippedVertically, double opaqueness) {
+        if (cachedObjects == 0 || opaqueness <= 0) {
+            return;
+        }
+        g.drawImage(image, Math.round(topLeftCorner.x()), Math.round(topLeftCorner.y()),
+                Math.round(dimensions.x()), Math.round(dimensions.y()), null);
+    }
+
+    /**
+     * @return The number of objects currently drawn by the cache.
+     */
+    public int getCachedObjects() {
+        return cachedObjects;
+    }
+
+    /**
+     * @return The number of dirty rectangles cleared so far.
+     */
+    public long getDirtyRectangles() {
+        return dirtyRectangles;
+    }
+
+    /**
+     * @return The number of pixels cleared in dirty rectangles so far.
+     */
+    public long getDirtyPixels() {
+        return dirtyPixels;
+    }
+
+    /**
+     * Returns whether an object lies entirely inside the cached area.
+     */
+    private boolean contains(GameObject gameObject) {
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 dimensions = gameObject.getDimensions();
+        return topLeft.x() >= originX && topLeft.y() >= originY
+                && topLeft.x() + dimensions.x() <= originX + image.getWidth()
+                && topLeft.y() + dimensions.y() <= originY + image.getHeight();
+    }
+}
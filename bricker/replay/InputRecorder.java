@@ -0,0 +1,121 @@
+package bricker.replay;
+
+import bricker.main.BrickerGameManager;
+import danogl.gui.UserInputListener;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * The InputRecorder class captures the state of the keys the game reads, and the delta time, on every
+ * frame. Consecutive identical frames are merged into a single run as they are recorded.
+ * If a save path is given, the recording is written there when the player closes the game.
+ */
+public class InputRecorder {
+
+    private static final Logger LOGGER = Logger.getLogger(InputRecorder.class.getName());
+
+    /**
+     * The keys read by the game, in the order of their bits in a key mask.
+     */
+    static final int[] KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_W};
+
+    private static final int INITIAL_RUNS = 64;
+
+    private byte[] keyMasks;
+    private float[] deltaTimes;
+    private int[] runLengths;
+    private int runs;
+    private int resets;
+    private final Path savePath;
+
+    /**
+     * Constructs a new, empty InputRecorder that is only saved explicitly.
+     */
+    public InputRecorder() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new, empty InputRecorder.
+     *
+     * @param savePath The file the recording is written to when the game is closed, or null.
+     */
+    public InputRecorder(Path savePath) {
+        this.savePath = savePath;
+        this.keyMasks = new byte[INITIAL_RUNS];
+        this.deltaTimes = new float[INITIAL_RUNS];
+        this.runLengths = new int[INITIAL_RUNS];
+    }
+
+    /**
+     * Records a frame. Must be called once per frame, before the game reads its input.
+     *
+     * @param inputListener The input of the frame.
+     * @param deltaTime     The delta time of the frame.
+     */
+    public void recordFrame(UserInputListener inputListener, float deltaTime) {
+        byte mask = 0;
+        for (int key = 0; key < KEYS.length; key++) {
+            if (inputListener.isKeyPressed(KEYS[key])) {
+                mask |= 1 << key;
+            }
+        }
+        if (runs > 0 && keyMasks[runs - 1] == mask
+                && Float.floatToIntBits(deltaTimes[runs - 1]) == Float.floatToIntBits(deltaTime)) {
+            runLengths[runs - 1]++;
+            return;
+        }
+        if (runs == runLengths.length) {
+            keyMasks = Arrays.copyOf(keyMasks, runs * 2);
+            deltaTimes = Arrays.copyOf(deltaTimes, runs * 2);
+            runLengths = Arrays.copyOf(runLengths, runs * 2);
+        }
+        keyMasks[runs] = mask;
+        deltaTimes[runs] = deltaTime;
+        runLengths[runs] = 1;
+        runs++;
+    }
+
+    /**
+     * Records that the player chose to play again after a game ended.
+     */
+    public void recordReset() {
+        resets++;
+    }
+
+    /**
+     * Ends the recording when the player closes the game, and writes it to the save path if there is one.
+     * Must be called at the end of the frame on which the game was closed.
+     *
+     * @param gameManager The recorded game, in its current state.
+     */
+    public void recordClose(BrickerGameManager gameManager) {
+        if (savePath == null) {
+            return;
+        }
+        try {
+            finish(gameManager).save(savePath);
+            LOGGER.info("Input recording saved to " + savePath);
+        } catch (IOException e) {
+            LOGGER.warning("Could not save input recording: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ends the recording of a game.
+     *
+     * @param gameManager The recorded game, in its current state.
+     * @return The recording.
+     */
+    public InputRecording finish(BrickerGameManager gameManager) {
+        return new InputRecording(gameManager.getSeed(), gameManager.numOfBricksRows(),
+                gameManager.numOfBricksPerRow(), gameManager.getStrategyWeights().fingerprint(), resets,
+                gameManager.computeStateChecksum(),
+                Arrays.copyOf(keyMasks, runs), Arrays.copyOf(deltaTimes, runs),
+                Arrays.copyOf(runLengths, runs), runs);
+    }
+}
@@ -0,0 +1,229 @@
+package bricker.replay;
+
+import bricker.headless.ScriptedInputListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The InputRecording class holds everything needed to replay a game exactly: the seed and wall size
+ * of the game, the state of the recorded keys and the delta time of every frame, and how many times the
+ * player chose to play again. Frames are stored as runs of identical frames, so a fixed-step game with
+ * few key changes takes a few bytes.
+ * The checksum of the game state at the end of the recording allows verifying a replay, and the
+ * fingerprint of the game's strategy weights tells up front whether a replay can match at all.
+ */
+public class InputRecording {
+
+    private static final int MAGIC = 0x42524b52; // "BRKR"
+    private static final int VERSION = 4; // Bumped whenever the simulation stops replaying older files
+
+    private final long seed;
+    private final int rows;
+    private final int bricksPerRow;
+    private final long strategyWeightsFingerprint;
+    private final int resets;
+    private final long finalChecksum;
+    private final byte[] keyMasks;
+    private final float[] deltaTimes;
+    private final int[] runLengths;
+    private final int runs;
+
+    /**
+     * Constructs a new InputRecording. The arrays are used as is and must not be modified afterwards.
+     *
+     * @param seed                       The seed of the recorded game.
+     * @param rows                       The number of brick rows of the recorded game.
+     * @param bricksPerRow               The number of bricks per row of the recorded game.
+     * @param strategyWeightsFingerprint The fingerprint of the strategy weights of the recorded game.
+     * @param resets                     The number of times the player chose to play again.
+     * @param finalChecksum              The state checksum at the end of the recording.
+     * @param keyMasks                   The recorded key mask of each run (see InputRecorder.KEYS).
+     * @param deltaTimes                 The delta time of each run.
+     * @param runLengths                 The number of frames in each run.
+     * @param runs                       The number of runs.
+     */
+    InputRecording(long seed, int rows, int bricksPerRow, long strategyWeightsFingerprint, int resets,
+                   long finalChecksum, byte[] keyMasks, float[] deltaTimes, int[] runLengths, int runs) {
+        this.seed = seed;
+        this.rows = rows;
+        this.bricksPerRow = bricksPerRow;
+        this.strategyWeightsFingerprint = strategyWeightsFingerprint;
+        this.resets = resets;
+        this.finalChecksum = finalChecksum;
+        this.keyMasks = keyMasks;
+        this.deltaTimes = deltaTimes;
+        this.runLengths = runLengths;
+        this.runs = runs;
+    }
+
+    /**
+     * Writes the recording to a file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeInt(rows);
+            out.writeInt(bricksPerRow);
+            out.writeLong(strategyWeightsFingerprint);
+            out.writeInt(resets);
+            out.writeLong(finalChecksum);
+            out.writeInt(runs);
+            for (int i = 0; i < runs; i++) {
+                out.writeByte(keyMasks[i]);
+                out.writeFloat(deltaTimes[i]);
+                out.writeInt(runLengths[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a recording from a file.
+     *
+     * @param path The file to read.
+     * @return The recording.
+     * @throws IOException If the file cannot be read or is not a recording.
+     */
+    public static InputRecording load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a Bricker input recording: " + path);
+            }
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Recording " + path + " is version " + version + ", expected "
+                        + VERSION);
+            }
+            long seed = in.readLong();
+            int rows = in.readInt();
+            int bricksPerRow = in.readInt();
+            long strategyWeightsFingerprint = in.readLong();
+            int resets = in.readInt();
+            long finalChecksum = in.readLong();
+            int runs = in.readInt();
+            byte[] keyMasks = new byte[runs];
+            float[] deltaTimes = new float[runs];
+            int[] runLengths = new int[runs];
+            for (int i = 0; i < runs; i++) {
+                keyMasks[i] = in.readByte();
+                deltaTimes[i] = in.readFloat();
+                runLengths[i] = in.readInt();
+            }
+            return new InputRecording(seed, rows, bricksPerRow, strategyWeightsFingerprint, resets,
+                    finalChecksum, keyMasks, deltaTimes, runLengths, runs);
+        }
+    }
+
+    /**
+     * Builds a scripted input listener that presses and releases the recorded keys on the recorded frames.
+     *
+     * @return The scripted input of the recording.
+     */
+    public ScriptedInputListener toScript() {
+        ScriptedInputListener script = new ScriptedInputListener();
+        int previousMask = 0;
+        int frame = 0;
+        for (int i = 0; i < runs; i++) {
+            int mask = keyMasks[i];
+            for (int key = 0; key < InputRecorder.KEYS.length; key++) {
+                int bit = 1 << key;
+                if ((mask & bit) != 0 && (previousMask & bit) == 0) {
+                    script.press(frame, InputRecorder.KEYS[key]);
+                } else if ((mask & bit) == 0 && (previousMask & bit) != 0) {
+                    script.release(frame, InputRecorder.KEYS[key]);
+                }
+            }
+            previousMask = mask;
+            frame += runLengths[i];
+        }
+        return script;
+    }
+
+    /**
+     * @return The seed of the recorded game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The number of brick rows of the recorded game.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The number of bricks per row of the recorded game.
+     */
+    public int getBricksPerRow() {
+        return bricksPerRow;
+    }
+
+    /**
+     * @return The fingerprint of the strategy weights of the recorded game, see StrategyWeights.fingerprint.
+     */
+    public long getStrategyWeightsFingerprint() {
+        return strategyWeightsFingerprint;
+    }
+
+    /**
+     * @return The number of times the player chose to play again after a game ended.
+     */
+    public int getResets() {
+        return resets;
+    }
+
+    /**
+     * @return The state checksum at the end of the recording.
+     */
+    public long getFinalChecksum() {
+        return finalChecksum;
+    }
+
+    /**
+     * @return The number of runs of identical frames.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * @param run The index of a run.
+     * @return The delta time of every frame in the run.
+     */
+    public float getDeltaTime(int run) {
+        return deltaTimes[run];
+    }
+
+    /**
+     * @param run The index of a run.
+     * @return The number of frames in the run.
+     */
+    public int getRunLength(int run) {
+        return runLengths[run];
+    }
+
+    /**
+     * @return The total number of recorded frames.
+     */
+    public int getFrames() {
+        int frames = 0;
+        for (int i = 0; i < runs; i++) {
+            frames += runLengths[i];
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,110 @@
+package bricker.replay;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.headless.HeadlessEngine;
+import bricker.headless.HeadlessWindowController;
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * The InputReplayer class replays an input recording on a headless game. The game is built with the
+ * recorded seed and wall, fed the recorded keys and delta times frame by frame, and answers the game over
+ * dialogs as the player did, so it plays out exactly as recorded. This makes a recorded session a
+ * reproducible workload for profiling.
+ */
+public class InputReplayer {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final InputRecording recording;
+    private final BrickerGameManager gameManager;
+    private final HeadlessWindowController windowController;
+    private final HeadlessEngine engine;
+
+    /**
+     * Constructs a new InputReplayer, with the built-in strategy weights.
+     *
+     * @param recording The recording to replay.
+     * @throws IllegalArgumentException If the recorded game was played with other strategy weights.
+     */
+    public InputReplayer(InputRecording recording) {
+        this(recording, StrategyWeights.defaults());
+    }
+
+    /**
+     * Constructs a new InputReplayer.
+     *
+     * @param recording       The recording to replay.
+     * @param strategyWeights The strategy weights the recorded game was played with.
+     * @throws IllegalArgumentException If the recorded game was played with other strategy weights, as
+     *                                  the bricks would get other strategies and the replay would diverge.
+     */
+    public InputReplayer(InputRecording recording, StrategyWeights strategyWeights) {
+        if (strategyWeights.fingerprint() != recording.getStrategyWeightsFingerprint()) {
+            throw new IllegalArgumentException(String.format("Recording was played with strategy weights "
+                    + "%016x, replaying with %016x", recording.getStrategyWeightsFingerprint(),
+                    strategyWeights.fingerprint()));
+        }
+        this.recording = recording;
+        Vector2 windowDimensions = new Vector2(BrickerGameManager.WINDOW_WIDTH,
+                BrickerGameManager.WINDOW_HEIGHT);
+        this.gameManager = new BrickerGameManager(BrickerGameManager.WINDOW_TITLE, windowDimensions,
+                recording.getRows(), recording.getBricksPerRow(), recording.getSeed());
+        gameManager.setStrategyWeights(strategyWeights);
+        this.windowController = new HeadlessWindowController(windowDimensions, true);
+        this.engine = new HeadlessEngine(gameManager, windowController, recording.toScript(),
+                HeadlessEngine.DEFAULT_DELTA_TIME);
+    }
+
+    /**
+     * Replays the whole recording.
+     *
+     * @return The state checksum of the game at the end of the replay.
+     */
+    public long replay() {
+        engine.initialize();
+        for (int run = 0; run < recording.getRuns(); run++) {
+            float deltaTime = recording.getDeltaTime(run);
+            for (int i = 0; i < recording.getRunLength(run); i++) {
+                // The player played again after every game but the one they closed
+                windowController.setPlayAgain(windowController.getGamesFinished() < recording.getResets());
+                engine.step(deltaTime);
+            }
+        }
+        return gameManager.computeStateChecksum();
+    }
+
+    /**
+     * Replays a recording file and reports whether the replay reproduced the recorded game.
+     *
+     * @param args Command line arguments: recordingFile.
+     * @throws IOException If the recording or the strategy weights cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: InputReplayer <recordingFile>");
+            return;
+        }
+        InputRecording recording = InputRecording.load(Paths.get(args[0]));
+        // The recorded game loaded the weights file, which must not have changed since
+        StrategyWeights strategyWeights = StrategyWeights.loadDefault();
+        if (strategyWeights.fingerprint() != recording.getStrategyWeightsFingerprint()) {
+            System.err.printf("Cannot replay: %s was recorded with strategy weights %016x, but %s has "
+                    + "weights %016x%n", args[0], recording.getStrategyWeightsFingerprint(),
+                    StrategyWeights.DEFAULT_PATH, strategyWeights.fingerprint());
+            return;
+        }
+        InputReplayer replayer = new InputReplayer(recording, strategyWeights);
+        long start = System.nanoTime();
+        long checksum = replayer.replay();
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+
+        System.out.printf("Replayed seed %d, %d frames at %.0f frames per second%n", recording.getSeed(),
+                recording.getFrames(), recording.getFrames() / seconds);
+        System.out.printf("Checksum %016x, recorded %016x: %s%n", checksum, recording.getFinalChecksum(),
+                checksum == recording.getFinalChecksum() ? "match" : "MISMATCH");
+    }
+}
@@ -0,0 +1,114 @@
+package bricker.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The GameSnapshot class holds the full state of a game at a frame boundary in a compact binary form:
+ * the random generator, the counters, the camera, the paddles, the ball, the spawned pucks, hearts and
+ * second paddle, and the hit points, effect counter and strategy of every brick. A streamed wall is
+ * written as the arrays of its brick store, copied as blocks, followed by the plans of its double bricks.
+ * Snapshots are taken and restored by BrickerGameManager, which resets its existing objects in place
+ * rather than building new ones, except for the bricks a streamed wall materializes again. A snapshot
+ * only restores into a game with the same brick wall dimensions.
+ */
+public class GameSnapshot {
+
+    private static final int MAGIC = 0x42524b53; // "BRKS"
+    private static final int VERSION = 1; // Bumped whenever the layout of the state changes
+
+    private final int rows;
+    private final int columns;
+    private final byte[] state;
+
+    /**
+     * Constructs a new GameSnapshot.
+     *
+     * @param rows    The number of brick rows of the game.
+     * @param columns The number of bricks per row of the game.
+     * @param state   The encoded state of the game.
+     */
+    public GameSnapshot(int rows, int columns, byte[] state) {
+        this.rows = rows;
+        this.columns = columns;
+        this.state = state;
+    }
+
+    /**
+     * Writes the snapshot to a file.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(rows);
+            out.writeInt(columns);
+            out.writeInt(state.length);
+            out.write(state);
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file.
+     *
+     * @param path The file to read.
+     * @return The snapshot.
+     * @throws IOException If the file cannot be read or is not a snapshot of this version.
+     */
+    public static GameSnapshot load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a Bricker snapshot: " + path);
+            }
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Snapshot " + path + " is version " + version + ", expected "
+                        + VERSION);
+            }
+            int rows = in.readInt();
+            int columns = in.readInt();
+            byte[] state = new byte[in.readInt()];
+            in.readFully(state);
+            return new GameSnapshot(rows, columns, state);
+        }
+    }
+
+    /**
+     * @return The number of brick rows of the game.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The number of bricks per row of the game.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return A read-only buffer over the encoded state, positioned at its start.
+     */
+    public ByteBuffer getState() {
+        return ByteBuffer.wrap(state).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return The size of the encoded state, in bytes.
+     */
+    public int getSize() {
+        return state.length;
+    }
+}
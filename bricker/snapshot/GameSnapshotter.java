@@ -0,0 +1,305 @@
+package bricker.snapshot;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.CollisionStrategyFactory;
+import bricker.collisions.CollisionMatrix;
+import bricker.effects.EffectApplier;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Brick;
+import bricker.gameobjects.GameObjectPool;
+import bricker.gameobjects.GameObjectsFactory;
+import bricker.gameobjects.Heart;
+import bricker.gameobjects.Puck;
+import bricker.gameobjects.SecondPaddle;
+import bricker.levels.BrickStreamer;
+import bricker.levels.Level;
+import bricker.main.BrickerGameManager;
+import bricker.rendering.StaticLayerCache;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The GameSnapshotter class captures the state of a game into a GameSnapshot and restores the game to
+ * it, on behalf of the game manager: the random generator, the counters, the camera, the paddles, the
+ * moving objects and the bricks. A restore resets the game's existing objects in place and takes
+ * spawned objects from the pools. The manager stays in charge of its objects' place in the game: it
+ * takes them out as a restore begins and puts the paddles, walls, life icons and camera back as it
+ * ends, in the order initialization adds them, so a restored game steps as a new one does.
+ */
+public class GameSnapshotter {
+
+    // Random state, accumulator, four counters, camera flag, both paddles and the moving object count
+    private static final int HEADER_BYTES = Long.BYTES + Float.BYTES + 4 * Integer.BYTES
+            + 2 * Byte.BYTES + 2 * (4 * Float.BYTES + Integer.BYTES) + Integer.BYTES;
+    // Type, position, velocity and collision counter of a moving object
+    private static final int OBJECT_BYTES = Byte.BYTES + 4 * Float.BYTES + Integer.BYTES;
+    // Hit points, effect counter, strategy type and a double strategy's plan
+    private static final int BRICK_BYTES = 4 * Byte.BYTES + Brick.MAX_COLLISIONS;
+
+    private final BrickerGameManager brickerGameManager;
+    private final EffectApplier effectApplier;
+
+    /**
+     * Constructs a new GameSnapshotter.
+     *
+     * @param brickerGameManager The game manager whose state is captured and restored.
+     * @param effectApplier      The applier of the game's collision effects, which keeps the camera's
+     *                           stop counter.
+     */
+    public GameSnapshotter(BrickerGameManager brickerGameManager, EffectApplier effectApplier) {
+        this.brickerGameManager = brickerGameManager;
+        this.effectApplier = effectApplier;
+    }
+
+    /**
+     * Captures the full state of the game in a compact binary snapshot. Must be called between frames.
+     * A streamed wall is captured by copying its brick store's arrays as blocks.
+     *
+     * @return The snapshot.
+     */
+    public GameSnapshot capture() {
+        Brick[] wallBricks = brickerGameManager.getWallBricks();
+        BrickStreamer brickStreamer = brickerGameManager.getBrickStreamer();
+        List<GameObject> movingObjects = brickerGameManager.getMovingObjects();
+        SecondPaddle secondPaddle = brickerGameManager.getSecondPaddle();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + movingObjects.size() * OBJECT_BYTES
+                + (wallBricks == null ? brickStreamer.getStateBytes() : wallBricks.length * BRICK_BYTES));
+        buffer.putLong(brickerGameManager.getRandom().getState());
+        buffer.putFloat(brickerGameManager.getFixedTimestep().getAccumulator());
+        buffer.putInt(brickerGameManager.getBricksLeft());
+        buffer.putInt(brickerGameManager.getLives());
+        buffer.putInt(brickerGameManager.getPaddles());
+        buffer.putInt(effectApplier.getCameraStopCounter());
+        // The only camera the game sets follows the ball
+        buffer.put((byte) (brickerGameManager.camera() != null ? 1 : 0));
+        writeObject(buffer, brickerGameManager.getPaddle(), 0);
+        buffer.put((byte) (secondPaddle != null ? 1 : 0));
+        writeObject(buffer, secondPaddle, secondPaddle != null ? secondPaddle.getCollisionCount() : 0);
+
+        // The registry of moving objects holds the ball and every spawned puck and heart
+        buffer.putInt(movingObjects.size());
+        for (GameObject gameObject : movingObjects) {
+            int type = CollisionMatrix.typeOf(gameObject);
+            buffer.put((byte) type);
+            int collisionCounter = type == Heart.TYPE_ID ? 0 : ((Ball) gameObject).getCollisionCounter();
+            writeObject(buffer, gameObject, collisionCounter);
+        }
+
+        CollisionStrategyFactory strategyFactory =
+                brickerGameManager.getGameObjectsFactory().getCollisionStrategyFactory();
+        if (wallBricks == null) {
+            brickStreamer.writeState(buffer, strategyFactory);
+        } else {
+            // Broken bricks have no hit points left, and leave the game when their removal is applied
+            for (Brick brick : wallBricks) {
+                if (brick == null || brick.getHitPoints() == 0) {
+                    buffer.put((byte) 0);
+                    continue;
+                }
+                buffer.put((byte) brick.getHitPoints());
+                buffer.put((byte) brick.getCollisionStrategiesCount());
+                strategyFactory.writeStrategy(brick.getCollisionStrategy(), buffer);
+            }
+        }
+        return new GameSnapshot(brickerGameManager.numOfBricksRows(), brickerGameManager.numOfBricksPerRow(),
+                Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+
+    /**
+     * Restores the game to the state encoded in a snapshot. Must be called between frames.
+     *
+     * @param buffer  The encoded state, positioned at its start.
+     * @param rerolls True to draw the ball's direction and the bricks' strategies anew instead of
+     *                restoring them and the random generator, as a new game would.
+     */
+    public void restore(ByteBuffer buffer, boolean rerolls) {
+        Brick[] wallBricks = brickerGameManager.getWallBricks();
+        // Bricks collide in the order they joined the game, row by row. Those before the first broken
+        // brick keep their places, and the rest leave and join again after the broken ones are put back.
+        // A streamed wall's bricks all leave, and are materialized again once the state is restored.
+        int rejoinFrom = 0;
+        if (wallBricks == null) {
+            brickerGameManager.getBrickStreamer().clear();
+        } else {
+            while (rejoinFrom < wallBricks.length
+                    && (wallBricks[rejoinFrom] == null || wallBricks[rejoinFrom].getHitPoints() > 0)) {
+                rejoinFrom++;
+            }
+            for (int i = rejoinFrom; i < wallBricks.length; i++) {
+                if (wallBricks[i] != null && wallBricks[i].getHitPoints() > 0) {
+                    brickerGameManager.removeStaticObject(wallBricks[i]);
+                }
+            }
+        }
+        brickerGameManager.beginRestore();
+
+        long randomState = buffer.getLong();
+        if (!rerolls) {
+            brickerGameManager.getRandom().setState(randomState);
+        }
+        brickerGameManager.getFixedTimestep().setAccumulator(buffer.getFloat());
+        brickerGameManager.setBricksLeft(buffer.getInt());
+        int lives = buffer.getInt();
+        brickerGameManager.setPaddles(buffer.getInt());
+        effectApplier.setCameraStopCounter(buffer.getInt());
+        boolean cameraFollowsBall = buffer.get() != 0;
+        readObject(buffer, brickerGameManager.getPaddle());
+        // Restored objects move as newly built ones do, see GameObjectPool.settle
+        GameObjectPool.settle(brickerGameManager.getPaddle());
+        boolean hasSecondPaddle = buffer.get() != 0;
+        SecondPaddle secondPaddle = hasSecondPaddle ? brickerGameManager.restoreSecondPaddle() : null;
+        int secondPaddleCollisions = readObject(buffer, secondPaddle);
+        if (secondPaddle != null) {
+            secondPaddle.setCollisionCount(secondPaddleCollisions);
+            GameObjectPool.settle(secondPaddle);
+        }
+
+        int moving = buffer.getInt();
+        for (int i = 0; i < moving; i++) {
+            int type = buffer.get();
+            GameObject gameObject = acquireMovingObject(type);
+            int collisionCounter = readObject(buffer, gameObject);
+            if (type != Heart.TYPE_ID) {
+                ((Ball) gameObject).setCollisionCounter(collisionCounter);
+            }
+            if (type == Ball.TYPE_ID && rerolls) {
+                // A new game draws the ball's direction before the bricks' strategies
+                brickerGameManager.resetBallPosition();
+            }
+            GameObjectPool.settle(gameObject);
+            brickerGameManager.addMovingObject(gameObject);
+        }
+
+        if (wallBricks == null) {
+            restoreStreamedBricks(buffer, rerolls);
+        } else {
+            restoreBricks(buffer, rerolls, wallBricks, rejoinFrom);
+        }
+        // Every standing brick of a wall kept by cell lies inside the cached area, so a brick the cache
+        // misses would be invisible
+        StaticLayerCache staticLayerCache = brickerGameManager.getStaticLayerCache();
+        assert staticLayerCache == null || wallBricks == null
+                || staticLayerCache.getCachedObjects() == brickerGameManager.getBricksLeft()
+                : "Static layer cache draws " + staticLayerCache.getCachedObjects() + " of "
+                + brickerGameManager.getBricksLeft() + " bricks after a restore";
+        brickerGameManager.endRestore(lives, cameraFollowsBall);
+    }
+
+    /**
+     * Restores the state of a streamed wall into its brick store, or fills the store anew, drawing the
+     * strategies as initialization does. The bricks are materialized as the restore ends.
+     */
+    private void restoreStreamedBricks(ByteBuffer buffer, boolean rerolls) {
+        BrickStreamer brickStreamer = brickerGameManager.getBrickStreamer();
+        if (rerolls) {
+            brickStreamer.fill(brickerGameManager.getLevel());
+        } else {
+            brickStreamer.readState(buffer,
+                    brickerGameManager.getGameObjectsFactory().getCollisionStrategyFactory());
+        }
+    }
+
+    /**
+     * Restores the hit points, effect counter and strategy of every brick, row by row, so the bricks the
+     * snapshot has standing are in the game in the order initialization adds them.
+     *
+     * @param rejoinFrom The index of the first cell whose brick is out of the game and must join again.
+     */
+    private void restoreBricks(ByteBuffer buffer, boolean rerolls, Brick[] wallBricks, int rejoinFrom) {
+        GameObjectsFactory gameObjectsFactory = brickerGameManager.getGameObjectsFactory();
+        CollisionStrategyFactory strategyFactory = gameObjectsFactory.getCollisionStrategyFactory();
+        Level level = brickerGameManager.getLevel();
+        int columns = brickerGameManager.numOfBricksPerRow();
+        for (int row = 0; row < brickerGameManager.numOfBricksRows(); row++) {
+            for (int col = 0; col < columns; col++) {
+                int index = row * columns + col;
+                Brick brick = wallBricks[index];
+                int hitPoints = buffer.get();
+                if (hitPoints == 0) {
+                    if (brick != null && index < rejoinFrom) {
+                        brickerGameManager.removeStaticObject(brick);
+                    }
+                    if (brick != null) {
+                        brick.setHitPoints(0);
+                    }
+                    continue;
+                }
+                if (brick == null) {
+                    throw new IllegalArgumentException("Snapshot has a brick in an empty cell (" + row + ", "
+                            + col + ")");
+                }
+                int collisionStrategiesCount = buffer.get();
+                CollisionStrategy collisionStrategy;
+                if (rerolls) {
+                    CollisionStrategyFactory.skipStrategy(buffer);
+                    collisionStrategy = gameObjectsFactory.buildCollisionStrategy(
+                            level == null ? null : level.getStrategy(row, col));
+                } else {
+                    collisionStrategy = strategyFactory.readStrategy(buffer);
+                }
+                if (index >= rejoinFrom) {
+                    // Leaving the static layer cache gave the brick its renderable back, so it is drawn
+                    // into the cache again as it rejoins, instead of colliding unseen
+                    brickerGameManager.addStaticObject(brick);
+                }
+                brick.setHitPoints(hitPoints);
+                brick.setCollisionStrategiesCount(collisionStrategiesCount);
+                brick.setCollisionStrategy(collisionStrategy);
+            }
+        }
+    }
+
+    /**
+     * Returns the object to restore a moving object of the given type into: the ball, or a puck or a
+     * heart from its pool.
+     */
+    private GameObject acquireMovingObject(int type) {
+        switch (type) {
+            case Ball.TYPE_ID:
+                return brickerGameManager.getBall();
+            case Puck.TYPE_ID:
+                return brickerGameManager.acquirePuck();
+            case Heart.TYPE_ID:
+                return brickerGameManager.getHeartPool().acquire();
+            default:
+                throw new IllegalArgumentException("Snapshot has a moving object of unknown type " + type);
+        }
+    }
+
+    /**
+     * Writes the position, velocity and a counter of an object, or zeros if there is no object.
+     */
+    private static void writeObject(ByteBuffer buffer, GameObject gameObject, int counter) {
+        if (gameObject == null) {
+            buffer.position(buffer.position() + 4 * Float.BYTES + Integer.BYTES);
+            return;
+        }
+        Vector2 topLeft = gameObject.getTopLeftCorner();
+        Vector2 velocity = gameObject.getVelocity();
+        buffer.putFloat(topLeft.x());
+        buffer.putFloat(topLeft.y());
+        buffer.putFloat(velocity.x());
+        buffer.putFloat(velocity.y());
+        buffer.putInt(counter);
+    }
+
+    /**
+     * Reads the position and velocity of an object written by writeObject into it, or skips them if
+     * there is no object.
+     *
+     * @return The counter written with the object.
+     */
+    private static int readObject(ByteBuffer buffer, GameObject gameObject) {
+        if (gameObject == null) {
+            buffer.position(buffer.position() + 4 * Float.BYTES);
+            return buffer.getInt();
+        }
+        gameObject.transform().setTopLeftCorner(buffer.getFloat(), buffer.getFloat());
+        gameObject.transform().setVelocity(buffer.getFloat(), buffer.getFloat());
+        return buffer.getInt();
+    }
+}
@@ -0,0 +1,72 @@
+package bricker.snapshot;
+
+import java.util.Random;
+
+/**
+ * The RestorableRandom class is a random generator whose state can be read and set, so a snapshot of
+ * the game can capture where its random sequence stands. It runs the same linear congruential
+ * generator as java.util.Random, so a game draws exactly the same numbers for a seed as before.
+ * Only the generator's seed is part of the state; nextGaussian's cached second value is not, and the
+ * game does not use it.
+ */
+public class RestorableRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final int STATE_BITS = 48;
+
+    // Not initialized here, as Random's constructor sets it through setSeed before field initializers run
+    private long state;
+
+    /**
+     * Constructs a new RestorableRandom with the given seed.
+     *
+     * @param seed The initial seed.
+     */
+    public RestorableRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Sets the seed of the generator, scrambling it as java.util.Random does.
+     *
+     * @param seed The seed.
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Generates the next random bits, advancing the state.
+     *
+     * @param bits The number of random bits, at most 32.
+     * @return The random bits.
+     */
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (STATE_BITS - bits));
+    }
+
+    /**
+     * Returns the current state of the generator.
+     *
+     * @return The 48-bit state.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Sets the state of the generator, e.g. one read by getState, without scrambling it.
+     *
+     * @param state The 48-bit state.
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
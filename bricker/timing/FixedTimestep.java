@@ -0,0 +1,113 @@
+package bricker.timing;
+
+/**
+ * The FixedTimestep class turns variable frame times into a whole number of fixed simulation steps.
+ * Scaled frame time accumulates, and every full step it holds is simulated. The remainder carries over
+ * to the next frame, and its fraction of a step is the interpolation factor for rendering. Frame times
+ * are clamped before scaling, so a long stall cannot make the simulation try to catch up forever.
+ */
+public class FixedTimestep {
+
+    private static final float MAX_FRAME_SECONDS = 0.25f;
+
+    private float stepSeconds;
+    private float timeScale;
+    private float accumulator;
+    private long steps;
+
+    /**
+     * Constructs a new FixedTimestep running in real time.
+     *
+     * @param stepsPerSecond The simulation rate, in steps per simulated second.
+     */
+    public FixedTimestep(float stepsPerSecond) {
+        this.stepSeconds = 1 / stepsPerSecond;
+        this.timeScale = 1;
+    }
+
+    /**
+     * Accumulates a frame's time and returns the number of steps to simulate for it.
+     *
+     * @param frameSeconds The real time since the previous frame, in seconds.
+     * @return The number of fixed steps due.
+     */
+    public int advance(float frameSeconds) {
+        accumulator += Math.min(frameSeconds, MAX_FRAME_SECONDS) * timeScale;
+        int due = 0;
+        while (accumulator >= stepSeconds) {
+            accumulator -= stepSeconds;
+            due++;
+        }
+        steps += due;
+        return due;
+    }
+
+    /**
+     * Discards the accumulated time, e.g. when the game is reset.
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+
+    /**
+     * @return The time accumulated but not simulated yet, in scaled seconds.
+     */
+    public float getAccumulator() {
+        return accumulator;
+    }
+
+    /**
+     * Sets the time accumulated but not simulated yet, e.g. from a snapshot.
+     *
+     * @param accumulator The accumulated time, in scaled seconds.
+     */
+    public void setAccumulator(float accumulator) {
+        this.accumulator = accumulator;
+    }
+
+    /**
+     * @return The fraction of a step accumulated but not simulated yet, from 0 to 1.
+     */
+    public float getAlpha() {
+        return accumulator / stepSeconds;
+    }
+
+    /**
+     * @return The simulated time of a single step, in seconds.
+     */
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * Sets the simulation rate.
+     *
+     * @param stepsPerSecond The simulation rate, in steps per simulated second.
+     */
+    public void setStepsPerSecond(float stepsPerSecond) {
+        this.stepSeconds = 1 / stepsPerSecond;
+    }
+
+    /**
+     * @return The number of simulated seconds per real second.
+     */
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Sets the speed of the simulation relative to real time.
+     *
+     * @param timeScale The number of simulated seconds per real second, e.g. 20 for a soak test.
+     */
+    public void setTimeScale(float timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    /**
+     * @return The number of steps simulated so far.
+     */
+    public long getSteps() {
+        return steps;
+    }
+}
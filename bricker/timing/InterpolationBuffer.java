@@ -0,0 +1,112 @@
+package bricker.timing;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Camera;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+import java.util.Arrays;
+
+/**
+ * The InterpolationBuffer class remembers where moving objects were before the last simulation step,
+ * so rendering can draw them between that position and their current one. Positions are kept in
+ * parallel arrays that are reused every frame. Objects are looked up in capture order first, which
+ * matches the render order unless objects were added or removed since the capture.
+ */
+public class InterpolationBuffer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private GameObject[] objects;
+    private float[] previousX;
+    private float[] previousY;
+    private int size;
+    private int hint;
+
+    /**
+     * Constructs a new, empty InterpolationBuffer.
+     */
+    public InterpolationBuffer() {
+        this.objects = new GameObject[INITIAL_CAPACITY];
+        this.previousX = new float[INITIAL_CAPACITY];
+        this.previousY = new float[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Remembers the current position of every given object, replacing the previous capture.
+     *
+     * @param gameObjects The moving objects.
+     */
+    public void capture(Iterable<GameObject> gameObjects) {
+        clear();
+        for (GameObject gameObject : gameObjects) {
+            if (size == objects.length) {
+                objects = Arrays.copyOf(objects, size * 2);
+                previousX = Arrays.copyOf(previousX, size * 2);
+                previousY = Arrays.copyOf(previousY, size * 2);
+            }
+            Vector2 topLeft = gameObject.getTopLeftCorner();
+            objects[size] = gameObject;
+            previousX[size] = topLeft.x();
+            previousY[size] = topLeft.y();
+            size++;
+        }
+    }
+
+    /**
+     * Prepares for a render pass, so objects rendered in capture order are found right away.
+     */
+    public void rewind() {
+        hint = 0;
+    }
+
+    /**
+     * Renders an object between its captured and current positions. Objects at rest, and objects that
+     * were not captured, e.g. spawned by the last step, are rendered where they are.
+     *
+     * @param gameObject The object to render.
+     * @param g          The graphics to render with.
+     * @param camera     The camera to render through, or null for window coordinates.
+     * @param alpha      The interpolation factor: 0 renders the captured position, 1 the current one.
+     */
+    public void render(GameObject gameObject, Graphics2D g, Camera camera, float alpha) {
+        Vector2 velocity = gameObject.getVelocity();
+        int index = velocity.x() == 0 && velocity.y() == 0 ? -1 : indexOf(gameObject);
+        if (index < 0) {
+            gameObject.render(g, camera);
+            return;
+        }
+        Vector2 current = gameObject.getTopLeftCorner();
+        float currentX = current.x();
+        float currentY = current.y();
+        gameObject.transform().setTopLeftCorner(previousX[index] + (currentX - previousX[index]) * alpha,
+                previousY[index] + (currentY - previousY[index]) * alpha);
+        gameObject.render(g, camera);
+        gameObject.transform().setTopLeftCorner(currentX, currentY);
+    }
+
+    /**
+     * Forgets every captured object.
+     */
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+        hint = 0;
+    }
+
+    /**
+     * Returns the capture index of an object, trying the one after the last match first.
+     */
+    private int indexOf(GameObject gameObject) {
+        if (hint < size && objects[hint] == gameObject) {
+            return hint++;
+        }
+        for (int i = 0; i < size; i++) {
+            if (objects[i] == gameObject) {
+                hint = i + 1;
+                return i;
+            }
+        }
+        return -1;
+    }
+}